@@ -0,0 +1,76 @@
+package com.userapi.registration.aspect;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.userapi.registration.dto.UserRegistrationRequest;
+import com.userapi.registration.dto.UserResponse;
+import com.userapi.registration.entity.Gender;
+
+/**
+ * Cost of masking the arguments and result of one request in the logging aspects.
+ * {@code toSafeValueWithRegex} is the former implementation (full {@code toString()}, then a regex over it), kept as a baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SafeLogBenchmark {
+
+    private static final Pattern PHONE_PATTERN = Pattern.compile("phoneNumber='([^']+)'");
+
+    private Object[] args;
+    private UserResponse response;
+
+    @Setup
+    public void setUp() {
+        args = new Object[] {UserRegistrationRequest.builder()
+                .username("amine.bou")
+                .birthdate(LocalDate.of(2000, 1, 15))
+                .countryOfResidence("France")
+                .phoneNumber("0612345678")
+                .gender(Gender.MALE)
+                .build()};
+        response = UserResponse.builder()
+                .id(1L)
+                .username("amine.bou")
+                .birthdate(LocalDate.of(2000, 1, 15))
+                .countryOfResidence("France")
+                .phoneNumber("0612345678")
+                .gender(Gender.MALE)
+                .build();
+    }
+
+    @Benchmark
+    public String toSafeArgs() {
+        return SafeLog.toSafeArgs(args);
+    }
+
+    @Benchmark
+    public String toSafeValue() {
+        return SafeLog.toSafeValue(response);
+    }
+
+    @Benchmark
+    public String toSafeValueWithRegex() {
+        String str = String.valueOf(response);
+        return PHONE_PATTERN.matcher(str).replaceAll(match -> {
+            String phone = match.group(1);
+            return "phoneNumber='" + phone.substring(0, 2) + "***" + phone.substring(phone.length() - 4) + "'";
+        });
+    }
+}
@@ -0,0 +1,81 @@
+package com.userapi.registration.cache;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+import com.userapi.registration.dto.UserResponse;
+import com.userapi.registration.entity.Gender;
+
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Throughput of producing the body and ETag of a hot user lookup with 8 threads, over 10,000 cached users:
+ * a pre-serialized entry against serializing the cached {@link UserResponse} on every request.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class UserJsonCacheBenchmark {
+
+    private static final int USERS = 10_000;
+
+    private ObjectMapper objectMapper;
+    private UserJsonCache cache;
+    private String[] usernames;
+    private UserResponse[] users;
+
+    @Setup
+    public void setUp() {
+        objectMapper = JsonMapper.builder().build();
+        cache = new UserJsonCache(objectMapper, DataSize.ofMegabytes(16), Duration.ofHours(1));
+        usernames = new String[USERS];
+        users = new UserResponse[USERS];
+        for (int i = 0; i < USERS; i++) {
+            usernames[i] = "user." + i;
+            users[i] = UserResponse.builder()
+                    .id((long) i)
+                    .username(usernames[i])
+                    .birthdate(LocalDate.of(2000, 1, 15))
+                    .countryOfResidence("France")
+                    .phoneNumber("+33612345678")
+                    .gender(Gender.MALE)
+                    .version(0L)
+                    .build();
+            int index = i;
+            cache.get(usernames[i], name -> users[index]);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializedCacheHit() {
+        int i = ThreadLocalRandom.current().nextInt(USERS);
+        return cache.get(usernames[i], name -> users[i]).body();
+    }
+
+    @Benchmark
+    public byte[] serializeOnEachRequest() {
+        UserResponse user = users[ThreadLocalRandom.current().nextInt(USERS)];
+        UserVersion.etag(user.getId(), user.getVersion());
+        return objectMapper.writeValueAsBytes(user);
+    }
+}
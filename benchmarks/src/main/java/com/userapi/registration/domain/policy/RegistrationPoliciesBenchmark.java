@@ -0,0 +1,55 @@
+package com.userapi.registration.domain.policy;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the precomputed policies with the former per-call {@code LocalDate.now()} + {@code Period} check.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RegistrationPoliciesBenchmark {
+
+    private final RegistrationPolicies policies =
+            new RegistrationPolicies(Clock.systemDefaultZone(), 18, List.of("France"));
+
+    private LocalDate birthdate = LocalDate.of(2000, 1, 15);
+    private String country = " france ";
+
+    @Benchmark
+    public boolean isAdult() {
+        return policies.isAdult(birthdate);
+    }
+
+    @Benchmark
+    public boolean isAdultWithPeriod() {
+        return Period.between(birthdate, LocalDate.now()).getYears() >= 18;
+    }
+
+    @Benchmark
+    public boolean isAllowedCountry() {
+        return policies.isAllowedCountry(country);
+    }
+
+    @Benchmark
+    public boolean isAllowedCountryWithTrimAndEqualsIgnoreCase() {
+        return "France".equalsIgnoreCase(country.trim());
+    }
+}
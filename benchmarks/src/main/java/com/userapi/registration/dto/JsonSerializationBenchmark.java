@@ -0,0 +1,62 @@
+package com.userapi.registration.dto;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.userapi.registration.entity.Gender;
+
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Jackson cost of one request body read and one response body written, as done by the message converters.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private byte[] requestJson;
+    private UserResponse response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = JsonMapper.builder().build();
+        requestJson = """
+                {"username":"amine.bou","birthdate":"2000-01-15","countryOfResidence":"France",\
+                "phoneNumber":"0612345678","gender":"male"}""".getBytes();
+        response = UserResponse.builder()
+                .id(1L)
+                .username("amine.bou")
+                .birthdate(LocalDate.of(2000, 1, 15))
+                .countryOfResidence("France")
+                .phoneNumber("0612345678")
+                .gender(Gender.MALE)
+                .build();
+    }
+
+    @Benchmark
+    public UserRegistrationRequest readRegistrationRequest() {
+        return objectMapper.readValue(requestJson, UserRegistrationRequest.class);
+    }
+
+    @Benchmark
+    public byte[] writeUserResponse() {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
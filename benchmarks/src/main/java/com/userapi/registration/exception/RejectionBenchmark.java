@@ -0,0 +1,159 @@
+package com.userapi.registration.exception;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.userapi.registration.domain.policy.RegistrationPolicies;
+import com.userapi.registration.dto.UserRegistrationRequest;
+import com.userapi.registration.service.BenchmarkUserServices;
+import com.userapi.registration.service.UserService;
+
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Throughput of a workload where every request is rejected: half under age, half living outside France,
+ * and of the classification of unreadable JSON bodies.
+ * The {@code WithStackTrace} and {@code ByMessage} variants reproduce the former behaviour: an exception that
+ * captures its stack trace, and a lower-cased message scanned with {@code contains}.
+ * {@code callerDepth} adds stack frames above the rejection, as the servlet container and Spring proxies do
+ * (a registration request is about 150 frames deep), since capturing a stack trace costs in proportion to its depth.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RejectionBenchmark {
+
+    @Param({"0", "150"})
+    private int callerDepth;
+
+    private final RegistrationPolicies policies =
+            new RegistrationPolicies(Clock.systemDefaultZone(), 18, List.of("France"));
+    private final UserService userService = BenchmarkUserServices.builder().registrationPolicies(policies).build();
+
+    private UserRegistrationRequest[] requests;
+    private Throwable[] parseErrors;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        requests = new UserRegistrationRequest[] {
+                UserRegistrationRequest.builder().username("too.young").birthdate(LocalDate.now().minusYears(16))
+                        .countryOfResidence("France").build(),
+                UserRegistrationRequest.builder().username("abroad").birthdate(LocalDate.of(2000, 1, 15))
+                        .countryOfResidence("Germany").build()
+        };
+
+        ObjectMapper objectMapper = JsonMapper.builder().build();
+        parseErrors = new Throwable[] {
+                parseError(objectMapper, "{\"username\": \"amine.bou\", \"birthdate\": \"15/01/2000\"}"),
+                parseError(objectMapper, "{\"username\": \"amine.bou\", \"gender\": \"UNKNOWN\"}"),
+                parseError(objectMapper, "{\"username\": \"amine.bou\",")
+        };
+    }
+
+    @Benchmark
+    public String rejectRegistration() {
+        UserRegistrationRequest request = nextRequest();
+        return atDepth(callerDepth, () -> {
+            try {
+                userService.register(request);
+                throw new IllegalStateException("Registration should have been rejected");
+            } catch (BusinessRuleException ex) {
+                return ex.getErrorCode();
+            }
+        });
+    }
+
+    @Benchmark
+    public String rejectRegistrationWithStackTrace() {
+        UserRegistrationRequest request = nextRequest();
+        return atDepth(callerDepth, () -> {
+            try {
+                validateWithStackTrace(request);
+                throw new IllegalStateException("Registration should have been rejected");
+            } catch (StackTraceRuleException ex) {
+                return ex.errorCode;
+            }
+        });
+    }
+
+    @Benchmark
+    public String describeParseErrorByType() {
+        return GlobalExceptionHandler.describeParseError(nextParseError());
+    }
+
+    @Benchmark
+    public String describeParseErrorByMessage() {
+        String fullMessage = nextParseError().getMessage();
+        String lowerMessage = fullMessage != null ? fullMessage.toLowerCase() : "";
+        if (lowerMessage.contains("localdate")) {
+            return "Invalid date format for 'birthdate'. Expected format: yyyy-MM-dd (example: 2000-01-15)";
+        } else if (lowerMessage.contains("gender") || lowerMessage.contains("enum")) {
+            return "Invalid gender value. Accepted values: MALE, FEMALE, OTHER (case insensitive)";
+        }
+        return "Malformed JSON request";
+    }
+
+    private UserRegistrationRequest nextRequest() {
+        return requests[next++ & 1];
+    }
+
+    private Throwable nextParseError() {
+        return parseErrors[next++ % parseErrors.length];
+    }
+
+    private void validateWithStackTrace(UserRegistrationRequest request) {
+        if (!policies.isAdult(request.getBirthdate())) {
+            throw new StackTraceRuleException("User must be at least " + policies.getMinimumAge() + " years old",
+                    "ERR_RULE_AGE_MIN");
+        }
+        if (!policies.isAllowedCountry(request.getCountryOfResidence())) {
+            throw new StackTraceRuleException("Only French residents can register", "ERR_RULE_COUNTRY_FR");
+        }
+    }
+
+    private static String atDepth(int depth, Supplier<String> action) {
+        return depth == 0 ? action.get() : atDepth(depth - 1, action);
+    }
+
+    private static Throwable parseError(ObjectMapper objectMapper, String json) {
+        try {
+            objectMapper.readValue(json, UserRegistrationRequest.class);
+        } catch (RuntimeException ex) {
+            return ex;
+        }
+        throw new IllegalStateException("Expected a parse error for " + json);
+    }
+
+    /**
+     * Business rule exception as it was before, capturing its stack trace.
+     */
+    private static final class StackTraceRuleException extends RuntimeException {
+
+        private final String errorCode;
+
+        StackTraceRuleException(String message, String errorCode) {
+            super(message);
+            this.errorCode = errorCode;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.userapi.registration.filter;
+
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Correlation ID generation with 8 concurrent threads, the situation in which {@code UUID.randomUUID()}
+ * contends on the shared {@code SecureRandom}. Override the thread count with {@code -t}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class CorrelationIdGeneratorBenchmark {
+
+    private final CorrelationIdGenerator uuid = new UuidCorrelationIdGenerator();
+    private final CorrelationIdGenerator ulid = new UlidCorrelationIdGenerator(Clock.systemUTC());
+
+    @Benchmark
+    public String randomUuid() {
+        return uuid.nextId();
+    }
+
+    @Benchmark
+    public String ulid() {
+        return ulid.nextId();
+    }
+}
@@ -0,0 +1,195 @@
+package com.userapi.registration.index;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.userapi.registration.entity.User;
+import com.userapi.registration.repository.UserRepository;
+import com.userapi.registration.service.BenchmarkUserServices;
+import com.userapi.registration.service.UserService;
+import com.userapi.registration.sharding.UserShards;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Database load of the username check ({@code UserService.isUsernameAvailable}) with the Bloom filter
+ * ({@code registration.username-filter.enabled}) on and off, over 100,000 registered users in H2.
+ * Besides the throughput, the {@code existsByUsername} counter reports the queries sent to the database:
+ * divided by {@code checks}, it gives the queries per check. With the filter on, free usernames should
+ * only reach the database at the false positive rate (1%); registered usernames are always checked there.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RegisteredUsernameFilterBenchmark {
+
+    private static final int REGISTERED_USERS = 100_000;
+    private static final int INSERT_CHUNK = 10_000;
+
+    @Param({"true", "false"})
+    private boolean filterEnabled;
+
+    private final LongAdder existsByUsernameCalls = new LongAdder();
+    private AnnotationConfigApplicationContext context;
+    private UserService userService;
+    private long nextCandidate;
+    private int nextRegistered;
+
+    /**
+     * Queries sent to the database and username checks made during the iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class DatabaseQueries {
+
+        public long existsByUsername;
+        public long checks;
+        private long baseline;
+
+        @Setup(Level.Iteration)
+        public void reset(RegisteredUsernameFilterBenchmark benchmark) {
+            existsByUsername = 0;
+            checks = 0;
+            baseline = benchmark.existsByUsernameCalls.sum();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(JpaConfiguration.class);
+        insertRegisteredUsers(context.getBean(DataSource.class));
+
+        UserRepository repository = countingExistsByUsername(context.getBean(UserRepository.class));
+        RegisteredUsernameFilter filter =
+                new RegisteredUsernameFilter(repository, new UserShards(1), filterEnabled, REGISTERED_USERS, 0.01);
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class)).executeWithoutResult(
+                status -> filter.load());
+        // isUsernameAvailable only uses the repository and the filter
+        userService = BenchmarkUserServices.builder().userRepository(repository).usernameFilter(filter).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean checkFreeUsername(DatabaseQueries queries) {
+        return check("candidate." + nextCandidate++, queries);
+    }
+
+    @Benchmark
+    public boolean checkRegisteredUsername(DatabaseQueries queries) {
+        String username = "user." + nextRegistered;
+        nextRegistered = (nextRegistered + 1) % REGISTERED_USERS;
+        return check(username, queries);
+    }
+
+    private boolean check(String username, DatabaseQueries queries) {
+        boolean available = userService.isUsernameAvailable(username);
+        queries.checks++;
+        queries.existsByUsername = existsByUsernameCalls.sum() - queries.baseline;
+        return available;
+    }
+
+    private static void insertRegisteredUsers(DataSource dataSource) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        List<Object[]> rows = new ArrayList<>(INSERT_CHUNK);
+        for (int user = 0; user < REGISTERED_USERS; user++) {
+            rows.add(new Object[] {user + 1L, "user." + user});
+            if (rows.size() == INSERT_CHUNK) {
+                jdbcTemplate.batchUpdate("""
+                        insert into users (id, username, birthdate, country_of_residence, version)
+                        values (?, ?, date '2000-01-15', 'France', 0)""", rows);
+                rows.clear();
+            }
+        }
+    }
+
+    /**
+     * Wraps the Spring Data repository to count the {@code existsByUsername} calls, each one a database query.
+     */
+    private UserRepository countingExistsByUsername(UserRepository repository) {
+        return (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+                new Class<?>[] {UserRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("existsByUsername")) {
+                        existsByUsernameCalls.increment();
+                    }
+                    try {
+                        return method.invoke(repository, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getCause();
+                    }
+                });
+    }
+
+    /**
+     * One H2 database in memory, with the schema created by Hibernate, and the Spring Data repository.
+     */
+    @Configuration
+    @EnableJpaRepositories(basePackageClasses = UserRepository.class)
+    static class JpaConfiguration {
+
+        @Bean
+        DataSource dataSource() {
+            return new EmbeddedDatabaseBuilder()
+                    .setType(EmbeddedDatabaseType.H2)
+                    .generateUniqueName(true)
+                    .build();
+        }
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            Properties jpaProperties = new Properties();
+            jpaProperties.setProperty("hibernate.hbm2ddl.auto", "create");
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setPackagesToScan(User.class.getPackageName());
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            factory.setJpaProperties(jpaProperties);
+            return factory;
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+    }
+}
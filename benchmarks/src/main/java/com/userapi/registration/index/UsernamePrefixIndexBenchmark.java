@@ -0,0 +1,94 @@
+package com.userapi.registration.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Top-10 prefix search over millions of usernames: the sorted index against a scan of every username,
+ * which is what a {@code like 'prefix%'} query without a usable index amounts to.
+ * Prefixes are 4 to 8 characters long and taken from registered usernames, so every search has matches.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class UsernamePrefixIndexBenchmark {
+
+    private static final int LIMIT = 10;
+    private static final int PREFIXES = 1024;
+
+    @Param({"1000000", "5000000"})
+    private int users;
+
+    private UsernamePrefixIndex index;
+    private List<String> usernames;
+    private String[] prefixes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        index = new UsernamePrefixIndex(null, null, true);
+        usernames = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            String username = randomUsername(random);
+            index.add(username);
+            usernames.add(username);
+        }
+        prefixes = new String[PREFIXES];
+        for (int i = 0; i < PREFIXES; i++) {
+            String username = usernames.get(random.nextInt(users));
+            prefixes[i] = username.substring(0, Math.min(username.length(), 4 + random.nextInt(5)));
+        }
+    }
+
+    @Benchmark
+    public List<String> sortedIndex() {
+        return index.search(nextPrefix(), LIMIT);
+    }
+
+    @Benchmark
+    public List<String> fullScan() {
+        String prefix = nextPrefix();
+        return usernames.stream()
+                .filter(username -> username.startsWith(prefix))
+                .sorted()
+                .limit(LIMIT)
+                .toList();
+    }
+
+    private String nextPrefix() {
+        return prefixes[next++ & (PREFIXES - 1)];
+    }
+
+    private static String randomUsername(SplittableRandom random) {
+        StringBuilder sb = new StringBuilder(16);
+        int first = 3 + random.nextInt(6);
+        for (int i = 0; i < first; i++) {
+            sb.append((char) ('a' + random.nextInt(26)));
+        }
+        sb.append('.');
+        int last = 2 + random.nextInt(8);
+        for (int i = 0; i < last; i++) {
+            sb.append((char) ('a' + random.nextInt(26)));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,144 @@
+package com.userapi.registration.offheap;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.userapi.registration.dto.UserResponse;
+import com.userapi.registration.entity.Gender;
+
+/**
+ * User lookups by username with 8 threads over 10 million users: the off-heap packed table against a
+ * {@link ConcurrentHashMap} of {@link UserResponse} (what an unbounded on-heap cache holds).
+ * Besides the throughput, each trial prints its footprint: heap used after a full GC, direct memory, resident set
+ * size, and the GC pauses during the warmup and measurement iterations (count, total and longest) and of the final full GC,
+ * whose duration grows with the number of live objects.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g", "-XX:MaxDirectMemorySize=4g"})
+@Threads(8)
+@State(Scope.Benchmark)
+public class OffHeapUserDatasetBenchmark {
+
+    @Param({"10000000"})
+    private int users;
+
+    @Param({"offHeap", "onHeap"})
+    private String store;
+
+    private OffHeapUserTable table;
+    private Map<String, UserResponse> map;
+    private final AtomicLong pauses = new AtomicLong();
+    private final AtomicLong pauseMillis = new AtomicLong();
+    private final AtomicLong longestPauseMillis = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("offHeap".equals(store)) {
+            table = new OffHeapUserTable(users);
+        } else {
+            map = new ConcurrentHashMap<>(users * 2);
+        }
+        for (int i = 0; i < users; i++) {
+            UserResponse user = UserResponse.builder()
+                    .id((long) i)
+                    .username("user." + i)
+                    .birthdate(LocalDate.ofEpochDay(3_650 + i % 10_000))
+                    .countryOfResidence("France")
+                    .phoneNumber("+336" + (10_000_000 + i))
+                    .gender(i % 2 == 0 ? Gender.MALE : Gender.FEMALE)
+                    .version(0L)
+                    .build();
+            if (table != null) {
+                table.put(user);
+            } else {
+                map.put(user.getUsername(), user);
+            }
+        }
+        System.gc();
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            ((NotificationEmitter) gc).addNotificationListener((notification, handback) -> {
+                if (GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                    long millis = GarbageCollectionNotificationInfo
+                            .from((CompositeData) notification.getUserData()).getGcInfo().getDuration();
+                    pauses.incrementAndGet();
+                    pauseMillis.addAndGet(millis);
+                    longestPauseMillis.accumulateAndGet(millis, Math::max);
+                }
+            }, null, null);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void report() throws Exception {
+        long gcPauses = pauses.get();
+        long gcPauseMillis = pauseMillis.get();
+        long longestGcPauseMillis = longestPauseMillis.get();
+        long fullGcStart = System.nanoTime();
+        System.gc();
+        long fullGcMillis = (System.nanoTime() - fullGcStart) / 1_000_000;
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long directBytes = ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> "direct".equals(pool.getName()))
+                .mapToLong(BufferPoolMXBean::getMemoryUsed)
+                .sum();
+        System.out.printf("%n[%s, %,d users] heap used %,d MB, direct %,d MB, RSS %s, GC pauses %d (%,d ms, longest %,d ms),"
+                        + " full GC %,d ms%n",
+                store, users, memory.getHeapMemoryUsage().getUsed() >> 20, directBytes >> 20, residentSetSize(),
+                gcPauses, gcPauseMillis, longestGcPauseMillis, fullGcMillis);
+    }
+
+    @Benchmark
+    public UserResponse findByUsername() {
+        // Built per call in both modes, so that the heap holds nothing but the users under test
+        String username = "user." + ThreadLocalRandom.current().nextInt(users);
+        return table != null ? table.get(username) : map.get(username);
+    }
+
+    /**
+     * VmRSS of this process, as reported by Linux.
+     */
+    private static String residentSetSize() throws Exception {
+        Path status = Path.of("/proc/self/status");
+        if (!Files.exists(status)) {
+            return "n/a";
+        }
+        return Files.readAllLines(status).stream()
+                .filter(line -> line.startsWith("VmRSS:"))
+                .map(line -> line.substring("VmRSS:".length()).trim())
+                .findFirst()
+                .orElse("n/a");
+    }
+}
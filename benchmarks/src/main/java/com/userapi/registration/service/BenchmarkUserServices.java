@@ -0,0 +1,55 @@
+package com.userapi.registration.service;
+
+import com.userapi.registration.domain.policy.RegistrationPolicies;
+import com.userapi.registration.index.RegisteredUsernameFilter;
+import com.userapi.registration.repository.UserRepository;
+
+/**
+ * Builds a {@link UserService} with only the collaborators a benchmark exercises; the others are left
+ * {@code null}. The one place that knows the constructor's parameter order, so that benchmarks keep compiling
+ * against the right arguments when a collaborator is added.
+ */
+public final class BenchmarkUserServices {
+
+    private UserRepository userRepository;
+    private RegisteredUsernameFilter usernameFilter;
+    private RegistrationPolicies registrationPolicies;
+
+    private BenchmarkUserServices() {
+    }
+
+    public static BenchmarkUserServices builder() {
+        return new BenchmarkUserServices();
+    }
+
+    public BenchmarkUserServices userRepository(UserRepository userRepository) {
+        this.userRepository = userRepository;
+        return this;
+    }
+
+    public BenchmarkUserServices usernameFilter(RegisteredUsernameFilter usernameFilter) {
+        this.usernameFilter = usernameFilter;
+        return this;
+    }
+
+    public BenchmarkUserServices registrationPolicies(RegistrationPolicies registrationPolicies) {
+        this.registrationPolicies = registrationPolicies;
+        return this;
+    }
+
+    public UserService build() {
+        return new UserService(
+                userRepository,
+                null, // validator
+                usernameFilter,
+                null, // userDetailsCache
+                registrationPolicies,
+                null, // usernameIndex
+                null, // userVersionIndex
+                null, // userJsonCache
+                null, // offHeapUsers
+                null, // shards
+                null, // userReplica
+                null); // transactionOperations
+    }
+}
@@ -0,0 +1,44 @@
+package com.userapi.registration.service;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.userapi.registration.dto.UserResponse;
+import com.userapi.registration.entity.Gender;
+import com.userapi.registration.entity.User;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserServiceMappingBenchmark {
+
+    // mapToResponse does not touch any collaborator
+    private final UserService userService = BenchmarkUserServices.builder().build();
+
+    private final User user = User.builder()
+            .id(1L)
+            .username("amine.bou")
+            .birthdate(LocalDate.of(2000, 1, 15))
+            .countryOfResidence("France")
+            .phoneNumber("0612345678")
+            .gender(Gender.MALE)
+            .build();
+
+    @Benchmark
+    public UserResponse mapToResponse() {
+        return userService.mapToResponse(user);
+    }
+}
@@ -0,0 +1,150 @@
+package com.userapi.registration.sharding;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.userapi.registration.entity.Gender;
+import com.userapi.registration.entity.User;
+import com.userapi.registration.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Registration throughput (uniqueness check then insert, one transaction each, as {@code UserService.register}
+ * does) from 16 threads, with users spread over 1 to 8 H2 in-memory databases by username hash.
+ * Every shard is a separate database with its own table, index and id sequence, so writers only contend with
+ * the writers of the same shard. All shards share this JVM's CPUs: the scaling measured here is the contention
+ * relief, real shards on separate hosts also add their CPU and I/O.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Threads(16)
+@State(Scope.Benchmark)
+public class ShardingBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    private int shardCount;
+
+    private final AtomicLong nextUser = new AtomicLong();
+    private UserShards shards;
+    private UserRepository repository;
+    private TransactionTemplate transactions;
+    private AnnotationConfigApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        shards = new UserShards(shardCount);
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(UserShards.class, () -> shards);
+        context.register(ShardedJpaConfiguration.class);
+        context.refresh();
+        EntityManagerFactory entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        shards.forEachShard(() -> entityManagerFactory.getSchemaManager().create(true));
+        repository = context.getBean(UserRepository.class);
+        transactions = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public User register() {
+        String username = "user." + nextUser.getAndIncrement();
+        Integer previous = ShardContext.enter(shards.shardOf(username));
+        try {
+            return transactions.execute(status -> insertIfFree(username));
+        } finally {
+            ShardContext.restore(previous);
+        }
+    }
+
+    private User insertIfFree(String username) {
+        if (repository.existsByUsername(username)) {
+            return null;
+        }
+        return repository.save(User.builder()
+                .username(username)
+                .birthdate(LocalDate.of(2000, 1, 15))
+                .countryOfResidence("France")
+                .phoneNumber("+33612345678")
+                .phoneDigits(33612345678L)
+                .gender(Gender.MALE)
+                .build());
+    }
+
+    /**
+     * The persistence part of the {@code sharded} profile: one H2 database per shard behind a
+     * {@link ShardRoutingDataSource}, a single persistence unit and the Spring Data repository.
+     */
+    @Configuration
+    @EnableJpaRepositories(basePackageClasses = UserRepository.class)
+    static class ShardedJpaConfiguration {
+
+        @Bean
+        ShardRoutingDataSource dataSource(UserShards shards) {
+            Map<Object, Object> targets = new HashMap<>();
+            for (int shard = 0; shard < shards.count(); shard++) {
+                targets.put(shard, new EmbeddedDatabaseBuilder()
+                        .setType(EmbeddedDatabaseType.H2)
+                        .generateUniqueName(true)
+                        .build());
+            }
+            ShardRoutingDataSource dataSource = new ShardRoutingDataSource();
+            dataSource.setTargetDataSources(targets);
+            dataSource.setDefaultTargetDataSource(targets.get(0));
+            return dataSource;
+        }
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(ShardRoutingDataSource dataSource) {
+            Properties jpaProperties = new Properties();
+            jpaProperties.setProperty("hibernate.hbm2ddl.auto", "none");
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setPackagesToScan(User.class.getPackageName());
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            factory.setJpaProperties(jpaProperties);
+            return factory;
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+    }
+}
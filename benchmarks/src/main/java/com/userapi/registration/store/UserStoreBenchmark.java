@@ -0,0 +1,161 @@
+package com.userapi.registration.store;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import com.userapi.registration.entity.Gender;
+import com.userapi.registration.entity.User;
+import com.userapi.registration.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Register (uniqueness check then insert) and lookup by username through {@link UserRepository}, over 100,000 users:
+ * the memory-mapped segment log against H2 in memory behind Spring Data JPA, as configured by default.
+ * Each JPA registration runs in its own transaction, as {@code UserService.register} does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class UserStoreBenchmark {
+
+    private static final int USERS = 100_000;
+
+    @Param({"mapped", "jpa"})
+    private String store;
+
+    private UserRepository repository;
+    private TransactionTemplate transactions;
+    private AnnotationConfigApplicationContext context;
+    private MappedFileUserRepository mappedRepository;
+    private Path directory;
+    private long nextUser;
+    private int nextLookup;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        if ("mapped".equals(store)) {
+            directory = Files.createTempDirectory("user-store");
+            mappedRepository = new MappedFileUserRepository(directory.toString(), DataSize.ofMegabytes(64), false);
+            repository = mappedRepository;
+        } else {
+            context = new AnnotationConfigApplicationContext(JpaConfiguration.class);
+            repository = context.getBean(UserRepository.class);
+            transactions = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        }
+        for (nextUser = 0; nextUser < USERS; nextUser++) {
+            register();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (context != null) {
+            context.close();
+        }
+        if (mappedRepository != null) {
+            mappedRepository.destroy();
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public User register() {
+        String username = "user." + nextUser++;
+        if (transactions == null) {
+            return insertIfFree(username);
+        }
+        return transactions.execute(status -> insertIfFree(username));
+    }
+
+    @Benchmark
+    public Optional<User> findByUsername() {
+        return repository.findByUsername("user." + (nextLookup++ & 0xFFFF));
+    }
+
+    private User insertIfFree(String username) {
+        if (repository.existsByUsername(username)) {
+            return null;
+        }
+        return repository.save(User.builder()
+                .username(username)
+                .birthdate(LocalDate.of(2000, 1, 15))
+                .countryOfResidence("France")
+                .phoneNumber("+33612345678")
+                .phoneDigits(33612345678L)
+                .gender(Gender.MALE)
+                .build());
+    }
+
+    /**
+     * The persistence part of the application context: H2 in memory, Hibernate and the Spring Data repository.
+     */
+    @Configuration
+    @EnableJpaRepositories(basePackageClasses = UserRepository.class)
+    static class JpaConfiguration {
+
+        @Bean
+        DataSource dataSource() {
+            return new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        }
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            Properties jpaProperties = new Properties();
+            jpaProperties.setProperty("hibernate.hbm2ddl.auto", "create-drop");
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setPackagesToScan(User.class.getPackageName());
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            factory.setJpaProperties(jpaProperties);
+            return factory;
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.userapi.registration.validation;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the single-pass validator with the former {@code String.matches} implementation,
+ * which compiled its pattern on every call. Run with the GC profiler to see the allocation difference.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidPhoneNumberValidatorBenchmark {
+
+    @Param({"0612345678", "+33612345678", "06-12-34-56"})
+    private String phoneNumber;
+
+    private final ValidPhoneNumberValidator validator = new ValidPhoneNumberValidator();
+
+    @Benchmark
+    public boolean isValid() {
+        return validator.isValid(phoneNumber, null);
+    }
+
+    @Benchmark
+    public boolean isValidWithStringMatches() {
+        return phoneNumber.matches("^\\+?[0-9]{10,}$");
+    }
+
+    @Benchmark
+    public String toE164() {
+        return PhoneNumbers.toE164(phoneNumber, "France");
+    }
+}
@@ -0,0 +1,86 @@
+package com.userapi.registration.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The application under test, started as a separate JVM so that it does not share heap, GC or CPU
+ * scheduling with the load generator. Its output goes to {@code target/loadtest-app.log}.
+ */
+final class ApplicationProcess implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final Path LOG_FILE = Path.of("target/loadtest-app.log");
+
+    private final Process process;
+
+    private ApplicationProcess(Process process) {
+        this.process = process;
+    }
+
+    static ApplicationProcess start(LoadTestConfig config) throws IOException, InterruptedException {
+        if (!Files.isRegularFile(config.appJar())) {
+            throw new IllegalStateException("Application jar not found: " + config.appJar()
+                    + " (run ./mvnw package at the repository root, or pass --base-url)");
+        }
+        Files.createDirectories(LOG_FILE.getParent());
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(config.appJvmArgs());
+        command.add("-jar");
+        command.add(config.appJar().toString());
+        command.add("--server.port=" + config.port());
+        command.add("--spring.jpa.show-sql=false");
+        command.add("--logging.level.com.userapi.registration=WARN");
+        command.add("--registration.username-filter.expected-insertions=" + Math.max(1_000, config.users() * 2L));
+
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(LOG_FILE.toFile())
+                .start();
+        ApplicationProcess application = new ApplicationProcess(process);
+        application.awaitReady(config.effectiveBaseUrl());
+        return application;
+    }
+
+    /**
+     * Polls a user lookup until the application answers (a 404 is fine: the server is up).
+     */
+    private void awaitReady(String baseUrl) throws InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest probe = HttpRequest.newBuilder(URI.create(baseUrl + "/api/users/readiness.probe")).build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with code " + process.exitValue() + ", see " + LOG_FILE);
+            }
+            try {
+                client.send(probe, HttpResponse.BodyHandlers.discarding());
+                return;
+            } catch (IOException notReadyYet) {
+                Thread.sleep(250);
+            }
+        }
+        close();
+        throw new IllegalStateException("Application not ready after " + STARTUP_TIMEOUT + ", see " + LOG_FILE);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(10, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+    }
+}
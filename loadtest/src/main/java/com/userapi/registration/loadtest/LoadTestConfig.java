@@ -0,0 +1,74 @@
+package com.userapi.registration.loadtest;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Harness options, given on the command line as {@code --name=value}.
+ *
+ * @param baseUrl URL of an already running application; when absent the harness starts {@code appJar} itself
+ * @param appJar executable jar of the application ({@code ./mvnw package} at the repository root)
+ * @param appJvmArgs JVM options of the started application, space separated
+ * @param port HTTP port of the started application
+ * @param users number of synthetic users preloaded before the run
+ * @param preloadConcurrency parallel batch requests used for the preload
+ * @param rate target request rate (requests per second), independent of response times
+ * @param warmupSeconds duration of the unrecorded warm-up phase
+ * @param durationSeconds duration of the recorded phase
+ * @param lookupRatio share of lookups in the mix, the rest being registrations
+ * @param seed seed of the synthetic dataset and workload mix
+ * @param report path of the JSON report
+ */
+record LoadTestConfig(
+        String baseUrl,
+        Path appJar,
+        List<String> appJvmArgs,
+        int port,
+        int users,
+        int preloadConcurrency,
+        int rate,
+        int warmupSeconds,
+        int durationSeconds,
+        double lookupRatio,
+        long seed,
+        Path report) {
+
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        LoadTestConfig config = new LoadTestConfig(
+                options.get("base-url"),
+                Path.of(options.getOrDefault("app-jar", "../target/registration-1.0.0.jar")),
+                List.of(options.getOrDefault("app-jvm-args", "-Xmx2g -XX:+UseZGC").trim().split("\\s+")),
+                Integer.parseInt(options.getOrDefault("port", "18080")),
+                Integer.parseInt(options.getOrDefault("users", "100000")),
+                Integer.parseInt(options.getOrDefault("preload-concurrency", "4")),
+                Integer.parseInt(options.getOrDefault("rate", "1000")),
+                Integer.parseInt(options.getOrDefault("warmup", "10")),
+                Integer.parseInt(options.getOrDefault("duration", "60")),
+                Double.parseDouble(options.getOrDefault("lookup-ratio", "0.9")),
+                Long.parseLong(options.getOrDefault("seed", "42")),
+                Path.of(options.getOrDefault("report", "target/loadtest-report.json")));
+
+        if (config.rate() <= 0 || config.durationSeconds() <= 0 || config.users() < 0) {
+            throw new IllegalArgumentException("rate and duration must be positive, users must not be negative");
+        }
+        if (config.lookupRatio() < 0 || config.lookupRatio() > 1) {
+            throw new IllegalArgumentException("lookup-ratio must be between 0 and 1");
+        }
+        return config;
+    }
+
+    String effectiveBaseUrl() {
+        return baseUrl != null ? baseUrl : "http://localhost:" + port;
+    }
+}
@@ -0,0 +1,155 @@
+package com.userapi.registration.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.HdrHistogram.Histogram;
+
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * End-to-end load test of the user registration API on a single machine, with no external service.
+ * <ol>
+ *   <li>starts the application jar in its own JVM (unless {@code --base-url} points to a running instance),</li>
+ *   <li>preloads {@code --users} synthetic users through {@code POST /api/users/batch},</li>
+ *   <li>drives a lookup/registration mix at {@code --rate} requests per second (see {@link WorkloadDriver}),</li>
+ *   <li>writes a JSON report with p50/p99/p99.9 per operation, plus the full HdrHistogram percentile distributions.</li>
+ * </ol>
+ * Example: {@code ../mvnw compile exec:java -Dexec.args="--users=2000000 --rate=5000 --duration=120"}
+ */
+public final class LoadTestHarness {
+
+    private static final int PRELOAD_BATCH_SIZE = 1_000;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        SyntheticDataset dataset = new SyntheticDataset(config.seed());
+
+        ApplicationProcess application = config.baseUrl() == null ? ApplicationProcess.start(config) : null;
+        try {
+            long preloadStart = System.nanoTime();
+            preload(config, dataset);
+            long preloadMillis = (System.nanoTime() - preloadStart) / 1_000_000;
+            System.out.printf("Preloaded %d users in %d ms%n", config.users(), preloadMillis);
+
+            WorkloadDriver.Result result = new WorkloadDriver(config, dataset).run();
+            writeReport(config, preloadMillis, result);
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+        }
+    }
+
+    private static void preload(LoadTestConfig config, SyntheticDataset dataset) throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        URI batchUri = URI.create(config.effectiveBaseUrl() + "/api/users/batch");
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(config.preloadConcurrency())) {
+            List<Future<?>> batches = new ArrayList<>();
+            for (long from = 0; from < config.users(); from += PRELOAD_BATCH_SIZE) {
+                long batchFrom = from;
+                long batchTo = Math.min(from + PRELOAD_BATCH_SIZE, config.users());
+                batches.add(executor.submit(() -> {
+                    HttpRequest request = HttpRequest.newBuilder(batchUri)
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(dataset.preloadBatchJson(batchFrom, batchTo)))
+                            .build();
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() != 200) {
+                        throw new IllegalStateException("Preload batch " + batchFrom + " failed with status " + response.statusCode());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> batch : batches) {
+                batch.get();
+            }
+        }
+    }
+
+    private static void writeReport(LoadTestConfig config, long preloadMillis, WorkloadDriver.Result result) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("baseUrl", config.effectiveBaseUrl());
+        settings.put("users", config.users());
+        settings.put("targetRate", config.rate());
+        settings.put("warmupSeconds", config.warmupSeconds());
+        settings.put("durationSeconds", config.durationSeconds());
+        settings.put("lookupRatio", config.lookupRatio());
+        settings.put("seed", config.seed());
+        settings.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        report.put("config", settings);
+
+        report.put("preloadMillis", preloadMillis);
+        report.put("scheduledRequests", result.scheduled());
+
+        Map<String, Object> operations = new LinkedHashMap<>();
+        operations.put("lookup", summarize(result.lookups(), result.measuredSeconds()));
+        operations.put("register", summarize(result.registrations(), result.measuredSeconds()));
+        report.put("operations", operations);
+
+        Path reportPath = config.report();
+        if (reportPath.getParent() != null) {
+            Files.createDirectories(reportPath.getParent());
+        }
+        JsonMapper.builder().enable(SerializationFeature.INDENT_OUTPUT).build()
+                .writeValue(reportPath.toFile(), report);
+        writeDistribution(reportPath, "lookup", result.lookups().responseTime);
+        writeDistribution(reportPath, "register", result.registrations().responseTime);
+
+        System.out.println("Report written to " + reportPath.toAbsolutePath());
+    }
+
+    private static Map<String, Object> summarize(WorkloadDriver.OperationStats stats, double seconds) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", stats.responseTime.getTotalCount());
+        summary.put("errors", stats.errors.get());
+        summary.put("throughputPerSecond", stats.responseTime.getTotalCount() / seconds);
+        summary.put("responseTimeMillis", percentiles(stats.responseTime));
+        summary.put("serviceTimeMillis", percentiles(stats.serviceTime));
+        return summary;
+    }
+
+    private static Map<String, Object> percentiles(Histogram histogram) {
+        Map<String, Object> percentiles = new LinkedHashMap<>();
+        percentiles.put("p50", histogram.getValueAtPercentile(50) / NANOS_PER_MILLI);
+        percentiles.put("p99", histogram.getValueAtPercentile(99) / NANOS_PER_MILLI);
+        percentiles.put("p999", histogram.getValueAtPercentile(99.9) / NANOS_PER_MILLI);
+        percentiles.put("max", histogram.getMaxValue() / NANOS_PER_MILLI);
+        percentiles.put("mean", histogram.getMean() / NANOS_PER_MILLI);
+        return percentiles;
+    }
+
+    /**
+     * Writes the full percentile distribution (HdrHistogram .hgrm format, in milliseconds) next to the report.
+     */
+    private static void writeDistribution(Path reportPath, String operation, Histogram histogram) throws IOException {
+        Path file = reportPath.resolveSibling(reportPath.getFileName().toString().replace(".json", "") + "-" + operation + ".hgrm");
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, NANOS_PER_MILLI);
+        }
+    }
+
+    private LoadTestHarness() {
+        // Utility class
+    }
+}
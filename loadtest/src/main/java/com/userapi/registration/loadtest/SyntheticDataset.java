@@ -0,0 +1,52 @@
+package com.userapi.registration.loadtest;
+
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic users: the same seed and index always give the same registration.
+ * Every generated user passes validation and the business rules (adult French residents).
+ */
+final class SyntheticDataset {
+
+    private static final String[] GENDERS = {"MALE", "FEMALE", "OTHER"};
+    private static final LocalDate OLDEST_BIRTHDATE = LocalDate.of(1940, 1, 1);
+    private static final int BIRTHDATE_RANGE_DAYS = 60 * 365;
+
+    private final long seed;
+
+    SyntheticDataset(long seed) {
+        this.seed = seed;
+    }
+
+    static String preloadedUsername(long index) {
+        return "load.user." + index;
+    }
+
+    /**
+     * @return the registration request of the given username, as a JSON object
+     */
+    String registrationJson(String username) {
+        SplittableRandom random = new SplittableRandom(seed ^ username.hashCode());
+        LocalDate birthdate = OLDEST_BIRTHDATE.plusDays(random.nextInt(BIRTHDATE_RANGE_DAYS));
+        String phoneNumber = "06" + (10_000_000 + random.nextInt(90_000_000));
+        return "{\"username\":\"" + username
+                + "\",\"birthdate\":\"" + birthdate
+                + "\",\"countryOfResidence\":\"France\",\"phoneNumber\":\"" + phoneNumber
+                + "\",\"gender\":\"" + GENDERS[random.nextInt(GENDERS.length)] + "\"}";
+    }
+
+    /**
+     * @return a JSON array with the preloaded users {@code [from, to)}
+     */
+    String preloadBatchJson(long from, long to) {
+        StringBuilder json = new StringBuilder((int) (to - from) * 160).append('[');
+        for (long i = from; i < to; i++) {
+            if (i > from) {
+                json.append(',');
+            }
+            json.append(registrationJson(preloadedUsername(i)));
+        }
+        return json.append(']').toString();
+    }
+}
@@ -0,0 +1,129 @@
+package com.userapi.registration.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Open-model workload: requests are issued on a fixed schedule ({@code rate} per second) whatever the response times,
+ * so a slow server cannot slow the generator down.
+ * Each request is recorded twice: the response time is measured from its <em>intended</em> start, which accounts for
+ * coordinated omission (a stalled server is charged for every request that should have been sent meanwhile), and the
+ * service time from its actual send.
+ */
+final class WorkloadDriver {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final long DRAIN_TIMEOUT_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final LoadTestConfig config;
+    private final SyntheticDataset dataset;
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    WorkloadDriver(LoadTestConfig config, SyntheticDataset dataset) {
+        this.config = config;
+        this.dataset = dataset;
+    }
+
+    /**
+     * Results of one operation type.
+     */
+    static final class OperationStats {
+        final Histogram responseTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+        final Histogram serviceTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+        final AtomicLong errors = new AtomicLong();
+    }
+
+    record Result(OperationStats lookups, OperationStats registrations, long scheduled, double measuredSeconds) {
+    }
+
+    Result run() {
+        OperationStats lookups = new OperationStats();
+        OperationStats registrations = new OperationStats();
+        SplittableRandom random = new SplittableRandom(config.seed());
+        AtomicLong inFlight = new AtomicLong();
+
+        long intervalNanos = 1_000_000_000L / config.rate();
+        long startNanos = System.nanoTime();
+        long measureStartNanos = startNanos + TimeUnit.SECONDS.toNanos(config.warmupSeconds());
+        long endNanos = measureStartNanos + TimeUnit.SECONDS.toNanos(config.durationSeconds());
+        long scheduled = 0;
+
+        for (long i = 0; ; i++) {
+            long intendedNanos = startNanos + i * intervalNanos;
+            if (intendedNanos >= endNanos) {
+                break;
+            }
+            waitUntil(intendedNanos);
+
+            boolean recorded = intendedNanos >= measureStartNanos;
+            boolean lookup = random.nextDouble() < config.lookupRatio();
+            OperationStats stats = lookup ? lookups : registrations;
+            HttpRequest request = lookup ? lookupRequest(random) : registrationRequest(i);
+            int expectedStatus = lookup ? 200 : 201;
+            long sentNanos = System.nanoTime();
+
+            inFlight.incrementAndGet();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((result, error) -> {
+                        inFlight.decrementAndGet();
+                        if (!recorded) {
+                            return;
+                        }
+                        long now = System.nanoTime();
+                        stats.responseTime.recordValue(Math.min(now - intendedNanos, HIGHEST_TRACKABLE_NANOS));
+                        stats.serviceTime.recordValue(Math.min(now - sentNanos, HIGHEST_TRACKABLE_NANOS));
+                        if (error != null || result.statusCode() != expectedStatus) {
+                            stats.errors.incrementAndGet();
+                        }
+                    });
+            if (recorded) {
+                scheduled++;
+            }
+        }
+
+        long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT_NANOS;
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        return new Result(lookups, registrations, scheduled, config.durationSeconds());
+    }
+
+    private HttpRequest lookupRequest(SplittableRandom random) {
+        String username = SyntheticDataset.preloadedUsername(random.nextInt(Math.max(1, config.users())));
+        return HttpRequest.newBuilder(URI.create(config.effectiveBaseUrl() + "/api/users/" + username))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest registrationRequest(long sequence) {
+        String username = "load.new." + config.seed() + "." + sequence;
+        return HttpRequest.newBuilder(URI.create(config.effectiveBaseUrl() + "/api/users"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(dataset.registrationJson(username)))
+                .build();
+    }
+
+    private static void waitUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            if (remaining > 100_000) {
+                LockSupport.parkNanos(remaining - 50_000);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.userapi.registration.reactive;
+
+import com.userapi.registration.domain.policy.RegistrationPolicies;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+
+import java.time.Clock;
+import java.util.List;
+
+@SpringBootApplication
+public class ReactiveRegistrationApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(ReactiveRegistrationApplication.class, args);
+	}
+
+	@Bean
+	public RegistrationPolicies registrationPolicies(
+			@Value("${registration.policy.minimum-age:18}") int minimumAge,
+			@Value("${registration.policy.allowed-countries:France}") String[] allowedCountries) {
+		return new RegistrationPolicies(Clock.systemDefaultZone(), minimumAge, List.of(allowedCountries));
+	}
+
+}
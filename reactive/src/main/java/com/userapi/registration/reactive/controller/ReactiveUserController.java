@@ -0,0 +1,48 @@
+package com.userapi.registration.reactive.controller;
+
+import com.userapi.registration.dto.UserRegistrationRequest;
+import com.userapi.registration.dto.UserResponse;
+import com.userapi.registration.reactive.service.ReactiveUserService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking REST controller serving the same contract as {@code UserController}.
+ */
+@RestController
+@RequestMapping("/api/users")
+public class ReactiveUserController {
+
+    private final ReactiveUserService userService;
+
+    public ReactiveUserController(ReactiveUserService userService) {
+        this.userService = userService;
+    }
+
+    /**
+     * Registers a new user.
+     * 
+     * @param request the registration request with user data
+     * @return 201 Created with the created user details
+     */
+    @PostMapping
+    public Mono<ResponseEntity<UserResponse>> register(@Valid @RequestBody UserRegistrationRequest request) {
+        return userService.register(request)
+                .map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
+    }
+
+    /**
+     * Retrieves user details by username.
+     * 
+     * @param username the username to search for
+     * @return 200 OK with user details
+     */
+    @GetMapping("/{username}")
+    public Mono<ResponseEntity<UserResponse>> getUserDetails(@PathVariable String username) {
+        return userService.getUserDetails(username)
+                .map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,37 @@
+package com.userapi.registration.reactive.entity;
+
+import com.userapi.registration.entity.Gender;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDate;
+
+/**
+ * R2DBC mapping of the users table (same columns as the JPA {@code User} entity).
+ */
+@Table("users")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserRecord {
+
+    @Id
+    private Long id;
+
+    private String username;
+
+    private LocalDate birthdate;
+
+    private String countryOfResidence;
+
+    private String phoneNumber;
+
+    private Long phoneDigits;
+
+    private Gender gender;
+}
@@ -0,0 +1,134 @@
+package com.userapi.registration.reactive.exception;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
+
+import com.userapi.registration.dto.ErrorResponse;
+import com.userapi.registration.exception.BusinessRuleException;
+import com.userapi.registration.exception.ErrorCode;
+import com.userapi.registration.exception.UserAlreadyExistsException;
+import com.userapi.registration.exception.UserNotFoundException;
+import com.userapi.registration.reactive.filter.CorrelationIdWebFilter;
+
+/**
+ * Reactive counterpart of {@code GlobalExceptionHandler}: same statuses, error codes and {@link ErrorResponse} body.
+ */
+@RestControllerAdvice
+public class ReactiveExceptionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveExceptionHandler.class);
+
+    @ExceptionHandler(UserAlreadyExistsException.class)
+    public ResponseEntity<ErrorResponse> handleUserAlreadyExists(
+            UserAlreadyExistsException ex, ServerWebExchange exchange) {
+        logger.warn("User already exists: {}", ex.getMessage());
+        return buildResponse(HttpStatus.CONFLICT, ex.getErrorCode(), ex.getMessage(), exchange, null);
+    }
+
+    @ExceptionHandler(UserNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleUserNotFound(
+            UserNotFoundException ex, ServerWebExchange exchange) {
+        logger.warn("User not found: {}", ex.getMessage());
+        return buildResponse(HttpStatus.NOT_FOUND, ex.getErrorCode(), ex.getMessage(), exchange, null);
+    }
+
+    @ExceptionHandler(BusinessRuleException.class)
+    public ResponseEntity<ErrorResponse> handleBusinessRuleViolation(
+            BusinessRuleException ex, ServerWebExchange exchange) {
+        logger.warn("Business rule violation [{}]: {}", ex.getErrorCode(), ex.getMessage());
+        return buildResponse(HttpStatus.UNPROCESSABLE_CONTENT, ex.getErrorCode(), ex.getMessage(), exchange, null);
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponse> handleValidationErrors(
+            WebExchangeBindException ex, ServerWebExchange exchange) {
+
+        Map<String, String> validationErrors = new LinkedHashMap<>();
+        ex.getBindingResult().getFieldErrors().forEach(error -> {
+            String errorMessage = error.getDefaultMessage() != null ? error.getDefaultMessage() : "Validation failed";
+            validationErrors.merge(error.getField(), errorMessage, (existing, newMsg) -> existing + "; " + newMsg);
+        });
+        logger.warn("Validation failed: {}: {}", exchange.getRequest().getPath(), validationErrors);
+
+        return buildResponse(
+                HttpStatus.BAD_REQUEST,
+                ErrorCode.ERR_VALIDATION.getCode(),
+                "Input validation failed",
+                exchange,
+                validationErrors
+        );
+    }
+
+    /**
+     * Handles body decoding errors, with the same user-facing messages as the servlet application.
+     */
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ErrorResponse> handleJsonParseError(
+            ServerWebInputException ex, ServerWebExchange exchange) {
+
+        String message = "Malformed JSON request";
+        Throwable cause = ex.getMostSpecificCause();
+        String fullMessage = cause.getMessage() != null ? cause.getMessage() : "";
+        String lowerMessage = fullMessage.toLowerCase();
+
+        if (lowerMessage.contains("localdate")) {
+            message = "Invalid date format for 'birthdate'. Expected format: yyyy-MM-dd (example: 2000-01-15)";
+        }
+        else if (lowerMessage.contains("gender") || lowerMessage.contains("enum")) {
+            message = "Invalid gender value. Accepted values: MALE, FEMALE, OTHER (case insensitive)";
+        }
+
+        logger.warn("JSON parse error on {}: UserMessage='{}' | TechnicalCause='{}'",
+            exchange.getRequest().getPath(),
+            message,
+            fullMessage
+        );
+
+        return buildResponse(HttpStatus.BAD_REQUEST, ErrorCode.ERR_JSON_PARSE.getCode(), message, exchange, null);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleGenericException(
+            Exception ex, ServerWebExchange exchange) {
+        logger.error("Unexpected error occurred: {}", ex.getMessage(), ex);
+        return buildResponse(
+                HttpStatus.INTERNAL_SERVER_ERROR,
+                ErrorCode.ERR_INTERNAL.getCode(),
+                "An unexpected error occurred",
+                exchange,
+                null
+        );
+    }
+
+    private ResponseEntity<ErrorResponse> buildResponse(HttpStatus status,
+                                                        String errorCode,
+                                                        String message,
+                                                        ServerWebExchange exchange,
+                                                        Map<String, String> validationErrors) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                status.value(),
+                status.getReasonPhrase(),
+                message,
+                exchange.getRequest().getPath().value()
+        );
+
+        errorResponse.setErrorCode(errorCode);
+        errorResponse.setCorrelationId(exchange.getAttribute(CorrelationIdWebFilter.CORRELATION_ID_ATTRIBUTE));
+
+        if (validationErrors != null && !validationErrors.isEmpty()) {
+            errorResponse.setValidationErrors(validationErrors);
+        }
+
+        return ResponseEntity.status(status).body(errorResponse);
+    }
+}
@@ -0,0 +1,39 @@
+package com.userapi.registration.reactive.filter;
+
+import java.util.UUID;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@code CorrelationIdFilter}.
+ * The id is kept as an exchange attribute (and in the Reactor context) instead of the thread-bound MDC.
+ */
+@Component
+@Order(1)
+public class CorrelationIdWebFilter implements WebFilter {
+
+    public static final String CORRELATION_ID_ATTRIBUTE = "correlationId";
+    private static final String CORRELATION_ID_HEADER = "X-Correlation-Id";
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String correlationId = exchange.getRequest().getHeaders().getFirst(CORRELATION_ID_HEADER);
+
+        if (correlationId == null || correlationId.trim().isEmpty()) {
+            correlationId = UUID.randomUUID().toString();
+        }
+
+        exchange.getAttributes().put(CORRELATION_ID_ATTRIBUTE, correlationId);
+        exchange.getResponse().getHeaders().set(CORRELATION_ID_HEADER, correlationId);
+
+        String id = correlationId;
+        return chain.filter(exchange)
+                .contextWrite(context -> context.put(CORRELATION_ID_ATTRIBUTE, id));
+    }
+}
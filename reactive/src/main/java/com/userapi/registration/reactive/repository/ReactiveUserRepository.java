@@ -0,0 +1,15 @@
+package com.userapi.registration.reactive.repository;
+
+import com.userapi.registration.reactive.entity.UserRecord;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking repository for the users table.
+ */
+@Repository
+public interface ReactiveUserRepository extends ReactiveCrudRepository<UserRecord, Long> {
+
+    Mono<UserRecord> findByUsername(String username);
+}
@@ -0,0 +1,96 @@
+package com.userapi.registration.reactive.service;
+
+import com.userapi.registration.domain.policy.RegistrationPolicies;
+import com.userapi.registration.dto.UserRegistrationRequest;
+import com.userapi.registration.dto.UserResponse;
+import com.userapi.registration.exception.CountryNotAllowedException;
+import com.userapi.registration.exception.UserAlreadyExistsException;
+import com.userapi.registration.exception.UserNotAdultException;
+import com.userapi.registration.exception.UserNotFoundException;
+import com.userapi.registration.reactive.entity.UserRecord;
+import com.userapi.registration.reactive.repository.ReactiveUserRepository;
+import com.userapi.registration.validation.PhoneNumbers;
+import io.r2dbc.spi.R2dbcException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@code UserService}, with the same business rules and error codes.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveUserService {
+
+    private static final String UNIQUE_VIOLATION_SQL_STATE = "23505";
+
+    private final ReactiveUserRepository userRepository;
+    private final RegistrationPolicies registrationPolicies;
+
+    /**
+     * Registers a new user after validating business rules.
+     * Uniqueness is enforced by the unique constraint on {@code users.username} (one round trip per new user).
+     * 
+     * @param request the registration request containing user data
+     * @return the created user details, or an error signal with a {@code BusinessRuleException}
+     */
+    public Mono<UserResponse> register(UserRegistrationRequest request) {
+        if (!registrationPolicies.isAdult(request.getBirthdate())) {
+            return Mono.error(new UserNotAdultException(registrationPolicies.getMinimumAge()));
+        }
+        if (!registrationPolicies.isAllowedCountry(request.getCountryOfResidence())) {
+            return Mono.error(new CountryNotAllowedException(registrationPolicies.getAllowedCountryNames()));
+        }
+
+        String phoneNumber = PhoneNumbers.toE164(request.getPhoneNumber(), request.getCountryOfResidence());
+        UserRecord user = UserRecord.builder()
+                .username(request.getUsername())
+                .birthdate(request.getBirthdate())
+                .countryOfResidence(request.getCountryOfResidence())
+                .phoneNumber(phoneNumber)
+                .phoneDigits(PhoneNumbers.toDigits(phoneNumber))
+                .gender(request.getGender())
+                .build();
+
+        return userRepository.save(user)
+                .onErrorMap(ReactiveUserService::isUniqueViolation,
+                        ex -> new UserAlreadyExistsException(request.getUsername()))
+                .map(this::mapToResponse);
+    }
+
+    /**
+     * Retrieves user details by username.
+     * 
+     * @param username the username to search for
+     * @return the user details, or an error signal with {@link UserNotFoundException}
+     */
+    public Mono<UserResponse> getUserDetails(String username) {
+        return userRepository.findByUsername(username)
+                .map(this::mapToResponse)
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException(username)));
+    }
+
+    /**
+     * Only a unique violation means the username is taken; other integrity violations are not the caller's conflict.
+     */
+    private static boolean isUniqueViolation(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof R2dbcException r2dbcException
+                    && UNIQUE_VIOLATION_SQL_STATE.equals(r2dbcException.getSqlState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private UserResponse mapToResponse(UserRecord user) {
+        return UserResponse.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .birthdate(user.getBirthdate())
+                .countryOfResidence(user.getCountryOfResidence())
+                .phoneNumber(user.getPhoneNumber())
+                .gender(user.getGender())
+                .build();
+    }
+}
@@ -0,0 +1,9 @@
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    username VARCHAR(50) NOT NULL UNIQUE,
+    birthdate DATE NOT NULL,
+    country_of_residence VARCHAR(100) NOT NULL,
+    phone_number VARCHAR(16),
+    phone_digits BIGINT,
+    gender VARCHAR(10)
+);
@@ -0,0 +1,142 @@
+package com.userapi.registration.reactive.controller;
+
+import com.userapi.registration.dto.UserRegistrationRequest;
+import com.userapi.registration.entity.Gender;
+import com.userapi.registration.reactive.repository.ReactiveUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDate;
+
+@SpringBootTest
+class ReactiveUserControllerIntegrationTest {
+
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private ReactiveUserRepository userRepository;
+
+    private UserRegistrationRequest validRequest;
+
+    @BeforeEach
+    void setUp() {
+        webTestClient = WebTestClient.bindToApplicationContext(applicationContext).build();
+        userRepository.deleteAll().block();
+
+        validRequest = UserRegistrationRequest.builder()
+                .username("amine.bou")
+                .birthdate(LocalDate.of(2000, 1, 1))
+                .countryOfResidence("France")
+                .phoneNumber("0612345678")
+                .gender(Gender.MALE)
+                .build();
+    }
+
+    @Test
+    void register_shouldReturn201_whenRequestIsValid() {
+        webTestClient.post().uri("/api/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("X-Correlation-Id", "test-123")
+                .bodyValue(validRequest)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().valueEquals("X-Correlation-Id", "test-123")
+                .expectBody()
+                .jsonPath("$.id").isNumber()
+                .jsonPath("$.username").isEqualTo("amine.bou")
+                .jsonPath("$.birthdate").isEqualTo("2000-01-01")
+                .jsonPath("$.phoneNumber").isEqualTo("+33612345678")
+                .jsonPath("$.gender").isEqualTo("MALE");
+    }
+
+    @Test
+    void register_shouldReturn400_whenUsernameIsMissing() {
+        validRequest.setUsername(null);
+
+        webTestClient.post().uri("/api/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(validRequest)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("ERR_VALIDATION")
+                .jsonPath("$.validationErrors.username").exists();
+    }
+
+    @Test
+    void register_shouldReturn400_whenBirthdateIsInvalidFormat() {
+        webTestClient.post().uri("/api/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                        {"username": "amine.bou", "birthdate": "invalid-date", "countryOfResidence": "France"}
+                        """)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("ERR_JSON_PARSE");
+    }
+
+    @Test
+    void register_shouldReturn422_whenUserIsUnder18() {
+        validRequest.setBirthdate(LocalDate.now().minusYears(17));
+
+        webTestClient.post().uri("/api/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(validRequest)
+                .exchange()
+                .expectStatus().isEqualTo(422)
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("ERR_RULE_AGE_MIN");
+    }
+
+    @Test
+    void register_shouldReturn409_whenUsernameAlreadyExists() {
+        webTestClient.post().uri("/api/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(validRequest)
+                .exchange()
+                .expectStatus().isCreated();
+
+        webTestClient.post().uri("/api/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(validRequest)
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("ERR_USER_ALREADY_EXISTS");
+    }
+
+    @Test
+    void getUserDetails_shouldReturn200_whenUserExists() {
+        webTestClient.post().uri("/api/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(validRequest)
+                .exchange()
+                .expectStatus().isCreated();
+
+        webTestClient.get().uri("/api/users/{username}", "amine.bou")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.username").isEqualTo("amine.bou")
+                .jsonPath("$.countryOfResidence").isEqualTo("France");
+    }
+
+    @Test
+    void getUserDetails_shouldReturn404_whenUserDoesNotExist() {
+        webTestClient.get().uri("/api/users/{username}", "nonexistent")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("ERR_USER_NOT_FOUND")
+                .jsonPath("$.path").isEqualTo("/api/users/nonexistent");
+    }
+}
@@ -0,0 +1,79 @@
+package com.userapi.registration.reactive.load;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Same workload as the servlet application's execution-mode load tests (2000 registrations,
+ * 200 concurrent connections), so the logged throughput and p99 can be compared directly.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.r2dbc.url=r2dbc:h2:mem:///load-reactive;DB_CLOSE_DELAY=-1"
+})
+class ReactiveLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveLoadTest.class);
+    private static final int REQUESTS = 2_000;
+    private static final int CONCURRENCY = 200;
+
+    @Value("${local.server.port}")
+    private int port;
+
+    @Test
+    void concurrentRegistrations_shouldAllSucceed() throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        long[] latencies = new long[REQUESTS];
+        List<CompletableFuture<Integer>> responses = new ArrayList<>(REQUESTS);
+
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            inFlight.acquire();
+            int index = i;
+            long sentNanos = System.nanoTime();
+            responses.add(client.sendAsync(registration("reactive." + i), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        latencies[index] = System.nanoTime() - sentNanos;
+                        inFlight.release();
+                    })
+                    .thenApply(HttpResponse::statusCode));
+        }
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+        long durationNanos = System.nanoTime() - startNanos;
+
+        Arrays.sort(latencies);
+        logger.info("Execution mode reactive: requests={} concurrency={} throughput={}/s p50={}ms p99={}ms threads={}",
+                REQUESTS, CONCURRENCY,
+                REQUESTS * 1_000_000_000L / durationNanos,
+                latencies[REQUESTS / 2] / 1_000_000,
+                latencies[REQUESTS * 99 / 100] / 1_000_000,
+                Thread.activeCount());
+
+        assertThat(responses).allSatisfy(response -> assertThat(response.join()).isEqualTo(201));
+    }
+
+    private HttpRequest registration(String username) {
+        String body = """
+                {"username":"%s","birthdate":"2000-01-01","countryOfResidence":"France"}
+                """.formatted(username);
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/users"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
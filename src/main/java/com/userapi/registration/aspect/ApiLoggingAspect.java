@@ -1,5 +1,7 @@
 package com.userapi.registration.aspect;
 
+import com.userapi.registration.logging.AsyncLogPipeline;
+import com.userapi.registration.logging.LogEvent;
 import jakarta.servlet.http.HttpServletRequest;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
@@ -7,6 +9,7 @@ import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
@@ -21,10 +24,18 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 public class ApiLoggingAspect {
 
     private static final Logger logger = LoggerFactory.getLogger(ApiLoggingAspect.class);
+    private static final String CORRELATION_ID_KEY = "correlationId";
 
-    // Flag to prevent duplicate logging in service layer during HTTP calls
+    // Flag to prevent duplicate logging in service layer during HTTP calls.
+    // Set and removed on the request's own thread, so it stays correct (and pin-free) on virtual threads.
     static final ThreadLocal<Boolean> IN_HTTP_CALL = ThreadLocal.withInitial(() -> false);
 
+    private final AsyncLogPipeline logPipeline;
+
+    public ApiLoggingAspect(AsyncLogPipeline logPipeline) {
+        this.logPipeline = logPipeline;
+    }
+
     @Pointcut("execution(* com.userapi.registration.controller..*(..))")
     public void controllerLayer() {}
 
@@ -35,6 +46,14 @@ public class ApiLoggingAspect {
     public Object logApiCall(ProceedingJoinPoint joinPoint) throws Throwable {
         IN_HTTP_CALL.set(true);
 
+        if (logPipeline.isEnabled()) {
+            try {
+                return publishApiCall(joinPoint);
+            } finally {
+                IN_HTTP_CALL.remove();
+            }
+        }
+
         String controller = joinPoint.getTarget().getClass().getSimpleName();
         String method = joinPoint.getSignature().getName();
         String signature = controller + "." + method;
@@ -81,6 +100,36 @@ public class ApiLoggingAspect {
         }
     }
 
+    /**
+     * Asynchronous mode: runs the call and publishes one event, leaving all formatting to the pipeline thread.
+     */
+    private Object publishApiCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        HttpServletRequest request = getCurrentRequest();
+        long startNanos = System.nanoTime();
+        int status = 0;
+        String exception = null;
+        try {
+            Object result = joinPoint.proceed();
+            status = extractHttpStatus(result);
+            return result;
+        } catch (Throwable ex) {
+            exception = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            logPipeline.publish(new LogEvent(
+                    System.currentTimeMillis(),
+                    "api",
+                    joinPoint.getTarget().getClass().getSimpleName(),
+                    joinPoint.getSignature().getName(),
+                    request != null ? request.getMethod() : null,
+                    request != null ? request.getRequestURI() : null,
+                    status,
+                    System.nanoTime() - startNanos,
+                    exception,
+                    MDC.get(CORRELATION_ID_KEY)));
+        }
+    }
+
     private HttpServletRequest getCurrentRequest() {
         var attributes = RequestContextHolder.getRequestAttributes();
         if (attributes instanceof ServletRequestAttributes servletAttrs) {
@@ -93,6 +142,11 @@ public class ApiLoggingAspect {
         if (result instanceof ResponseEntity<?> responseEntity) {
             return responseEntity.getStatusCode().value();
         }
+        // Handlers writing to the servlet response set the status themselves
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes servletAttrs
+                && servletAttrs.getResponse() != null) {
+            return servletAttrs.getResponse().getStatus();
+        }
         return 200;
     }
 
@@ -0,0 +1,128 @@
+package com.userapi.registration.aspect;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.userapi.registration.logging.Sensitive;
+
+/**
+ * Writes an application object to a log buffer field by field, masking {@link Sensitive} fields,
+ * in the same {@code Type(field=value, ...)} shape as the Lombok {@code toString()}.
+ * A masker is built once per class (field getters resolved to method handles) and cached in a {@link ClassValue},
+ * so logging a value neither builds its {@code toString()} nor scans it with a regex.
+ * Classes outside the application packages, enums and exceptions are written with {@code toString()}.
+ */
+final class LogMasker {
+
+    private static final String APPLICATION_PACKAGE = "com.userapi.registration";
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final String MASK = "***";
+
+    private static final ClassValue<LogMasker> MASKERS = new ClassValue<>() {
+        @Override
+        protected LogMasker computeValue(Class<?> type) {
+            return new LogMasker(type);
+        }
+    };
+
+    private final String prefix;
+    private final Property[] properties;
+
+    static LogMasker forClass(Class<?> type) {
+        return MASKERS.get(type);
+    }
+
+    private LogMasker(Class<?> type) {
+        if (!isApplicationType(type)) {
+            this.prefix = null;
+            this.properties = null;
+            return;
+        }
+
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> c = type; c != null && isApplicationType(c); c = c.getSuperclass()) {
+            List<Field> declared = new ArrayList<>();
+            for (Field field : c.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()) {
+                    declared.add(field);
+                }
+            }
+            fields.addAll(0, declared);
+        }
+
+        this.prefix = type.getSimpleName() + "(";
+        this.properties = new Property[fields.size()];
+        for (int i = 0; i < properties.length; i++) {
+            Field field = fields.get(i);
+            properties[i] = new Property(
+                    (i == 0 ? "" : ", ") + field.getName() + "=",
+                    getter(field),
+                    field.getAnnotation(Sensitive.class));
+        }
+    }
+
+    /**
+     * Appends {@code value}, whose class is the one this masker was built for, to {@code buffer}.
+     */
+    void appendTo(StringBuilder buffer, Object value) {
+        if (properties == null) {
+            buffer.append(value);
+            return;
+        }
+
+        buffer.append(prefix);
+        for (Property property : properties) {
+            buffer.append(property.label());
+            Object fieldValue = property.get(value);
+            if (property.sensitive() != null && fieldValue != null) {
+                mask(buffer, fieldValue.toString(), property.sensitive());
+            } else {
+                SafeLog.appendSafe(buffer, fieldValue);
+            }
+        }
+        buffer.append(')');
+    }
+
+    private static void mask(StringBuilder buffer, String value, Sensitive sensitive) {
+        int length = value.length();
+        if (length < sensitive.keepFirst() + sensitive.keepLast()) {
+            buffer.append(MASK);
+            return;
+        }
+        buffer.append(value, 0, sensitive.keepFirst())
+                .append(MASK)
+                .append(value, length - sensitive.keepLast(), length);
+    }
+
+    private static boolean isApplicationType(Class<?> type) {
+        return !Enum.class.isAssignableFrom(type)
+                && !type.isArray()
+                && !Throwable.class.isAssignableFrom(type)
+                && type.getPackageName().startsWith(APPLICATION_PACKAGE);
+    }
+
+    private static MethodHandle getter(Field field) {
+        try {
+            field.setAccessible(true);
+            return MethodHandles.lookup().unreflectGetter(field).asType(GETTER_TYPE);
+        } catch (IllegalAccessException ex) {
+            throw new IllegalStateException("Cannot read " + field, ex);
+        }
+    }
+
+    private record Property(String label, MethodHandle getter, Sensitive sensitive) {
+
+        Object get(Object target) {
+            try {
+                return (Object) getter.invokeExact(target);
+            } catch (Throwable ex) {
+                throw new IllegalStateException("Cannot read " + label, ex);
+            }
+        }
+    }
+}
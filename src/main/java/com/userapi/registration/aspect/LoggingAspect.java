@@ -1,11 +1,14 @@
 package com.userapi.registration.aspect;
 
+import com.userapi.registration.logging.AsyncLogPipeline;
+import com.userapi.registration.logging.LogEvent;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import org.springframework.stereotype.Component;
 
 /**
@@ -16,6 +19,13 @@ import org.springframework.stereotype.Component;
 public class LoggingAspect {
 
     private static final Logger logger = LoggerFactory.getLogger(LoggingAspect.class);
+    private static final String CORRELATION_ID_KEY = "correlationId";
+
+    private final AsyncLogPipeline logPipeline;
+
+    public LoggingAspect(AsyncLogPipeline logPipeline) {
+        this.logPipeline = logPipeline;
+    }
 
     @Pointcut("execution(* com.userapi.registration.service.*.*(..))")
     public void serviceLayer() {}
@@ -29,6 +39,9 @@ public class LoggingAspect {
         if (Boolean.TRUE.equals(ApiLoggingAspect.IN_HTTP_CALL.get())) {
             return joinPoint.proceed();
         }
+        if (logPipeline.isEnabled()) {
+            return publishServiceCall(joinPoint);
+        }
 
         String className = joinPoint.getTarget().getClass().getSimpleName();
         String methodName = joinPoint.getSignature().getName();
@@ -61,4 +74,30 @@ public class LoggingAspect {
             throw ex;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Asynchronous mode: runs the call and publishes one event, leaving all formatting to the pipeline thread.
+     */
+    private Object publishServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        long startNanos = System.nanoTime();
+        String exception = null;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            exception = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            logPipeline.publish(new LogEvent(
+                    System.currentTimeMillis(),
+                    "service",
+                    joinPoint.getTarget().getClass().getSimpleName(),
+                    joinPoint.getSignature().getName(),
+                    null,
+                    null,
+                    0,
+                    System.nanoTime() - startNanos,
+                    exception,
+                    MDC.get(CORRELATION_ID_KEY)));
+        }
+    }
+}
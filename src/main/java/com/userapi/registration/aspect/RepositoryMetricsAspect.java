@@ -0,0 +1,75 @@
+package com.userapi.registration.aspect;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every {@code UserRepository} call in the {@code registration.repository.invocations} timer,
+ * tagged by method and outcome ({@code SUCCESS} or the exception's simple name).
+ * Timers are registered once per method and outcome and kept here, so a call only costs two clock reads
+ * and two map lookups.
+ */
+@Aspect
+@Component
+public class RepositoryMetricsAspect {
+
+    static final String METRIC_NAME = "registration.repository.invocations";
+    private static final String SUCCESS = "SUCCESS";
+
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final Map<String, Map<String, Timer>> timers = new ConcurrentHashMap<>();
+
+    public RepositoryMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.clock = meterRegistry.config().clock();
+    }
+
+    // UserRepository declares every method it exposes, so execution() also covers the Spring Data CRUD methods
+    @Pointcut("execution(public * com.userapi.registration.repository.UserRepository.*(..))")
+    public void userRepository() {}
+
+    /**
+     * Records the duration of a repository call.
+     */
+    @Around("userRepository()")
+    public Object timeRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        long startNanos = clock.monotonicTime();
+        String outcome = SUCCESS;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            outcome = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            timer(joinPoint.getSignature().getName(), outcome)
+                    .record(clock.monotonicTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(String method, String outcome) {
+        Map<String, Timer> byOutcome = timers.get(method);
+        if (byOutcome == null) {
+            byOutcome = timers.computeIfAbsent(method, name -> new ConcurrentHashMap<>());
+        }
+        Timer timer = byOutcome.get(outcome);
+        if (timer == null) {
+            timer = byOutcome.computeIfAbsent(outcome, name -> Timer.builder(METRIC_NAME)
+                    .tag("method", method)
+                    .tag("outcome", name)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        return timer;
+    }
+}
@@ -1,14 +1,23 @@
 package com.userapi.registration.aspect;
 
-import java.util.regex.Pattern;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
 
 /**
  * Utility class for sanitizing log output.
- * Masks sensitive data (phone numbers) using regex pattern matching.
+ * Masks fields annotated with {@code @Sensitive} through per-class {@link LogMasker}s,
+ * writing into a per-thread buffer that is reused from one log line to the next.
  */
 final class SafeLog {
 
-    private static final Pattern PHONE_PATTERN = Pattern.compile("phoneNumber='([^']+)'");
+    private static final int INITIAL_BUFFER_SIZE = 256;
+    // Larger buffers are dropped after use so that one huge payload does not stay pinned to a thread
+    private static final int MAX_RETAINED_BUFFER_SIZE = 8192;
+
+    private static final ThreadLocal<StringBuilder> BUFFER =
+            ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_BUFFER_SIZE));
 
     /**
      * Converts method arguments to a safe loggable string.
@@ -17,36 +26,77 @@ final class SafeLog {
         if (args == null || args.length == 0) {
             return "[]";
         }
-        
-        StringBuilder sb = new StringBuilder("[");
+
+        StringBuilder sb = buffer();
+        sb.append('[');
         for (int i = 0; i < args.length; i++) {
             if (i > 0) sb.append(", ");
-            sb.append(toSafeValue(args[i]));
+            appendSafe(sb, args[i]);
         }
-        return sb.append("]").toString();
+        return release(sb.append(']'));
     }
 
     /**
      * Converts a value to a safe loggable string.
-     * Automatically masks any phoneNumber field in the string representation.
      */
     static String toSafeValue(Object obj) {
-        String str = String.valueOf(obj);
-        return PHONE_PATTERN.matcher(str).replaceAll(match -> {
-            String phone = match.group(1);
-            String masked = maskPhone(phone);
-            return "phoneNumber='" + masked + "'";
-        });
+        StringBuilder sb = buffer();
+        appendSafe(sb, obj);
+        return release(sb);
+    }
+
+    /**
+     * Appends a value with its sensitive fields masked, descending into collections, maps and arrays.
+     */
+    static void appendSafe(StringBuilder sb, Object value) {
+        if (value == null) {
+            sb.append("null");
+        } else if (value instanceof CharSequence || value instanceof Number || value instanceof Boolean) {
+            sb.append(value);
+        } else if (value instanceof Collection<?> collection) {
+            appendAll(sb, collection.iterator());
+        } else if (value instanceof Object[] array) {
+            appendAll(sb, Arrays.asList(array).iterator());
+        } else if (value instanceof Map<?, ?> map) {
+            sb.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!first) sb.append(", ");
+                first = false;
+                appendSafe(sb, entry.getKey());
+                sb.append('=');
+                appendSafe(sb, entry.getValue());
+            }
+            sb.append('}');
+        } else {
+            LogMasker.forClass(value.getClass()).appendTo(sb, value);
+        }
+    }
+
+    private static void appendAll(StringBuilder sb, Iterator<?> values) {
+        sb.append('[');
+        while (values.hasNext()) {
+            appendSafe(sb, values.next());
+            if (values.hasNext()) sb.append(", ");
+        }
+        sb.append(']');
+    }
+
+    private static StringBuilder buffer() {
+        StringBuilder sb = BUFFER.get();
+        sb.setLength(0);
+        return sb;
     }
 
-    private static String maskPhone(String phone) {
-        if (phone == null || phone.length() < 4) {
-            return "***";
+    private static String release(StringBuilder sb) {
+        String result = sb.toString();
+        if (sb.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+            BUFFER.set(new StringBuilder(INITIAL_BUFFER_SIZE));
         }
-        return phone.substring(0, 2) + "***" + phone.substring(phone.length() - 4);
+        return result;
     }
 
     private SafeLog() {
         // Utility class
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,8 @@
+package com.userapi.registration.cache;
+
+/**
+ * User details as sent on the wire: the JSON body and its ETag.
+ * The body array is shared and must not be modified.
+ */
+public record SerializedUser(byte[] body, String etag) {
+}
@@ -0,0 +1,100 @@
+package com.userapi.registration.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.userapi.registration.dto.CacheStatsResponse;
+import com.userapi.registration.dto.UserResponse;
+import com.userapi.registration.exception.UserNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of user details keyed by username.
+ * Found users are kept up to {@code registration.user-cache.maximum-size} entries for
+ * {@code registration.user-cache.ttl}; unknown usernames are remembered for the much shorter
+ * {@code registration.user-cache.not-found-ttl} so that enumeration floods do not reach the database.
+ * Cached {@link UserResponse} instances are shared and must not be modified by callers.
+ */
+@Component
+public class UserDetailsCache {
+
+    private final Cache<String, UserResponse> users;
+    private final Cache<String, Boolean> notFound;
+
+    public UserDetailsCache(@Value("${registration.user-cache.maximum-size:10000}") long maximumSize,
+                            @Value("${registration.user-cache.ttl:10m}") Duration ttl,
+                            @Value("${registration.user-cache.not-found-ttl:5s}") Duration notFoundTtl) {
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.notFound = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(notFoundTtl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached user details, loading and caching them (or their absence) on a miss.
+     *
+     * @param username the username to look up
+     * @param loader loads the user details from the database
+     * @return the user details
+     * @throws UserNotFoundException if the user does not exist, cached or not
+     */
+    public UserResponse get(String username, Function<String, Optional<UserResponse>> loader) {
+        UserResponse cached = users.getIfPresent(username);
+        if (cached != null) {
+            return cached;
+        }
+        if (notFound.getIfPresent(username) != null) {
+            throw new UserNotFoundException(username);
+        }
+
+        Optional<UserResponse> loaded = loader.apply(username);
+        if (loaded.isEmpty()) {
+            notFound.put(username, Boolean.TRUE);
+            throw new UserNotFoundException(username);
+        }
+        users.put(username, loaded.get());
+        return loaded.get();
+    }
+
+    /**
+     * Caches a freshly registered user and forgets any cached "not found" for its username.
+     */
+    public void put(UserResponse user) {
+        notFound.invalidate(user.getUsername());
+        users.put(user.getUsername(), user);
+    }
+
+    public void invalidateAll() {
+        users.invalidateAll();
+        notFound.invalidateAll();
+    }
+
+    public List<CacheStatsResponse> stats() {
+        return List.of(
+                toResponse("user-details", users.estimatedSize(), users.stats()),
+                toResponse("user-details-not-found", notFound.estimatedSize(), notFound.stats()));
+    }
+
+    private CacheStatsResponse toResponse(String name, long size, CacheStats stats) {
+        return CacheStatsResponse.builder()
+                .name(name)
+                .size(size)
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .evictionCount(stats.evictionCount())
+                .hitRate(stats.hitRate())
+                .build();
+    }
+}
@@ -0,0 +1,94 @@
+package com.userapi.registration.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.userapi.registration.dto.CacheStatsResponse;
+import com.userapi.registration.dto.UserResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Cache of user details already serialized to JSON, keyed by username, so that a hot lookup is a byte copy
+ * to the response instead of a Jackson run. Bodies are written with the application's {@link ObjectMapper},
+ * the one used for every other response, so they are identical to what message conversion would produce.
+ * The cache is bounded by the estimated memory of its entries ({@code registration.user-json-cache.max-size}),
+ * and evictions run on the writing thread so the bound holds as soon as each write returns.
+ */
+@Component
+public class UserJsonCache {
+
+    // Object headers, references and the cache's own node, per entry
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+
+    private final ObjectMapper objectMapper;
+    private final Cache<String, SerializedUser> entries;
+
+    public UserJsonCache(ObjectMapper objectMapper,
+                         @Value("${registration.user-json-cache.max-size:16MB}") DataSize maxSize,
+                         @Value("${registration.user-json-cache.ttl:10m}") Duration ttl) {
+        this.objectMapper = objectMapper;
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher(UserJsonCache::weigh)
+                .expireAfterWrite(ttl)
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the serialized user details, loading and serializing them on a miss.
+     *
+     * @param username the username to look up
+     * @param loader loads the user details, throwing if the user does not exist
+     * @return the JSON body and its ETag
+     */
+    public SerializedUser get(String username, Function<String, UserResponse> loader) {
+        SerializedUser cached = entries.getIfPresent(username);
+        if (cached != null) {
+            return cached;
+        }
+        UserResponse user = loader.apply(username);
+        SerializedUser serialized = new SerializedUser(
+                objectMapper.writeValueAsBytes(user), UserVersion.etag(user.getId(), user.getVersion()));
+        entries.put(username, serialized);
+        return serialized;
+    }
+
+    /**
+     * @return the cached entry, or {@code null} without loading anything
+     */
+    public SerializedUser getIfPresent(String username) {
+        return entries.getIfPresent(username);
+    }
+
+    public void invalidate(String username) {
+        entries.invalidate(username);
+    }
+
+    public void invalidateAll() {
+        entries.invalidateAll();
+    }
+
+    public CacheStatsResponse stats() {
+        CacheStats stats = entries.stats();
+        return CacheStatsResponse.builder()
+                .name("user-json")
+                .size(entries.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .evictionCount(stats.evictionCount())
+                .hitRate(stats.hitRate())
+                .build();
+    }
+
+    static int weigh(String username, SerializedUser user) {
+        return ENTRY_OVERHEAD_BYTES + 2 * username.length() + user.body().length + 2 * user.etag().length();
+    }
+}
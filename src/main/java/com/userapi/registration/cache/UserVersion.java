@@ -0,0 +1,19 @@
+package com.userapi.registration.cache;
+
+/**
+ * Id and version of a user, read without loading the entity.
+ */
+public record UserVersion(Long id, Long version) {
+
+    public String etag() {
+        return etag(id, version);
+    }
+
+    /**
+     * Strong ETag of a user's details. The id is part of it so that a username registered again
+     * after a deletion never matches the ETag of the former user.
+     */
+    public static String etag(Long id, Long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+}
@@ -0,0 +1,68 @@
+package com.userapi.registration.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.userapi.registration.dto.CacheStatsResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Read-through index of the ETag of each user's details, keyed by username.
+ * Entries are a username and a short string, so far more users fit than in {@link UserDetailsCache}, and a
+ * conditional GET whose ETag still matches is answered without loading or serializing the user.
+ * Entries never expire: users cannot be modified, so an ETag only changes when the user is registered again,
+ * which goes through {@link #put}.
+ */
+@Component
+public class UserVersionIndex {
+
+    private final Cache<String, String> etags;
+
+    public UserVersionIndex(@Value("${registration.user-versions.maximum-size:100000}") long maximumSize) {
+        this.etags = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the ETag of a user's details, loading and caching it on a miss.
+     *
+     * @param username the username to look up
+     * @param loader loads the id and version of the user from the database
+     * @return the ETag, or empty if the user does not exist
+     */
+    public Optional<String> get(String username, Function<String, Optional<UserVersion>> loader) {
+        String cached = etags.getIfPresent(username);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<String> loaded = loader.apply(username).map(UserVersion::etag);
+        loaded.ifPresent(etag -> etags.put(username, etag));
+        return loaded;
+    }
+
+    public void put(String username, String etag) {
+        etags.put(username, etag);
+    }
+
+    public void invalidateAll() {
+        etags.invalidateAll();
+    }
+
+    public CacheStatsResponse stats() {
+        CacheStats stats = etags.stats();
+        return CacheStatsResponse.builder()
+                .name("user-versions")
+                .size(etags.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .evictionCount(stats.evictionCount())
+                .hitRate(stats.hitRate())
+                .build();
+    }
+}
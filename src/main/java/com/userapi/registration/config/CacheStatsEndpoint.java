@@ -0,0 +1,47 @@
+package com.userapi.registration.config;
+
+import com.userapi.registration.cache.UserDetailsCache;
+import com.userapi.registration.cache.UserJsonCache;
+import com.userapi.registration.cache.UserVersionIndex;
+import com.userapi.registration.dto.CacheStatsResponse;
+import com.userapi.registration.offheap.OffHeapUserDataset;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Size, hit, miss and eviction counters of the in-memory user caches, as the {@code usercaches} actuator endpoint
+ * on the management port. Not named {@code caches}, which is Spring Boot's endpoint for Spring cache managers.
+ */
+@Component
+@Endpoint(id = "usercaches")
+public class CacheStatsEndpoint {
+
+    private final UserDetailsCache userDetailsCache;
+    private final UserVersionIndex userVersionIndex;
+    private final UserJsonCache userJsonCache;
+    private final OffHeapUserDataset offHeapUsers;
+
+    public CacheStatsEndpoint(UserDetailsCache userDetailsCache, UserVersionIndex userVersionIndex,
+                              UserJsonCache userJsonCache, OffHeapUserDataset offHeapUsers) {
+        this.userDetailsCache = userDetailsCache;
+        this.userVersionIndex = userVersionIndex;
+        this.userJsonCache = userJsonCache;
+        this.offHeapUsers = offHeapUsers;
+    }
+
+    /**
+     * @return one entry per cache
+     */
+    @ReadOperation
+    public List<CacheStatsResponse> stats() {
+        List<CacheStatsResponse> stats = new ArrayList<>(userDetailsCache.stats());
+        stats.add(userVersionIndex.stats());
+        stats.add(userJsonCache.stats());
+        stats.add(offHeapUsers.stats());
+        return stats;
+    }
+}
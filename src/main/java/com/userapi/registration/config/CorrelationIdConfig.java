@@ -0,0 +1,27 @@
+package com.userapi.registration.config;
+
+import com.userapi.registration.filter.CorrelationIdFormat;
+import com.userapi.registration.filter.CorrelationIdGenerator;
+import com.userapi.registration.filter.UlidCorrelationIdGenerator;
+import com.userapi.registration.filter.UuidCorrelationIdGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * Selects the correlation ID generator with {@code registration.correlation-id.format}.
+ */
+@Configuration
+public class CorrelationIdConfig {
+
+    @Bean
+    public CorrelationIdGenerator correlationIdGenerator(
+            @Value("${registration.correlation-id.format:ULID}") CorrelationIdFormat format, Clock clock) {
+        return switch (format) {
+            case ULID -> new UlidCorrelationIdGenerator(clock);
+            case UUID -> new UuidCorrelationIdGenerator();
+        };
+    }
+}
@@ -0,0 +1,35 @@
+package com.userapi.registration.config;
+
+import com.userapi.registration.domain.policy.RegistrationPolicies;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Registration rules and the clock they are evaluated against.
+ * The initial rules come from {@code registration.policy.*}; {@link RegistrationPolicyEndpoint} reloads them
+ * from configuration at runtime.
+ */
+@Configuration
+public class RegistrationPolicyConfig {
+
+    /**
+     * Clock in {@code registration.policy.zone}, or in the system zone when it is not set.
+     */
+    @Bean
+    public Clock clock(@Value("${registration.policy.zone:}") String zone) {
+        return zone.isBlank() ? Clock.systemDefaultZone() : Clock.system(ZoneId.of(zone));
+    }
+
+    @Bean
+    public RegistrationPolicies registrationPolicies(
+            Clock clock,
+            @Value("${registration.policy.minimum-age:18}") int minimumAge,
+            @Value("${registration.policy.allowed-countries:France}") String[] allowedCountries) {
+        return new RegistrationPolicies(clock, minimumAge, List.of(allowedCountries));
+    }
+}
@@ -0,0 +1,115 @@
+package com.userapi.registration.config;
+
+import com.userapi.registration.domain.policy.RegistrationPolicies;
+import com.userapi.registration.dto.RegistrationPolicyResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.boot.context.properties.bind.PropertySourcesPlaceholdersResolver;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySource;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.PropertiesPropertySource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Reloads the registration rules from configuration without a restart, as the {@code registrationpolicies}
+ * actuator endpoint: served on the management port ({@code management.server.port}), off the public API.
+ * A write re-reads {@code registration.policy.minimum-age} and {@code registration.policy.allowed-countries}
+ * from {@code registration.policy.file} when it is set, falling back to the application's configuration, and
+ * swaps them into {@link RegistrationPolicies}. The file is also applied at startup, so that its rules survive
+ * a restart. A read returns the rules in force.
+ */
+@Component
+@Endpoint(id = "registrationpolicies")
+public class RegistrationPolicyEndpoint implements InitializingBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegistrationPolicyEndpoint.class);
+    private static final String PREFIX = "registration.policy";
+
+    /**
+     * The rules as bound from configuration, with the defaults of {@link RegistrationPolicyConfig}.
+     */
+    record PolicySettings(@DefaultValue("18") int minimumAge, @DefaultValue("France") List<String> allowedCountries) {
+    }
+
+    private final RegistrationPolicies registrationPolicies;
+    private final ConfigurableEnvironment environment;
+    private final String file;
+
+    public RegistrationPolicyEndpoint(RegistrationPolicies registrationPolicies,
+                                      ConfigurableEnvironment environment,
+                                      @Value("${registration.policy.file:}") String file) {
+        this.registrationPolicies = registrationPolicies;
+        this.environment = environment;
+        this.file = file;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!file.isBlank()) {
+            reload();
+        }
+    }
+
+    @ReadOperation
+    public RegistrationPolicyResponse policies() {
+        return RegistrationPolicyResponse.builder()
+                .minimumAge(registrationPolicies.getMinimumAge())
+                .allowedCountries(registrationPolicies.getAllowedCountries())
+                .adultCutoff(registrationPolicies.getAdultCutoff())
+                .build();
+    }
+
+    /**
+     * Applies the rules currently configured. Registrations in flight finish with the previous rules.
+     *
+     * @throws InvalidEndpointRequestException if the configured rules are invalid; the previous rules stay
+     * @throws UncheckedIOException if {@code registration.policy.file} cannot be read
+     */
+    @WriteOperation
+    public RegistrationPolicyResponse reload() {
+        PolicySettings settings = bind();
+        try {
+            registrationPolicies.reload(settings.minimumAge(), settings.allowedCountries());
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidEndpointRequestException(ex.getMessage(), ex.getMessage());
+        }
+        logger.info("Registration rules reloaded: minimumAge={} allowedCountries={}",
+                settings.minimumAge(), settings.allowedCountries());
+        return policies();
+    }
+
+    private PolicySettings bind() {
+        List<ConfigurationPropertySource> sources = new ArrayList<>();
+        if (!file.isBlank()) {
+            ConfigurationPropertySources.from(new PropertiesPropertySource(file, readFile())).forEach(sources::add);
+        }
+        ConfigurationPropertySources.get(environment).forEach(sources::add);
+        return new Binder(sources, new PropertySourcesPlaceholdersResolver(environment))
+                .bindOrCreate(PREFIX, PolicySettings.class);
+    }
+
+    private Properties readFile() {
+        try {
+            return PropertiesLoaderUtils.loadProperties(new FileSystemResource(file));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read registration.policy.file " + file, ex);
+        }
+    }
+}
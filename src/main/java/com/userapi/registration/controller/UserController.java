@@ -1,13 +1,30 @@
 package com.userapi.registration.controller;
 
+import com.userapi.registration.cache.SerializedUser;
+import com.userapi.registration.dto.BatchRegistrationResponse;
+import com.userapi.registration.dto.RegistrationStatusResponse;
+import com.userapi.registration.dto.UserPageResponse;
 import com.userapi.registration.dto.UserRegistrationRequest;
 import com.userapi.registration.dto.UserResponse;
+import com.userapi.registration.dto.UsernameAvailabilityResponse;
+import com.userapi.registration.dto.UsernameSearchResponse;
+import com.userapi.registration.service.UserImportService;
 import com.userapi.registration.service.UserService;
+import com.userapi.registration.writebehind.WriteBehindRegistrations;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.Optional;
+
 /**
  * REST controller for user registration and retrieval operations.
  */
@@ -16,32 +33,160 @@ import org.springframework.web.bind.annotation.*;
 public class UserController {
 
     private final UserService userService;
+    private final UserImportService userImportService;
+    private final WriteBehindRegistrations writeBehindRegistrations;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService,
+                          UserImportService userImportService,
+                          WriteBehindRegistrations writeBehindRegistrations) {
         this.userService = userService;
+        this.userImportService = userImportService;
+        this.writeBehindRegistrations = writeBehindRegistrations;
     }
 
     /**
      * Registers a new user.
+     * In write-behind mode ({@code registration.write-behind.enabled=true}) the request is checked and queued,
+     * and the user is persisted later: the outcome is then read from {@link #getRegistrationStatus}.
      * 
      * @param request the registration request with user data
-     * @return 201 Created with the created user details
+     * @return 201 Created with the created user details, or 202 Accepted with the ticket of the queued registration
      */
     @PostMapping
-    public ResponseEntity<UserResponse> register(@Valid @RequestBody UserRegistrationRequest request) {
+    public ResponseEntity<?> register(@Valid @RequestBody UserRegistrationRequest request) {
+        if (writeBehindRegistrations.isEnabled()) {
+            RegistrationStatusResponse status = writeBehindRegistrations.submit(request);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/users/registrations/" + status.getTicket()))
+                    .body(status);
+        }
         UserResponse response = userService.register(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
     /**
-     * Retrieves user details by username.
+     * Reports the outcome of a registration accepted in write-behind mode.
+     * 
+     * @param ticket the ticket returned when the registration was accepted
+     * @return 200 OK with the status: PENDING, then CREATED with the user details or REJECTED with the error
+     */
+    @GetMapping("/registrations/{ticket}")
+    public ResponseEntity<RegistrationStatusResponse> getRegistrationStatus(@PathVariable String ticket) {
+        return ResponseEntity.ok(writeBehindRegistrations.status(ticket));
+    }
+
+    /**
+     * Registers a list of users in one call.
+     * Items are validated individually: invalid or conflicting items are reported in the
+     * response without preventing the others from being created.
+     * 
+     * @param requests the registration requests
+     * @return 200 OK with one result per request, in request order
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchRegistrationResponse> registerBatch(@RequestBody List<UserRegistrationRequest> requests) {
+        BatchRegistrationResponse response = userService.registerBatch(requests);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Imports users from an NDJSON upload (one registration request per line).
+     * The body is read and committed chunk by chunk, and one NDJSON result line per input line
+     * is streamed back as each chunk completes.
+     * 
+     * @param body the NDJSON request body
+     * @param response the servlet response the results are streamed to
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importUsers(InputStream body, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        userImportService.importUsers(body, response.getOutputStream());
+    }
+
+    /**
+     * Lists registered users in id order, with keyset pagination.
+     * 
+     * @param after {@code nextCursor} of the previous page, omitted for the first page
+     * @param size page size, capped at {@code registration.listing.max-page-size}
+     * @return 200 OK with the page of users and the cursor of the next page
+     */
+    @GetMapping
+    public ResponseEntity<UserPageResponse> listUsers(@RequestParam(required = false) Long after,
+                                                      @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(userService.listUsers(after, size));
+    }
+
+    /**
+     * Finds the usernames starting with a prefix: {@code GET /api/users?prefix=}.
+     * Mapped on the collection so that no sub-path shadows a username.
+     * 
+     * @param prefix the case-sensitive username prefix
+     * @param limit maximum number of usernames, capped at {@code registration.username-index.max-limit}
+     * @return 200 OK with the matching usernames in lexicographic order
+     */
+    @GetMapping(params = "prefix")
+    public ResponseEntity<UsernameSearchResponse> searchUsernames(@RequestParam String prefix,
+                                                                  @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(userService.searchUsernames(prefix, limit));
+    }
+
+    /**
+     * Retrieves user details by username, with a strong ETag.
+     * When {@code If-None-Match} holds the current ETag, answers 304 without loading or serializing the user.
+     * Otherwise the pre-serialized JSON body is written straight to the response, bypassing message conversion.
      * 
      * @param username the username to search for
-     * @return 200 OK with user details
+     * @param ifNoneMatch the ETags the client already has, if any
+     * @param response the servlet response the body is written to: 200 OK with user details, or 304 Not Modified
      */
     @GetMapping("/{username}")
-    public ResponseEntity<UserResponse> getUserDetails(@PathVariable String username) {
-        UserResponse response = userService.getUserDetails(username);
+    public void getUserDetails(@PathVariable String username,
+                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) List<String> ifNoneMatch,
+                               HttpServletResponse response) throws IOException {
+        if (ifNoneMatch != null && !ifNoneMatch.isEmpty()) {
+            Optional<String> etag = userService.getUserDetailsETag(username);
+            if (etag.isPresent() && matches(ifNoneMatch, etag.get())) {
+                response.setStatus(HttpStatus.NOT_MODIFIED.value());
+                response.setHeader(HttpHeaders.ETAG, etag.get());
+                return;
+            }
+        }
+        SerializedUser user = userService.getUserDetailsJson(username);
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(user.body().length);
+        response.setHeader(HttpHeaders.ETAG, user.etag());
+        response.getOutputStream().write(user.body());
+    }
+
+    /**
+     * Tells whether a username is still free: neither registered nor reserved by a queued write-behind registration.
+     * 
+     * @param username the username to check
+     * @return 200 OK with the availability of the username
+     */
+    @GetMapping("/{username}/availability")
+    public ResponseEntity<UsernameAvailabilityResponse> getUsernameAvailability(@PathVariable String username) {
+        boolean available = !writeBehindRegistrations.isReserved(username)
+                && userService.isUsernameAvailable(username);
+        UsernameAvailabilityResponse response = UsernameAvailabilityResponse.builder()
+                .username(username)
+                .available(available)
+                .build();
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    /**
+     * If-None-Match uses the weak comparison, so {@code W/"1-0"} matches {@code "1-0"}.
+     */
+    private static boolean matches(List<String> ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag) || (tag.startsWith("W/") && tag.substring(2).equals(etag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,36 +1,141 @@
 package com.userapi.registration.domain.policy;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
-import java.time.Period;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * User registration business rules.
+ * The rules live in an immutable snapshot holding the adult cutoff date of the current day
+ * (born on or before it = adult) and the normalized allowed countries, so evaluating them is a couple of comparisons.
+ * The snapshot is rebuilt when the clock passes midnight in the clock's zone, and replaced by {@link #reload};
+ * readers never lock, they only read an {@link AtomicReference}.
  */
 public class RegistrationPolicies {
 
-    private static final int MINIMUM_AGE = 18;
-    private static final String FRANCE = "France";
+    private final Clock clock;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
 
-    public static boolean isAdult(LocalDate birthdate) {
+    public RegistrationPolicies(Clock clock, int minimumAge, Collection<String> allowedCountries) {
+        this.clock = clock;
+        reload(minimumAge, allowedCountries);
+    }
+
+    public boolean isAdult(LocalDate birthdate) {
         if (birthdate == null) {
             return false;
         }
-        int age = Period.between(birthdate, LocalDate.now()).getYears();
-        return age >= MINIMUM_AGE;
+        return !birthdate.isAfter(current().adultCutoff());
     }
 
-    public static boolean isFrenchResident(String countryOfResidence) {
-        if (countryOfResidence == null || countryOfResidence.isBlank()) {
+    /**
+     * Matches the trimmed country case-insensitively against the allowed countries, without allocating.
+     */
+    public boolean isAllowedCountry(String countryOfResidence) {
+        if (countryOfResidence == null) {
             return false;
         }
-        return FRANCE.equalsIgnoreCase(countryOfResidence.trim());
+        int start = 0;
+        int end = countryOfResidence.length();
+        while (start < end && Character.isWhitespace(countryOfResidence.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(countryOfResidence.charAt(end - 1))) {
+            end--;
+        }
+
+        int length = end - start;
+        for (String allowed : snapshot.get().allowedCountries()) {
+            if (allowed.length() == length && countryOfResidence.regionMatches(true, start, allowed, 0, length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Atomically replaces the rules. Requests already evaluating keep the previous rules.
+     *
+     * @throws IllegalArgumentException if the minimum age is negative or no country is allowed
+     */
+    public void reload(int minimumAge, Collection<String> allowedCountries) {
+        if (minimumAge < 0) {
+            throw new IllegalArgumentException("Minimum age must not be negative");
+        }
+        // Normalized name -> name as configured, first spelling wins
+        Map<String, String> countries = new LinkedHashMap<>();
+        for (String country : allowedCountries) {
+            if (country != null && !country.isBlank()) {
+                countries.putIfAbsent(country.trim().toLowerCase(Locale.ROOT), country.trim());
+            }
+        }
+        if (countries.isEmpty()) {
+            throw new IllegalArgumentException("At least one country must be allowed");
+        }
+
+        snapshot.set(Snapshot.of(minimumAge, countries.keySet().toArray(String[]::new),
+                countries.values().toArray(String[]::new), clock));
     }
 
-    public static int getMinimumAge() {
-        return MINIMUM_AGE;
+    public int getMinimumAge() {
+        return snapshot.get().minimumAge();
     }
 
-    public static String getFrance() {
-        return FRANCE;
+    /**
+     * @return the allowed countries, trimmed and lower-cased
+     */
+    public List<String> getAllowedCountries() {
+        return List.of(snapshot.get().allowedCountries());
+    }
+
+    /**
+     * @return the allowed countries as configured (trimmed), for messages
+     */
+    public List<String> getAllowedCountryNames() {
+        return List.of(snapshot.get().countryNames());
+    }
+
+    /**
+     * @return the latest birthdate that counts as adult today
+     */
+    public LocalDate getAdultCutoff() {
+        return current().adultCutoff();
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot.get();
+        long now = clock.millis();
+        if (now >= current.validFrom() && now < current.validUntil()) {
+            return current;
+        }
+        Snapshot today = Snapshot.of(current.minimumAge(), current.allowedCountries(), current.countryNames(), clock);
+        // A failed CAS means a reload or another rollover won: either way the stored snapshot is current
+        return snapshot.compareAndSet(current, today) ? today : snapshot.get();
+    }
+
+    /**
+     * Rules precomputed for one day: valid for clock instants in [validFrom, validUntil).
+     */
+    private record Snapshot(int minimumAge, String[] allowedCountries, String[] countryNames, LocalDate adultCutoff,
+                            long validFrom, long validUntil) {
+
+        static Snapshot of(int minimumAge, String[] allowedCountries, String[] countryNames, Clock clock) {
+            ZoneId zone = clock.getZone();
+            LocalDate today = LocalDate.ofInstant(Instant.ofEpochMilli(clock.millis()), zone);
+            return new Snapshot(
+                    minimumAge,
+                    allowedCountries,
+                    countryNames,
+                    today.minusYears(minimumAge),
+                    today.atStartOfDay(zone).toInstant().toEpochMilli(),
+                    today.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli());
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,22 @@
+package com.userapi.registration.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response of a batch registration: counters plus one result per submitted item, in request order.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRegistrationResponse {
+
+    private int created;
+    private int rejected;
+    private List<BatchRegistrationResult> results;
+}
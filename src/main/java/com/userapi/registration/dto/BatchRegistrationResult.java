@@ -0,0 +1,29 @@
+package com.userapi.registration.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a single item of a batch registration.
+ * Either {@code user} is set (CREATED) or {@code errorCode}/{@code message} are set (REJECTED).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRegistrationResult {
+
+    public enum Status {
+        CREATED,
+        REJECTED
+    }
+
+    private int index;
+    private String username;
+    private Status status;
+    private UserResponse user;
+    private String errorCode;
+    private String message;
+}
@@ -0,0 +1,23 @@
+package com.userapi.registration.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegistrationPolicyResponse {
+
+    private int minimumAge;
+    private List<String> allowedCountries;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate adultCutoff;
+}
@@ -0,0 +1,30 @@
+package com.userapi.registration.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * State of a registration accepted in write-behind mode, looked up by its ticket.
+ * {@code user} is set once CREATED, {@code errorCode}/{@code message} once REJECTED.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegistrationStatusResponse {
+
+    public enum Status {
+        PENDING,
+        CREATED,
+        REJECTED
+    }
+
+    private String ticket;
+    private String username;
+    private Status status;
+    private UserResponse user;
+    private String errorCode;
+    private String message;
+}
@@ -0,0 +1,22 @@
+package com.userapi.registration.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPageResponse {
+
+    private List<UserResponse> users;
+
+    /**
+     * Value of {@code after} for the next page, {@code null} on the last page.
+     */
+    private Long nextCursor;
+}
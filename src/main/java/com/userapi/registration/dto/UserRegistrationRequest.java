@@ -2,6 +2,8 @@ package com.userapi.registration.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.userapi.registration.entity.Gender;
+import com.userapi.registration.logging.Sensitive;
+import com.userapi.registration.validation.NationalPhoneNumberCountry;
 import com.userapi.registration.validation.ValidPhoneNumber;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -17,6 +19,7 @@ import java.time.LocalDate;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@NationalPhoneNumberCountry
 public class UserRegistrationRequest {
 
     @NotBlank(message = "Username is required")
@@ -30,6 +33,7 @@ public class UserRegistrationRequest {
     @NotBlank(message = "Country of residence is required")
     private String countryOfResidence;
 
+    @Sensitive
     @ValidPhoneNumber
     @Size(max = 20, message = "Phone number cannot exceed 20 characters")
     private String phoneNumber;
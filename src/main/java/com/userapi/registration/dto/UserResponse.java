@@ -1,6 +1,8 @@
 package com.userapi.registration.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.userapi.registration.entity.Gender;
+import com.userapi.registration.logging.Sensitive;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -18,6 +20,12 @@ public class UserResponse {
     private String username;
     private LocalDate birthdate;
     private String countryOfResidence;
+    @Sensitive
     private String phoneNumber;
     private Gender gender;
+    /**
+     * Entity version, sent as part of the ETag header rather than in the body
+     */
+    @JsonIgnore
+    private Long version;
 }
\ No newline at end of file
@@ -19,8 +19,13 @@ import java.time.LocalDate;
 @AllArgsConstructor
 public class User {
 
+    /**
+     * Sequence-backed so Hibernate can assign ids up front and group inserts into JDBC batches
+     * (IDENTITY forces one round trip per row).
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -42,15 +47,28 @@ public class User {
     private String countryOfResidence;
 
     /**
-     * Phone number - optional field
+     * Phone number in E.164 form (+33612345678) - optional field
      */
-    @Column(length = 20)
+    @Column(length = 16)
     private String phoneNumber;
 
+    /**
+     * Digits of the E.164 phone number (33612345678), for cheap lookups and comparisons
+     */
+    @Column(name = "phone_digits")
+    private Long phoneDigits;
+
     /**
      * Gender - optional field
      */
     @Enumerated(EnumType.STRING)
     @Column(length = 10)
     private Gender gender;
+
+    /**
+     * Version - incremented by Hibernate on each update, part of the ETag of the user's details
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.userapi.registration.exception;
+
+public class BatchTooLargeException extends BusinessRuleException {
+
+    private static final String CODE = "ERR_BATCH_TOO_LARGE";
+
+    public BatchTooLargeException(int size, int maxSize) {
+        super("Batch of " + size + " registrations exceeds the maximum of " + maxSize, CODE);
+    }
+}
@@ -2,17 +2,19 @@ package com.userapi.registration.exception;
 
 /**
  * Base exception for all business rule violations.
+ * Rejections are an expected outcome that is answered with an error code and never logged with a stack trace,
+ * so these exceptions skip capturing one (and suppression), which makes throwing them cheap.
  */
 public abstract class BusinessRuleException extends RuntimeException {
     
     private final String errorCode;
 
     protected BusinessRuleException(String message, String errorCode) {
-        super(message);
+        super(message, null, false, false);
         this.errorCode = errorCode;
     }
 
     public String getErrorCode() {
         return errorCode;
     }
-}
\ No newline at end of file
+}
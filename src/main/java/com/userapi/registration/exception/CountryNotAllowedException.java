@@ -0,0 +1,13 @@
+package com.userapi.registration.exception;
+
+import java.util.List;
+
+public class CountryNotAllowedException extends BusinessRuleException {
+    
+    // Kept from the France-only rule: clients match on it
+    private static final String CODE = "ERR_RULE_COUNTRY_FR";
+
+    public CountryNotAllowedException(List<String> allowedCountries) {
+        super("Only residents of " + String.join(", ", allowedCountries) + " can register", CODE);
+    }
+}
@@ -7,6 +7,9 @@ public enum ErrorCode {
     ERR_USER_NOT_FOUND("ERR_USER_NOT_FOUND"),
     ERR_RULE_AGE_MIN("ERR_RULE_AGE_MIN"),
     ERR_RULE_COUNTRY_FR("ERR_RULE_COUNTRY_FR"),
+    ERR_BATCH_TOO_LARGE("ERR_BATCH_TOO_LARGE"),
+    ERR_REGISTRATION_QUEUE_FULL("ERR_REGISTRATION_QUEUE_FULL"),
+    ERR_TICKET_NOT_FOUND("ERR_TICKET_NOT_FOUND"),
     ERR_INTERNAL("ERR_INTERNAL");
 
     private final String code;
@@ -1,20 +1,26 @@
 package com.userapi.registration.exception;
 
+import java.time.LocalDate;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import com.userapi.registration.dto.ErrorResponse;
 
+import tools.jackson.databind.exc.MismatchedInputException;
+
 import jakarta.servlet.http.HttpServletRequest;
 
 /**
@@ -26,6 +32,19 @@ public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
     private static final String CORRELATION_ID_KEY = "correlationId";
+    private static final String REJECTIONS_METRIC = "registration.rejections";
+    private static final String RETRY_AFTER_SECONDS = "1";
+    private static final String MALFORMED_JSON_MESSAGE = "Malformed JSON request";
+    private static final String INVALID_DATE_MESSAGE =
+            "Invalid date format for 'birthdate'. Expected format: yyyy-MM-dd (example: 2000-01-15)";
+    private static final String INVALID_GENDER_MESSAGE =
+            "Invalid gender value. Accepted values: MALE, FEMALE, OTHER (case insensitive)";
+
+    private final MeterRegistry meterRegistry;
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
 
     @ExceptionHandler(UserAlreadyExistsException.class)
     public ResponseEntity<ErrorResponse> handleUserAlreadyExists(
@@ -41,6 +60,34 @@ public class GlobalExceptionHandler {
         return buildResponse(HttpStatus.NOT_FOUND, ex.getErrorCode(), ex.getMessage(), request, null);
     }
 
+    @ExceptionHandler(BatchTooLargeException.class)
+    public ResponseEntity<ErrorResponse> handleBatchTooLarge(
+            BatchTooLargeException ex, HttpServletRequest request) {
+        logger.warn("Batch rejected: {}", ex.getMessage());
+        return buildResponse(HttpStatus.CONTENT_TOO_LARGE, ex.getErrorCode(), ex.getMessage(), request, null);
+    }
+
+    @ExceptionHandler(RegistrationTicketNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleRegistrationTicketNotFound(
+            RegistrationTicketNotFoundException ex, HttpServletRequest request) {
+        logger.warn("Registration ticket not found: {}", ex.getMessage());
+        return buildResponse(HttpStatus.NOT_FOUND, ex.getErrorCode(), ex.getMessage(), request, null);
+    }
+
+    /**
+     * The write-behind queue stayed full: the client is asked to come back once it has drained.
+     */
+    @ExceptionHandler(RegistrationQueueFullException.class)
+    public ResponseEntity<ErrorResponse> handleRegistrationQueueFull(
+            RegistrationQueueFullException ex, HttpServletRequest request) {
+        logger.warn("Registration refused: {}", ex.getMessage());
+        ResponseEntity<ErrorResponse> response =
+                buildResponse(HttpStatus.SERVICE_UNAVAILABLE, ex.getErrorCode(), ex.getMessage(), request, null);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body(response.getBody());
+    }
+
     @ExceptionHandler(BusinessRuleException.class)
     public ResponseEntity<ErrorResponse> handleBusinessRuleViolation(
             BusinessRuleException ex, HttpServletRequest request) {
@@ -64,6 +111,19 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(MissingServletRequestParameterException.class)
+    public ResponseEntity<ErrorResponse> handleMissingParameter(
+            MissingServletRequestParameterException ex, HttpServletRequest request) {
+        logger.warn("Missing request parameter: {}: {}", request.getRequestURI(), ex.getParameterName());
+        return buildResponse(
+                HttpStatus.BAD_REQUEST,
+                ErrorCode.ERR_VALIDATION.getCode(),
+                "Input validation failed",
+                request,
+                Map.of(ex.getParameterName(), "Parameter is required")
+        );
+    }
+
     /**
      * Handles JSON parsing errors from Jackson deserialization.
      * Provides user-friendly error messages for invalid formats, types, or enum values.
@@ -72,22 +132,12 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handleJsonParseError(
             HttpMessageNotReadableException ex, HttpServletRequest request) {
 
-        String message = "Malformed JSON request";
-        String fullMessage = ex.getMessage() != null ? ex.getMessage() : "";
-        String lowerMessage = fullMessage.toLowerCase();
-
-        // Analyze the full message to determine the type of error
-        if (lowerMessage.contains("localdate")) {
-            message = "Invalid date format for 'birthdate'. Expected format: yyyy-MM-dd (example: 2000-01-15)";
-        } 
-        else if (lowerMessage.contains("gender") || lowerMessage.contains("enum")) {
-            message = "Invalid gender value. Accepted values: MALE, FEMALE, OTHER (case insensitive)";
-        }
+        String message = describeParseError(ex);
 
         logger.warn("JSON parse error on {}: UserMessage='{}' | TechnicalCause='{}'", 
             request.getRequestURI(), 
             message, 
-            fullMessage
+            ex.getMessage()
         );
 
         return buildResponse(
@@ -99,6 +149,26 @@ public class GlobalExceptionHandler {
         );
     }
 
+    /**
+     * Picks the user message from the type Jackson failed to read, found on the {@link MismatchedInputException}
+     * in the cause chain, rather than from the text of the exception message.
+     */
+    static String describeParseError(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MismatchedInputException mismatch && mismatch.getTargetType() != null) {
+                Class<?> targetType = mismatch.getTargetType();
+                if (targetType == LocalDate.class) {
+                    return INVALID_DATE_MESSAGE;
+                }
+                if (targetType.isEnum()) {
+                    return INVALID_GENDER_MESSAGE;
+                }
+                break;
+            }
+        }
+        return MALFORMED_JSON_MESSAGE;
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(
             Exception ex, HttpServletRequest request) {
@@ -117,6 +187,11 @@ public class GlobalExceptionHandler {
                                                         String message,
                                                         HttpServletRequest request,
                                                         Map<String, String> validationErrors) {
+        if (isRejection(status)) {
+            meterRegistry.counter(REJECTIONS_METRIC, "errorCode", errorCode, "status", String.valueOf(status.value()))
+                    .increment();
+        }
+
         ErrorResponse errorResponse = new ErrorResponse(
                 status.value(),
                 status.getReasonPhrase(),
@@ -134,6 +209,14 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(status).body(errorResponse);
     }
 
+    /**
+     * Only client errors count as rejections: a lookup of an unknown user (404) is not a refused registration,
+     * and server errors (5xx) are failures of the service rather than of the request.
+     */
+    private static boolean isRejection(HttpStatus status) {
+        return status.is4xxClientError() && status != HttpStatus.NOT_FOUND;
+    }
+
     private Map<String, String> extractValidationErrors(MethodArgumentNotValidException ex) {
         Map<String, String> validationErrors = new LinkedHashMap<>();
         ex.getBindingResult().getFieldErrors().forEach(error -> {
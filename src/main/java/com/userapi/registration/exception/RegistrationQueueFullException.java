@@ -0,0 +1,10 @@
+package com.userapi.registration.exception;
+
+public class RegistrationQueueFullException extends BusinessRuleException {
+
+    private static final String CODE = "ERR_REGISTRATION_QUEUE_FULL";
+
+    public RegistrationQueueFullException() {
+        super("Too many registrations in progress, please retry shortly", CODE);
+    }
+}
@@ -0,0 +1,10 @@
+package com.userapi.registration.exception;
+
+public class RegistrationTicketNotFoundException extends BusinessRuleException {
+
+    private static final String CODE = "ERR_TICKET_NOT_FOUND";
+
+    public RegistrationTicketNotFoundException(String ticket) {
+        super("Registration ticket '" + ticket + "' not found or expired", CODE);
+    }
+}
@@ -4,7 +4,7 @@ public class UserNotAdultException extends BusinessRuleException {
     
     private static final String CODE = "ERR_RULE_AGE_MIN";
 
-    public UserNotAdultException() {
-        super("User must be at least 18 years old", CODE);
+    public UserNotAdultException(int minimumAge) {
+        super("User must be at least " + minimumAge + " years old", CODE);
     }
 }
\ No newline at end of file
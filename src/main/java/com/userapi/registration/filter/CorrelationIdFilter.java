@@ -1,7 +1,6 @@
 package com.userapi.registration.filter;
 
 import java.io.IOException;
-import java.util.UUID;
 
 import org.slf4j.MDC;
 import org.springframework.core.annotation.Order;
@@ -20,6 +19,12 @@ public class CorrelationIdFilter extends OncePerRequestFilter {
     private static final String CORRELATION_ID_HEADER = "X-Correlation-Id";
     private static final String CORRELATION_ID_MDC_KEY = "correlationId";
 
+    private final CorrelationIdGenerator correlationIdGenerator;
+
+    public CorrelationIdFilter(CorrelationIdGenerator correlationIdGenerator) {
+        this.correlationIdGenerator = correlationIdGenerator;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
@@ -27,7 +32,7 @@ public class CorrelationIdFilter extends OncePerRequestFilter {
         String correlationId = request.getHeader(CORRELATION_ID_HEADER);
         
         if (correlationId == null || correlationId.trim().isEmpty()) {
-            correlationId = UUID.randomUUID().toString();
+            correlationId = correlationIdGenerator.nextId();
         }
 
         MDC.put(CORRELATION_ID_MDC_KEY, correlationId);
@@ -0,0 +1,11 @@
+package com.userapi.registration.filter;
+
+/**
+ * Format of generated correlation IDs ({@code registration.correlation-id.format}).
+ */
+public enum CorrelationIdFormat {
+    /** Time-ordered, 26 characters: see {@link UlidCorrelationIdGenerator}. */
+    ULID,
+    /** Random UUID: see {@link UuidCorrelationIdGenerator}. */
+    UUID
+}
@@ -0,0 +1,10 @@
+package com.userapi.registration.filter;
+
+/**
+ * Creates the correlation ID of requests that arrive without an {@code X-Correlation-Id} header.
+ * Implementations are called concurrently from every request thread.
+ */
+public interface CorrelationIdGenerator {
+
+    String nextId();
+}
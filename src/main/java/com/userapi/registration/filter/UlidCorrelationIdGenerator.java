@@ -0,0 +1,44 @@
+package com.userapi.registration.filter;
+
+import java.time.Clock;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * ULIDs: a 48-bit millisecond timestamp followed by 80 random bits, written as 26 Crockford base32 characters
+ * ({@code 01JA8Z6S41...}). IDs created in different milliseconds sort lexicographically by creation time,
+ * which keeps log searches by correlation ID in time order.
+ * Randomness comes from {@link ThreadLocalRandom}, so threads share no state and never contend.
+ */
+public class UlidCorrelationIdGenerator implements CorrelationIdGenerator {
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int LENGTH = 26;
+    private static final int TIMESTAMP_LENGTH = 10;
+    private static final long MASK_40_BITS = (1L << 40) - 1;
+
+    private final Clock clock;
+
+    public UlidCorrelationIdGenerator(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public String nextId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[] id = new char[LENGTH];
+        encode(clock.millis(), id, 0, TIMESTAMP_LENGTH);
+        encode(random.nextLong() & MASK_40_BITS, id, TIMESTAMP_LENGTH, 8);
+        encode(random.nextLong() & MASK_40_BITS, id, TIMESTAMP_LENGTH + 8, 8);
+        return new String(id);
+    }
+
+    /**
+     * Writes the low {@code 5 * count} bits of {@code value} as {@code count} base32 characters, most significant first.
+     */
+    private static void encode(long value, char[] target, int offset, int count) {
+        for (int i = offset + count - 1; i >= offset; i--) {
+            target[i] = ALPHABET[(int) (value & 31)];
+            value >>>= 5;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.userapi.registration.filter;
+
+import java.util.UUID;
+
+/**
+ * Random UUIDs, as generated before ULIDs were introduced.
+ * Every call goes through the JVM-wide {@code SecureRandom}, which becomes a contention point at high request rates.
+ */
+public class UuidCorrelationIdGenerator implements CorrelationIdGenerator {
+
+    @Override
+    public String nextId() {
+        return UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,89 @@
+package com.userapi.registration.index;
+
+import com.userapi.registration.repository.UserRepository;
+import com.userapi.registration.sharding.OnEachShard;
+import com.userapi.registration.sharding.UserShards;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * In-memory Bloom filter of registered usernames, used to skip the database when a username is certainly free.
+ * The filter is loaded from the users table once the application is ready and fed by every successful save.
+ * Until it is loaded (or when {@code registration.username-filter.enabled=false}) every username
+ * "might exist", so callers always fall back to the database.
+ */
+@Component
+public class RegisteredUsernameFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegisteredUsernameFilter.class);
+
+    private final UserRepository userRepository;
+    private final UserShards shards;
+    private final boolean enabled;
+    private final BloomFilter filter;
+    private final AtomicInteger loadedShards = new AtomicInteger();
+    private volatile boolean loaded;
+
+    public RegisteredUsernameFilter(UserRepository userRepository,
+                                    UserShards shards,
+                                    @Value("${registration.username-filter.enabled:true}") boolean enabled,
+                                    @Value("${registration.username-filter.expected-insertions:1000000}") long expectedInsertions,
+                                    @Value("${registration.username-filter.false-positive-probability:0.01}") double falsePositiveProbability) {
+        this.userRepository = userRepository;
+        this.shards = shards;
+        this.enabled = enabled;
+        this.filter = enabled ? new BloomFilter(expectedInsertions, falsePositiveProbability) : null;
+    }
+
+    /**
+     * Loads every registered username into the filter, one shard per call. The filter is used once all shards
+     * are loaded. Usernames saved concurrently are added by {@link #add}, so none can be missed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @OnEachShard
+    @Transactional(readOnly = true)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+        long count = 0;
+        try (Stream<String> usernames = userRepository.streamAllUsernames()) {
+            // Not peek().count(): count() may skip the pipeline of a sized stream, leaving the filter empty
+            Iterator<String> iterator = usernames.iterator();
+            while (iterator.hasNext()) {
+                filter.put(iterator.next());
+                count++;
+            }
+        }
+        loaded = loadedShards.incrementAndGet() == shards.count();
+        logger.info("Username filter loaded: usernames={} bits={} hashes={} duration={}ms",
+                count, filter.getBitCount(), filter.getHashCount(), (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    /**
+     * @return {@code false} only if the username is certainly not registered
+     */
+    public boolean mightExist(String username) {
+        return !loaded || filter.mightContain(username);
+    }
+
+    /**
+     * Records a newly saved username. Adding a username whose transaction later rolls back only costs
+     * a false positive, never a wrong "free" answer.
+     */
+    public void add(String username) {
+        if (enabled) {
+            filter.put(username);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.userapi.registration.index;
+
+import com.userapi.registration.repository.UserRepository;
+import com.userapi.registration.sharding.OnEachShard;
+import com.userapi.registration.sharding.UserShards;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * In-memory sorted index of registered usernames, used to answer prefix searches without the database.
+ * A search seeks to the first username not lower than the prefix and reads forward while the prefix still matches,
+ * so it costs O(log n) plus the number of results, whatever the number of users.
+ * The index is loaded from the users table once the application is ready and fed with every committed registration.
+ * Until it is loaded (or when {@code registration.username-index.enabled=false}) {@link #isReady()} is
+ * {@code false} and callers query the database instead.
+ */
+@Component
+public class UsernamePrefixIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(UsernamePrefixIndex.class);
+
+    private final UserRepository userRepository;
+    private final UserShards shards;
+    private final boolean enabled;
+    private final NavigableSet<String> usernames = new ConcurrentSkipListSet<>();
+    private final AtomicInteger loadedShards = new AtomicInteger();
+    private volatile boolean loaded;
+
+    public UsernamePrefixIndex(UserRepository userRepository,
+                               UserShards shards,
+                               @Value("${registration.username-index.enabled:true}") boolean enabled) {
+        this.userRepository = userRepository;
+        this.shards = shards;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Loads every registered username into the index, one shard per call; the index is ready once all shards
+     * are loaded. Usernames committed concurrently are added by {@link #add}, so none can be missed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @OnEachShard
+    @Transactional(readOnly = true)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+        try (Stream<String> all = userRepository.streamAllUsernames()) {
+            all.forEach(usernames::add);
+        }
+        loaded = loadedShards.incrementAndGet() == shards.count();
+        logger.info("Username index loaded: usernames={} duration={}ms",
+                usernames.size(), (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    /**
+     * @return {@code true} once the index holds every registered username
+     */
+    public boolean isReady() {
+        return loaded;
+    }
+
+    /**
+     * Records a username whose registration has been committed.
+     */
+    public void add(String username) {
+        if (enabled) {
+            usernames.add(username);
+        }
+    }
+
+    /**
+     * Returns the usernames starting with {@code prefix} (case-sensitive), in lexicographic order.
+     *
+     * @param prefix the username prefix, the empty string matching every username
+     * @param limit the maximum number of usernames to return
+     */
+    public List<String> search(String prefix, int limit) {
+        List<String> matches = new ArrayList<>(Math.min(limit, 64));
+        for (String username : usernames.tailSet(prefix, true)) {
+            if (matches.size() == limit || !username.startsWith(prefix)) {
+                break;
+            }
+            matches.add(username);
+        }
+        return matches;
+    }
+
+    public int size() {
+        return usernames.size();
+    }
+}
@@ -0,0 +1,210 @@
+package com.userapi.registration.logging;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous log mode of the logging aspects ({@code registration.logging.async.enabled=true}).
+ * Request threads only publish a {@link LogEvent} to a bounded lock-free ring buffer; a single background thread
+ * drains it in batches of up to {@code registration.logging.async.batch-size}, formats each event as one JSON line
+ * and flushes the batch to {@code registration.logging.async.file}.
+ * When the buffer is full, {@code registration.logging.async.overflow-policy} decides between dropping the event
+ * and waiting for a free slot. Published, dropped and written events are counted in {@code registration.logging.events}.
+ */
+@Component
+public class AsyncLogPipeline implements InitializingBean, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncLogPipeline.class);
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long BLOCKED_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final String METRIC_NAME = "registration.logging.events";
+
+    private final boolean enabled;
+    private final OverflowPolicy overflowPolicy;
+    private final int batchSize;
+    private final Path file;
+    private final MpscRingBuffer<LogEvent> buffer;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+
+    private volatile boolean closed;
+    private Thread consumer;
+
+    public AsyncLogPipeline(@Value("${registration.logging.async.enabled:false}") boolean enabled,
+                            @Value("${registration.logging.async.capacity:8192}") int capacity,
+                            @Value("${registration.logging.async.overflow-policy:DROP}") OverflowPolicy overflowPolicy,
+                            @Value("${registration.logging.async.batch-size:256}") int batchSize,
+                            @Value("${registration.logging.async.file:logs/registration-events.jsonl}") String file,
+                            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.overflowPolicy = overflowPolicy;
+        this.batchSize = batchSize;
+        this.file = Path.of(file);
+        this.buffer = new MpscRingBuffer<>(capacity);
+
+        FunctionCounter.builder(METRIC_NAME, published, LongAdder::doubleValue).tag("result", "published")
+                .register(meterRegistry);
+        FunctionCounter.builder(METRIC_NAME, dropped, LongAdder::doubleValue).tag("result", "dropped")
+                .register(meterRegistry);
+        FunctionCounter.builder(METRIC_NAME, written, LongAdder::doubleValue).tag("result", "written")
+                .register(meterRegistry);
+        Gauge.builder("registration.logging.buffer.size", buffer, MpscRingBuffer::size).register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Hands an event over to the consumer thread. With {@link OverflowPolicy#DROP} this never waits.
+     */
+    public void publish(LogEvent event) {
+        while (!buffer.offer(event)) {
+            if (overflowPolicy == OverflowPolicy.DROP || closed) {
+                dropped.increment();
+                return;
+            }
+            LockSupport.parkNanos(BLOCKED_PARK_NANOS);
+        }
+        published.increment();
+    }
+
+    public long getPublishedCount() {
+        return published.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (enabled) {
+            start();
+        }
+    }
+
+    /**
+     * Stops the consumer once every event already published has been written.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        if (consumer == null) {
+            return;
+        }
+        closed = true;
+        LockSupport.unpark(consumer);
+        consumer.join();
+        consumer = null;
+    }
+
+    // Package-private so that tests can fill the buffer before the consumer runs
+    void start() {
+        consumer = Thread.ofPlatform().name("log-pipeline").daemon(true).start(this::consume);
+    }
+
+    private void consume() {
+        StringBuilder line = new StringBuilder(256);
+        try (Writer writer = open()) {
+            while (true) {
+                boolean stopping = closed;
+                int count = 0;
+                LogEvent event;
+                while (count < batchSize && (event = buffer.poll()) != null) {
+                    line.setLength(0);
+                    appendJson(line, event);
+                    writer.append(line).append('\n');
+                    count++;
+                }
+                if (count > 0) {
+                    writer.flush();
+                    written.add(count);
+                } else if (stopping) {
+                    return; // the flag is read before draining, so every event published before destroy() is written
+                } else {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+        } catch (IOException ex) {
+            logger.error("Log pipeline stopped, cannot write {}", file, ex);
+            closed = true;
+            for (LogEvent event = buffer.poll(); event != null; event = buffer.poll()) {
+                dropped.increment();
+            }
+        }
+    }
+
+    private Writer open() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        return Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    static void appendJson(StringBuilder sb, LogEvent event) {
+        sb.append("{\"ts\":\"").append(Instant.ofEpochMilli(event.timestampMillis())).append('"');
+        appendField(sb, "source", event.source());
+        appendField(sb, "type", event.type());
+        appendField(sb, "method", event.method());
+        appendField(sb, "httpMethod", event.httpMethod());
+        appendField(sb, "uri", event.uri());
+        if (event.status() != 0) {
+            sb.append(",\"status\":").append(event.status());
+        }
+        sb.append(",\"durationMicros\":").append(event.durationNanos() / 1_000);
+        sb.append(",\"outcome\":\"").append(event.exception() == null ? "SUCCESS" : "FAIL").append('"');
+        appendField(sb, "exception", event.exception());
+        appendField(sb, "correlationId", event.correlationId());
+        sb.append('}');
+    }
+
+    private static void appendField(StringBuilder sb, String name, String value) {
+        if (value == null) {
+            return;
+        }
+        sb.append(",\"").append(name).append("\":\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        sb.append('"');
+    }
+}
@@ -0,0 +1,21 @@
+package com.userapi.registration.logging;
+
+/**
+ * One API or service call, as published by the logging aspects to the {@link AsyncLogPipeline}.
+ * Holds references to strings that already exist on the request thread; formatting happens on the consumer thread.
+ *
+ * @param timestampMillis epoch milliseconds at the end of the call
+ * @param source {@code "api"} or {@code "service"}
+ * @param type simple name of the called class
+ * @param method name of the called method
+ * @param httpMethod HTTP method, {@code null} outside HTTP calls
+ * @param uri request URI, {@code null} outside HTTP calls
+ * @param status HTTP status, {@code 0} when unknown
+ * @param durationNanos call duration
+ * @param exception simple name of the thrown exception, {@code null} on success
+ * @param correlationId correlation ID of the request, if any
+ */
+public record LogEvent(long timestampMillis, String source, String type, String method,
+                       String httpMethod, String uri, int status, long durationNanos,
+                       String exception, String correlationId) {
+}
@@ -0,0 +1,11 @@
+package com.userapi.registration.logging;
+
+/**
+ * What a request thread does when the {@link AsyncLogPipeline} buffer is full.
+ */
+public enum OverflowPolicy {
+    /** Discard the event and count it as dropped: logging never slows requests down. */
+    DROP,
+    /** Wait for the consumer to free a slot: no event is lost, at the cost of request latency. */
+    BLOCK
+}
@@ -0,0 +1,18 @@
+package com.userapi.registration.logging;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks a field whose value must be masked in logs: only the first {@link #keepFirst()} and
+ * last {@link #keepLast()} characters are written ({@code 0612345678} becomes {@code 06***5678}),
+ * and values too short to keep both ends become {@code ***}.
+ */
+@Target({ElementType.FIELD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Sensitive {
+
+    int keepFirst() default 2;
+
+    int keepLast() default 4;
+}
@@ -0,0 +1,138 @@
+package com.userapi.registration.offheap;
+
+import com.userapi.registration.dto.CacheStatsResponse;
+import com.userapi.registration.dto.UserResponse;
+import com.userapi.registration.repository.UserRepository;
+import com.userapi.registration.sharding.UserShards;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Every registered user, packed off-heap in an {@link OffHeapUserTable}, so that user details are read without the
+ * database and without keeping millions of objects on the heap.
+ * Loaded from the users table once the application is ready (keyset pages of DTO projections, so no entity is kept
+ * in a persistence context) and fed with every committed registration.
+ * Until it is loaded, or with {@code registration.off-heap-users.enabled=false} (the default), {@link #find} returns
+ * {@code null} and callers use the cache and the database instead; they also do for users the table could not pack.
+ * Direct memory is limited by {@code -XX:MaxDirectMemorySize}, which defaults to the maximum heap size.
+ */
+@Component
+public class OffHeapUserDataset {
+
+    private static final Logger logger = LoggerFactory.getLogger(OffHeapUserDataset.class);
+    private static final int LOAD_PAGE_SIZE = 10_000;
+
+    private final UserRepository userRepository;
+    private final UserShards shards;
+    private final boolean enabled;
+    private final OffHeapUserTable table;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private volatile boolean loaded;
+
+    public OffHeapUserDataset(UserRepository userRepository,
+                              UserShards shards,
+                              MeterRegistry meterRegistry,
+                              @Value("${registration.off-heap-users.enabled:false}") boolean enabled,
+                              @Value("${registration.off-heap-users.expected-users:1000000}") int expectedUsers) {
+        this.userRepository = userRepository;
+        this.shards = shards;
+        this.enabled = enabled;
+        this.table = enabled ? new OffHeapUserTable(expectedUsers) : null;
+        if (enabled) {
+            Gauge.builder("registration.users.off-heap.bytes", table, OffHeapUserTable::offHeapBytes)
+                    .description("Direct memory held by the off-heap user dataset")
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+            Gauge.builder("registration.users.off-heap.size", table, OffHeapUserTable::size)
+                    .description("Users held by the off-heap user dataset")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Loads every registered user into the table, shard after shard.
+     * Users committed concurrently are added by {@link #put}; the table keeps the highest version of each.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+        LongAdder skipped = new LongAdder();
+        shards.forEachShard(() -> loadShard(skipped));
+        loaded = true;
+        logger.info("Off-heap user dataset loaded: users={} skipped={} offHeapBytes={} duration={}ms",
+                table.size(), skipped.sum(), table.offHeapBytes(), (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    private void loadShard(LongAdder skipped) {
+        long after = 0;
+        List<UserResponse> page;
+        do {
+            page = userRepository.findPageAfter(after, PageRequest.ofSize(LOAD_PAGE_SIZE));
+            for (UserResponse user : page) {
+                if (!table.put(user)) {
+                    skipped.increment();
+                }
+            }
+            if (!page.isEmpty()) {
+                after = page.getLast().getId();
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+    }
+
+    /**
+     * @return {@code true} once the table holds every registered user it can pack
+     */
+    public boolean isReady() {
+        return loaded;
+    }
+
+    /**
+     * Returns the details of a user, or {@code null} if they must be read elsewhere
+     * (dataset disabled or not loaded yet, unknown username, user not packed).
+     */
+    public UserResponse find(String username) {
+        if (!loaded) {
+            return null;
+        }
+        UserResponse user = table.get(username);
+        (user == null ? misses : hits).increment();
+        return user;
+    }
+
+    /**
+     * Records a user whose registration has been committed.
+     */
+    public void put(UserResponse user) {
+        if (enabled && !table.put(user)) {
+            logger.warn("Off-heap user dataset: user id={} cannot be packed, it will be read from the database",
+                    user.getId());
+        }
+    }
+
+    public CacheStatsResponse stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+        return CacheStatsResponse.builder()
+                .name("user-off-heap")
+                .size(enabled ? table.size() : 0)
+                .hitCount(hitCount)
+                .missCount(missCount)
+                .hitRate(requests == 0 ? 1.0 : (double) hitCount / requests)
+                .build();
+    }
+}
@@ -0,0 +1,316 @@
+package com.userapi.registration.offheap;
+
+import com.userapi.registration.dto.UserResponse;
+import com.userapi.registration.entity.Gender;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Users packed in direct (off-heap) memory, looked up by username.
+ * Each user is a fixed 48-byte record in 3MB blocks:
+ * {@code id | version | phone digits | username address | birthdate (epoch day) | country code | username length | gender},
+ * the birthdate as an epoch day, the phone number as its E.164 digits, the gender as its ordinal and the country as a
+ * code in a small on-heap dictionary. Usernames are UTF-8 bytes in separate 4MB blocks.
+ * The index is an open-addressing table (linear probing, load factor at most 0.7) of {@code long} slots holding
+ * {@code hash << 32 | record number + 1}, so a probe compares usernames only when their hashes match.
+ *
+ * <p>The garbage collector sees a few hundred buffer objects whatever the number of users; a lookup allocates only
+ * the returned {@link UserResponse}. The index holds at most 2<sup>27</sup> slots, about 94 million users.
+ *
+ * <p>Writes are serialized; reads take no lock and are retried under a read lock if a write ran meanwhile.
+ */
+public final class OffHeapUserTable {
+
+    static final int RECORD_BYTES = 48;
+    static final int MAX_USERNAME_BYTES = 1024;
+
+    private static final int ID = 0;
+    private static final int VERSION = 8;
+    private static final int PHONE_DIGITS = 16;
+    private static final int USERNAME_ADDRESS = 24;
+    private static final int BIRTHDATE = 32;
+    private static final int COUNTRY = 36;
+    private static final int USERNAME_LENGTH = 38;
+    private static final int GENDER = 40;
+
+    private static final int RECORDS_PER_BLOCK = 1 << 16;
+    private static final int USERNAME_BLOCK_BYTES = 1 << 22;
+    private static final int MAX_SLOTS = 1 << 27;
+    private static final double MAX_LOAD_FACTOR = 0.7;
+    private static final long NO_PHONE = Long.MIN_VALUE;
+    private static final int NO_COUNTRY = 0xFFFF;
+    private static final Gender[] GENDERS = Gender.values();
+
+    private final StampedLock lock = new StampedLock();
+    private final Map<String, Integer> countryCodes = new HashMap<>();
+    private volatile String[] countries = new String[0];
+    private volatile ByteBuffer[] records = new ByteBuffer[0];
+    private volatile ByteBuffer[] usernames = new ByteBuffer[0];
+    private volatile ByteBuffer slots;
+    private int size;
+    private long usernameEnd;
+
+    /**
+     * @param expectedUsers number of users the index is sized for, it grows beyond as needed
+     */
+    public OffHeapUserTable(int expectedUsers) {
+        this.slots = ByteBuffer.allocateDirect(slotsFor(expectedUsers) * Long.BYTES);
+    }
+
+    /**
+     * Returns the user with this username, or {@code null} if the table does not hold it.
+     */
+    public UserResponse get(String username) {
+        byte[] key = username.getBytes(StandardCharsets.UTF_8);
+        int hash = hash(username);
+
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                UserResponse user = find(username, key, hash);
+                if (lock.validate(stamp)) {
+                    return user;
+                }
+            } catch (RuntimeException ex) {
+                // Inconsistent read of a table being written: retried below, rethrown there if it is genuine
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return find(username, key, hash);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Adds or replaces a user. A user already held with a higher version is kept.
+     *
+     * @return {@code false} if the user cannot be packed (missing id, version or birthdate, phone number not in
+     *         E.164 form, username over {@value #MAX_USERNAME_BYTES} bytes) or the table is full
+     */
+    public boolean put(UserResponse user) {
+        byte[] key = user.getUsername().getBytes(StandardCharsets.UTF_8);
+        long phoneDigits = packPhone(user.getPhoneNumber());
+        if (user.getId() == null || user.getVersion() == null || user.getBirthdate() == null
+                || key.length > MAX_USERNAME_BYTES || phoneDigits == NO_PHONE && user.getPhoneNumber() != null) {
+            return false;
+        }
+        int hash = hash(user.getUsername());
+
+        long stamp = lock.writeLock();
+        try {
+            int slot = probe(key, hash);
+            long found = slots.getLong(slot * Long.BYTES);
+            int record;
+            if (found != 0) {
+                record = (int) found - 1;
+                if (recordBlock(record).getLong(recordOffset(record) + VERSION) > user.getVersion()) {
+                    return true;
+                }
+            } else {
+                if (!ensureCapacity()) {
+                    return false;
+                }
+                record = size;
+                appendRecord(key);
+                // The table may have been resized: probe again for the free slot
+                slot = probe(key, hash);
+                slots.putLong(slot * Long.BYTES, (long) hash << 32 | (record + 1L));
+                size++;
+            }
+
+            ByteBuffer block = recordBlock(record);
+            int offset = recordOffset(record);
+            block.putLong(offset + ID, user.getId());
+            block.putLong(offset + VERSION, user.getVersion());
+            block.putLong(offset + PHONE_DIGITS, phoneDigits);
+            block.putInt(offset + BIRTHDATE, Math.toIntExact(user.getBirthdate().toEpochDay()));
+            block.putChar(offset + COUNTRY, (char) countryCode(user.getCountryOfResidence()));
+            block.put(offset + GENDER, user.getGender() == null ? -1 : (byte) user.getGender().ordinal());
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the direct memory held by records, usernames and index
+     */
+    public long offHeapBytes() {
+        return (long) records.length * RECORDS_PER_BLOCK * RECORD_BYTES
+                + (long) usernames.length * USERNAME_BLOCK_BYTES
+                + slots.capacity();
+    }
+
+    private UserResponse find(String username, byte[] key, int hash) {
+        int slot = probe(key, hash);
+        long found = slots.getLong(slot * Long.BYTES);
+        if (found == 0) {
+            return null;
+        }
+        int record = (int) found - 1;
+        ByteBuffer block = recordBlock(record);
+        int offset = recordOffset(record);
+        long phoneDigits = block.getLong(offset + PHONE_DIGITS);
+        int country = block.getChar(offset + COUNTRY);
+        byte gender = block.get(offset + GENDER);
+        return UserResponse.builder()
+                .id(block.getLong(offset + ID))
+                .username(username)
+                .birthdate(LocalDate.ofEpochDay(block.getInt(offset + BIRTHDATE)))
+                .countryOfResidence(country == NO_COUNTRY ? null : countries[country])
+                .phoneNumber(phoneDigits == NO_PHONE ? null : "+" + phoneDigits)
+                .gender(gender < 0 ? null : GENDERS[gender])
+                .version(block.getLong(offset + VERSION))
+                .build();
+    }
+
+    /**
+     * Returns the slot holding {@code key}, or the empty slot where it would be inserted.
+     */
+    private int probe(byte[] key, int hash) {
+        ByteBuffer table = slots;
+        int mask = table.capacity() / Long.BYTES - 1;
+        for (int i = 0, slot = hash & mask; i <= mask; i++, slot = (slot + 1) & mask) {
+            long value = table.getLong(slot * Long.BYTES);
+            if (value == 0 || (int) (value >>> 32) == hash && usernameEquals((int) value - 1, key)) {
+                return slot;
+            }
+        }
+        throw new IllegalStateException("Username index is full");
+    }
+
+    private boolean usernameEquals(int record, byte[] key) {
+        ByteBuffer block = recordBlock(record);
+        int offset = recordOffset(record);
+        if (block.getChar(offset + USERNAME_LENGTH) != key.length) {
+            return false;
+        }
+        long address = block.getLong(offset + USERNAME_ADDRESS);
+        ByteBuffer names = usernames[(int) (address / USERNAME_BLOCK_BYTES)];
+        return names.slice((int) (address % USERNAME_BLOCK_BYTES), key.length).equals(ByteBuffer.wrap(key));
+    }
+
+    /**
+     * Makes room for one more record and index entry, doubling the index when it would pass the load factor.
+     */
+    private boolean ensureCapacity() {
+        int capacity = slots.capacity() / Long.BYTES;
+        if (size + 1 <= capacity * MAX_LOAD_FACTOR) {
+            return true;
+        }
+        if (capacity == MAX_SLOTS) {
+            return false;
+        }
+        ByteBuffer resized = ByteBuffer.allocateDirect(capacity * 2 * Long.BYTES);
+        int mask = capacity * 2 - 1;
+        for (int i = 0; i < capacity; i++) {
+            long value = slots.getLong(i * Long.BYTES);
+            if (value != 0) {
+                int slot = (int) (value >>> 32) & mask;
+                while (resized.getLong(slot * Long.BYTES) != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                resized.putLong(slot * Long.BYTES, value);
+            }
+        }
+        slots = resized;
+        return true;
+    }
+
+    private void appendRecord(byte[] key) {
+        if (size == records.length * RECORDS_PER_BLOCK) {
+            ByteBuffer[] grown = Arrays.copyOf(records, records.length + 1);
+            grown[records.length] = ByteBuffer.allocateDirect(RECORDS_PER_BLOCK * RECORD_BYTES);
+            records = grown;
+        }
+        // A username never spans two blocks
+        int offsetInBlock = (int) (usernameEnd % USERNAME_BLOCK_BYTES);
+        if (usernameEnd == (long) usernames.length * USERNAME_BLOCK_BYTES
+                || offsetInBlock + key.length > USERNAME_BLOCK_BYTES) {
+            ByteBuffer[] grown = Arrays.copyOf(usernames, usernames.length + 1);
+            grown[usernames.length] = ByteBuffer.allocateDirect(USERNAME_BLOCK_BYTES);
+            usernames = grown;
+            usernameEnd = (long) (usernames.length - 1) * USERNAME_BLOCK_BYTES;
+            offsetInBlock = 0;
+        }
+        usernames[usernames.length - 1].put(offsetInBlock, key);
+
+        ByteBuffer block = recordBlock(size);
+        int offset = recordOffset(size);
+        block.putLong(offset + USERNAME_ADDRESS, usernameEnd);
+        block.putChar(offset + USERNAME_LENGTH, (char) key.length);
+        usernameEnd += key.length;
+    }
+
+    private int countryCode(String country) {
+        if (country == null) {
+            return NO_COUNTRY;
+        }
+        Integer code = countryCodes.get(country);
+        if (code == null) {
+            if (countryCodes.size() == NO_COUNTRY) {
+                throw new IllegalStateException("Too many distinct countries");
+            }
+            code = countryCodes.size();
+            countryCodes.put(country, code);
+            String[] grown = Arrays.copyOf(countries, code + 1);
+            grown[code] = country;
+            countries = grown;
+        }
+        return code;
+    }
+
+    private ByteBuffer recordBlock(int record) {
+        return records[record / RECORDS_PER_BLOCK];
+    }
+
+    private static int recordOffset(int record) {
+        return (record % RECORDS_PER_BLOCK) * RECORD_BYTES;
+    }
+
+    /**
+     * @return the digits of an E.164 number, or {@link #NO_PHONE} if there is none or it is not in E.164 form
+     */
+    private static long packPhone(String phoneNumber) {
+        if (phoneNumber == null || phoneNumber.length() < 2 || phoneNumber.length() > 16) {
+            return NO_PHONE;
+        }
+        try {
+            long digits = Long.parseLong(phoneNumber, 1, phoneNumber.length(), 10);
+            // Only numbers rebuilt exactly from their digits are packed ("+0..." or "++..." are not)
+            return phoneNumber.equals("+" + digits) ? digits : NO_PHONE;
+        } catch (NumberFormatException ex) {
+            return NO_PHONE;
+        }
+    }
+
+    /**
+     * Spreads {@link String#hashCode()} (cached by the string) over every bit, and never returns 0.
+     */
+    private static int hash(String username) {
+        int h = username.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h == 0 ? 1 : h;
+    }
+
+    private static int slotsFor(int expectedUsers) {
+        int needed = (int) Math.min(MAX_SLOTS, (long) Math.ceil(Math.max(expectedUsers, 16) / MAX_LOAD_FACTOR));
+        return Integer.highestOneBit(needed - 1) << 1;
+    }
+}
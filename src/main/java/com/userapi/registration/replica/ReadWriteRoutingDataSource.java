@@ -0,0 +1,38 @@
+package com.userapi.registration.replica;
+
+import com.userapi.registration.replica.ReplicaContext.Target;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+
+/**
+ * Hands out replica connections to read-only transactions and primary connections to everything else, unless
+ * {@link ReplicaContext} forces one of them.
+ * The read-only flag is only known once the transaction has started, so this data source must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which picks the connection on the
+ * first statement rather than when the transaction begins.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Target forced = ReplicaContext.current();
+        if (forced != null) {
+            return forced;
+        }
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Target.REPLICA : Target.PRIMARY;
+    }
+
+    /**
+     * Closes the primary and replica connection pools.
+     */
+    @Override
+    public void close() throws Exception {
+        for (DataSource dataSource : getResolvedDataSources().values()) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.userapi.registration.replica;
+
+import com.userapi.registration.replica.ReplicaContext.Target;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.Map;
+
+/**
+ * Read replica ({@code replica} profile): a write pool on {@code spring.datasource.url} and a separately sized read
+ * pool on {@code registration.replica.url}, behind a {@link ReadWriteRoutingDataSource} that the JPA persistence
+ * unit uses. {@link UserReplica} keeps the replica in sync.
+ */
+@Configuration
+@Profile("replica")
+public class ReplicaConfiguration {
+
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(
+            @Value("${spring.datasource.url}") String primaryUrl,
+            @Value("${registration.replica.url}") String replicaUrl,
+            @Value("${spring.datasource.username:sa}") String username,
+            @Value("${spring.datasource.password:}") String password,
+            @Value("${registration.replica.primary-pool-size:10}") int primaryPoolSize,
+            @Value("${registration.replica.pool-size:20}") int replicaPoolSize) {
+        HikariDataSource primary = pool("primary", primaryUrl, username, password, primaryPoolSize);
+        HikariDataSource replica = pool("replica", replicaUrl, username, password, replicaPoolSize);
+        ReadWriteRoutingDataSource dataSource = new ReadWriteRoutingDataSource();
+        dataSource.setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        dataSource.setDefaultTargetDataSource(primary);
+        return dataSource;
+    }
+
+    /**
+     * The data source of the application. Connection defaults are set up front so that starting a transaction never
+     * fetches a connection before the read-only flag is known.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return dataSource;
+    }
+
+    private static HikariDataSource pool(String name, String url, String username, String password, int size) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        pool.setJdbcUrl(url);
+        pool.setUsername(username);
+        pool.setPassword(password);
+        pool.setMaximumPoolSize(size);
+        return pool;
+    }
+}
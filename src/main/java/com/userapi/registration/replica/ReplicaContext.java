@@ -0,0 +1,46 @@
+package com.userapi.registration.replica;
+
+/**
+ * Database forced on the current thread, read by {@link ReadWriteRoutingDataSource} when a connection is used.
+ * Without one, read-only transactions go to the replica and everything else to the primary.
+ * Usage: {@code Target previous = ReplicaContext.enter(Target.PRIMARY); try { ... } finally { ReplicaContext.restore(previous); }}
+ */
+public final class ReplicaContext {
+
+    public enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    private static final ThreadLocal<Target> CURRENT = new ThreadLocal<>();
+
+    /**
+     * @return the database forced on the current thread, or {@code null} if none was entered
+     */
+    public static Target current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Forces {@code target} from now on.
+     *
+     * @return the database forced until now, to pass to {@link #restore}
+     */
+    public static Target enter(Target target) {
+        Target previous = CURRENT.get();
+        CURRENT.set(target);
+        return previous;
+    }
+
+    public static void restore(Target previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    private ReplicaContext() {
+        // Utility class
+    }
+}
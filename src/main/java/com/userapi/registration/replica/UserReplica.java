@@ -0,0 +1,307 @@
+package com.userapi.registration.replica;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.userapi.registration.dto.UserResponse;
+import com.userapi.registration.replica.ReplicaContext.Target;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the read replica of the users table in sync with the primary ({@code registration.replica.enabled=true},
+ * set by the {@code replica} profile), and sends the reads of recently registered users to the primary.
+ * <ul>
+ *     <li>At startup the replica schema is recreated and every user copied from the primary.</li>
+ *     <li>Each committed registration queues the user's id; a background thread reads the queued users from the
+ *     primary in batches of {@code registration.replica.batch-size} and merges them into the replica. When the
+ *     queue ({@code registration.replica.queue-capacity}) is full, the next pass copies every user again.</li>
+ *     <li>For {@code registration.replica.read-your-writes-window} after a registration, lookups of that username
+ *     read the primary, so that a client always sees its own registration whatever the replica lag.</li>
+ * </ul>
+ * The lag (age of the oldest committed registration not on the replica yet) is the
+ * {@code registration.replica.lag} gauge. When disabled, {@link #read} just runs its query.
+ */
+@Component
+public class UserReplica implements SmartInitializingSingleton, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserReplica.class);
+    private static final long POLL_MILLIS = 100;
+
+    private static final ResultSetExtractor<Rows> ROWS = UserReplica::rows;
+
+    private record PendingWrite(long id, long committedNanos) {
+    }
+
+    /**
+     * Rows of the users table, read with {@code select *}, so that the replica copies every column as is.
+     */
+    private record Rows(List<String> columns, List<Object[]> values) {
+
+        long lastId() {
+            for (int column = 0; column < columns.size(); column++) {
+                if ("id".equalsIgnoreCase(columns.get(column))) {
+                    return ((Number) values.getLast()[column]).longValue();
+                }
+            }
+            throw new IllegalStateException("No id column in " + columns);
+        }
+    }
+
+    private final boolean enabled;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final int batchSize;
+    private final BlockingQueue<PendingWrite> pending;
+    private final Cache<String, Boolean> recentWrites;
+    private final AtomicBoolean copyAllRequested = new AtomicBoolean();
+    private final LongAdder replicated = new LongAdder();
+    private final LongAdder primaryReads = new LongAdder();
+    private volatile long applyingSinceNanos;
+    private volatile boolean closed;
+    private Thread applier;
+
+    public UserReplica(DataSource dataSource,
+                       EntityManagerFactory entityManagerFactory,
+                       MeterRegistry meterRegistry,
+                       @Value("${registration.replica.enabled:false}") boolean enabled,
+                       @Value("${registration.replica.read-your-writes-window:5s}") Duration readYourWritesWindow,
+                       @Value("${registration.replica.batch-size:500}") int batchSize,
+                       @Value("${registration.replica.queue-capacity:100000}") int queueCapacity) {
+        this.enabled = enabled;
+        this.jdbcTemplate = enabled ? new JdbcTemplate(dataSource) : null;
+        this.entityManagerFactory = entityManagerFactory;
+        this.batchSize = batchSize;
+        this.pending = new LinkedBlockingQueue<>(queueCapacity);
+        this.recentWrites = Caffeine.newBuilder().expireAfterWrite(readYourWritesWindow).build();
+        if (enabled) {
+            TimeGauge.builder("registration.replica.lag", this, TimeUnit.SECONDS, UserReplica::lagSeconds)
+                    .description("Age of the oldest committed registration not replicated yet")
+                    .register(meterRegistry);
+            Gauge.builder("registration.replica.pending", pending, BlockingQueue::size)
+                    .description("Committed registrations waiting to be replicated")
+                    .register(meterRegistry);
+            FunctionCounter.builder("registration.replica.replicated", replicated, LongAdder::doubleValue)
+                    .description("Users merged into the replica")
+                    .register(meterRegistry);
+            FunctionCounter.builder("registration.replica.primary-reads", primaryReads, LongAdder::doubleValue)
+                    .description("Lookups sent to the primary by the read-your-writes window")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Recreates the replica from the primary, before the application starts loading its indexes from it.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        onReplica(() -> {
+            entityManagerFactory.getSchemaManager().drop(true);
+            entityManagerFactory.getSchemaManager().create(true);
+        });
+        logger.info("Replica initialized: users={}", copyAll());
+        applier = Thread.ofPlatform().name("replica-sync").daemon(true).start(this::apply);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (applier == null) {
+            return;
+        }
+        closed = true;
+        applier.interrupt();
+        applier.join();
+        applier = null;
+    }
+
+    /**
+     * Records a user whose registration has been committed on the primary.
+     */
+    public void recordWrite(UserResponse user) {
+        if (!enabled) {
+            return;
+        }
+        recentWrites.put(user.getUsername(), Boolean.TRUE);
+        if (!pending.offer(new PendingWrite(user.getId(), System.nanoTime()))) {
+            copyAllRequested.set(true);
+        }
+    }
+
+    /**
+     * Runs a lookup of {@code username}, on the primary if the user registered within the read-your-writes window.
+     */
+    public <T> T read(String username, Supplier<T> query) {
+        if (!enabled || recentWrites.getIfPresent(username) == null) {
+            return query.get();
+        }
+        primaryReads.increment();
+        return onPrimary(query);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the age in seconds of the oldest committed registration not on the replica yet, 0 when in sync
+     */
+    public double lagSeconds() {
+        long oldest = applyingSinceNanos;
+        PendingWrite next = pending.peek();
+        if (oldest == 0 && next != null) {
+            oldest = next.committedNanos();
+        }
+        return oldest == 0 ? 0 : (System.nanoTime() - oldest) / 1e9;
+    }
+
+    private void apply() {
+        List<PendingWrite> batch = new ArrayList<>(batchSize);
+        while (!closed) {
+            try {
+                if (copyAllRequested.getAndSet(false)) {
+                    applyingSinceNanos = System.nanoTime();
+                    pending.clear();
+                    logger.warn("Replica copied again from the primary: users={}", copyAll());
+                }
+                PendingWrite first = pending.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    pending.drainTo(batch, batchSize - 1);
+                    applyingSinceNanos = first.committedNanos();
+                    copy(batch.stream().map(PendingWrite::id).toList());
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                logger.error("Replica sync failed, every user will be copied again", ex);
+                copyAllRequested.set(true);
+            } finally {
+                batch.clear();
+                applyingSinceNanos = 0;
+            }
+        }
+    }
+
+    /**
+     * Copies every user from the primary to the replica, in keyset pages.
+     *
+     * @return the number of users copied
+     */
+    private long copyAll() {
+        long copied = 0;
+        long after = 0;
+        Rows page;
+        do {
+            long afterId = after;
+            page = onPrimary(() -> jdbcTemplate.query(
+                    "select * from users where id > ? order by id limit ?", ROWS, afterId, batchSize));
+            merge(page);
+            copied += page.values().size();
+            after = page.values().isEmpty() ? after : page.lastId();
+        } while (page.values().size() == batchSize);
+        return copied;
+    }
+
+    private void copy(List<Long> ids) {
+        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+        merge(onPrimary(() -> jdbcTemplate.query(
+                "select * from users where id in (" + placeholders + ")", ROWS, ids.toArray())));
+    }
+
+    private static Rows rows(ResultSet resultSet) throws SQLException {
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        List<String> columns = new ArrayList<>(metaData.getColumnCount());
+        for (int column = 1; column <= metaData.getColumnCount(); column++) {
+            columns.add(metaData.getColumnLabel(column));
+        }
+        List<Object[]> values = new ArrayList<>();
+        while (resultSet.next()) {
+            Object[] row = new Object[columns.size()];
+            for (int column = 0; column < row.length; column++) {
+                row[column] = resultSet.getObject(column + 1);
+            }
+            values.add(row);
+        }
+        return new Rows(columns, values);
+    }
+
+    /**
+     * Upserts rows of the primary into the replica, in one transaction.
+     */
+    private void merge(Rows rows) {
+        if (rows.values().isEmpty()) {
+            return;
+        }
+        String sql = "merge into users (" + String.join(",", rows.columns()) + ") key (id) values ("
+                + String.join(",", Collections.nCopies(rows.columns().size(), "?")) + ")";
+        onReplica(() -> jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (Object[] row : rows.values()) {
+                    for (int column = 0; column < row.length; column++) {
+                        statement.setObject(column + 1, row[column]);
+                    }
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                connection.commit();
+            } catch (SQLException ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+            return null;
+        }));
+        replicated.add(rows.values().size());
+    }
+
+    private static <T> T onPrimary(Supplier<T> action) {
+        Target previous = ReplicaContext.enter(Target.PRIMARY);
+        try {
+            return action.get();
+        } finally {
+            ReplicaContext.restore(previous);
+        }
+    }
+
+    private static void onReplica(Runnable action) {
+        Target previous = ReplicaContext.enter(Target.REPLICA);
+        try {
+            action.run();
+        } finally {
+            ReplicaContext.restore(previous);
+        }
+    }
+}
@@ -1,18 +1,100 @@
 package com.userapi.registration.repository;
 
+import com.userapi.registration.cache.UserVersion;
+import com.userapi.registration.dto.UserResponse;
 import com.userapi.registration.entity.User;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Repository for User entity operations.
+ * Only the CRUD methods the application uses are exposed (Spring Data routes them to its JPA implementation), so
+ * that other backends such as {@code MappedFileUserRepository} can implement the whole interface.
+ * Lookups run in their own read-only transaction (Spring Data leaves declared queries non-transactional), so that
+ * they go to the read replica when there is one; inside a read-write transaction they join it and use the primary.
  */
-@Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends Repository<User, Long> {
 
+    <S extends User> S save(S user);
+
+    <S extends User> List<S> saveAll(Iterable<S> users);
+
+    <S extends User> S saveAndFlush(S user);
+
+    void flush();
+
+    Optional<User> findById(Long id);
+
+    boolean existsById(Long id);
+
+    List<User> findAll();
+
+    long count();
+
+    void deleteById(Long id);
+
+    void deleteAll();
+
+    @Transactional(readOnly = true)
     Optional<User> findByUsername(String username);
 
     boolean existsByUsername(String username);
-}
\ No newline at end of file
+
+    /**
+     * Returns the id and version of a user, without loading the entity.
+     */
+    @Transactional(readOnly = true)
+    @Query("select new com.userapi.registration.cache.UserVersion(u.id, u.version) from User u where u.username = :username")
+    Optional<UserVersion> findVersionByUsername(@Param("username") String username);
+
+    /**
+     * Returns the subset of the given usernames that are already registered, in a single query.
+     */
+    @Query("select u.username from User u where u.username in :usernames")
+    Set<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    /**
+     * Streams every registered username. Must be consumed inside a transaction and closed.
+     */
+    @Query("select u.username from User u")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    Stream<String> streamAllUsernames();
+
+    /**
+     * Returns the registered usernames starting with {@code prefix}, in lexicographic order.
+     * Used for prefix searches while the in-memory username index is not available.
+     * {@code escapedPrefix} must have {@code \\}, {@code %} and {@code _} escaped with a backslash.
+     */
+    @Transactional(readOnly = true)
+    @Query("""
+            select u.username from User u
+            where u.username like concat(:prefix, '%') escape '\\'
+            order by u.username""")
+    List<String> findUsernamesStartingWith(@Param("prefix") String escapedPrefix, Limit limit);
+
+    /**
+     * Returns the users with an id greater than {@code afterId}, in id order, projected straight to
+     * {@link UserResponse} (no entity is loaded). Keyset paging: the primary key index finds the start of the page
+     * directly, so every page costs the same whatever its depth. Only {@code pageable}'s size is meant to be used.
+     */
+    @Transactional(readOnly = true)
+    @Query("""
+            select new com.userapi.registration.dto.UserResponse(
+                u.id, u.username, u.birthdate, u.countryOfResidence, u.phoneNumber, u.gender, u.version)
+            from User u
+            where u.id > :afterId
+            order by u.id""")
+    List<UserResponse> findPageAfter(@Param("afterId") long afterId, Pageable pageable);
+}
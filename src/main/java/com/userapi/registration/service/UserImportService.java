@@ -0,0 +1,168 @@
+package com.userapi.registration.service;
+
+import com.userapi.registration.dto.BatchRegistrationResult;
+import com.userapi.registration.dto.UserRegistrationRequest;
+import com.userapi.registration.exception.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams NDJSON registration imports.
+ * Records are read one line at a time and registered in chunks of {@code registration.import.chunk-size}
+ * through {@link UserService#registerBatch}, so each chunk is validated, checked and committed on its own.
+ * One result line is written per non-blank input line, with {@code index} set to the 1-based line number,
+ * and the output is flushed after every chunk: memory use only depends on the chunk size and on
+ * {@code registration.import.max-line-length}, beyond which a line is skipped and rejected as malformed.
+ * The chunk size may not exceed {@code registration.batch.max-size}: the application refuses to start otherwise,
+ * since a rejected chunk would only surface once the response is committed.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserImportService implements InitializingBean {
+
+    private static final byte NEW_LINE = '\n';
+    private static final String MALFORMED_RECORD_MESSAGE = "Malformed JSON record";
+
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${registration.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${registration.batch.max-size:1000}")
+    private int maxBatchSize;
+
+    @Value("${registration.import.max-line-length:8192}")
+    private int maxLineLength;
+
+    @Override
+    public void afterPropertiesSet() {
+        if (chunkSize < 1 || chunkSize > maxBatchSize) {
+            throw new IllegalStateException("registration.import.chunk-size must be between 1 and "
+                    + "registration.batch.max-size (" + maxBatchSize + "), got " + chunkSize);
+        }
+        if (maxLineLength < 1) {
+            throw new IllegalStateException("registration.import.max-line-length must be positive, got "
+                    + maxLineLength);
+        }
+    }
+
+    /**
+     * Imports the NDJSON records of {@code input} and writes one NDJSON result per record to {@code output}.
+     *
+     * @param input NDJSON stream of {@link UserRegistrationRequest}
+     * @param output stream receiving one {@link BatchRegistrationResult} line per record
+     * @throws IOException if reading the input or writing the output fails
+     */
+    public void importUsers(InputStream input, OutputStream output) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        List<PendingLine> chunk = new ArrayList<>(chunkSize);
+        StringBuilder line = new StringBuilder();
+        int lineNumber = 0;
+
+        while (readLine(reader, line)) {
+            lineNumber++;
+            if (line.length() > maxLineLength) {
+                chunk.add(rejected(lineNumber, "Record exceeds " + maxLineLength + " characters"));
+            } else {
+                String record = line.toString();
+                if (record.isBlank()) {
+                    continue;
+                }
+                chunk.add(parse(lineNumber, record));
+            }
+            if (chunk.size() == chunkSize) {
+                processChunk(chunk, output);
+                chunk.clear();
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            processChunk(chunk, output);
+        }
+    }
+
+    /**
+     * Reads the next line into {@code line}, without its terminator. Unlike {@link BufferedReader#readLine()},
+     * at most {@code maxLineLength + 1} characters are kept: the rest of a longer line is read and dropped,
+     * so that a line without a newline cannot exhaust the heap.
+     *
+     * @return {@code false} at the end of the input
+     */
+    private boolean readLine(Reader reader, StringBuilder line) throws IOException {
+        line.setLength(0);
+        int c = reader.read();
+        if (c == -1) {
+            return false;
+        }
+        while (c != -1 && c != NEW_LINE) {
+            if (line.length() <= maxLineLength) {
+                line.append((char) c);
+            }
+            c = reader.read();
+        }
+        if (!line.isEmpty() && line.charAt(line.length() - 1) == '\r') {
+            line.setLength(line.length() - 1);
+        }
+        return true;
+    }
+
+    private PendingLine parse(int lineNumber, String line) {
+        try {
+            return new PendingLine(lineNumber, objectMapper.readValue(line, UserRegistrationRequest.class), null);
+        } catch (JacksonException ex) {
+            return rejected(lineNumber, MALFORMED_RECORD_MESSAGE);
+        }
+    }
+
+    private static PendingLine rejected(int lineNumber, String message) {
+        BatchRegistrationResult rejection = BatchRegistrationResult.builder()
+                .status(BatchRegistrationResult.Status.REJECTED)
+                .errorCode(ErrorCode.ERR_JSON_PARSE.getCode())
+                .message(message)
+                .build();
+        return new PendingLine(lineNumber, null, rejection);
+    }
+
+    private void processChunk(List<PendingLine> chunk, OutputStream output) throws IOException {
+        List<UserRegistrationRequest> requests = new ArrayList<>(chunk.size());
+        for (PendingLine pending : chunk) {
+            if (pending.parseError() == null) {
+                requests.add(pending.request());
+            }
+        }
+
+        List<BatchRegistrationResult> results = requests.isEmpty()
+                ? List.of()
+                : userService.registerBatch(requests).getResults();
+
+        int next = 0;
+        for (PendingLine pending : chunk) {
+            BatchRegistrationResult result = pending.parseError() != null ? pending.parseError() : results.get(next++);
+            result.setIndex(pending.lineNumber());
+            output.write(objectMapper.writeValueAsBytes(result));
+            output.write(NEW_LINE);
+        }
+        output.flush();
+    }
+
+    /**
+     * A line read from the upload: either a parsed request or the rejection caused by malformed JSON.
+     */
+    private record PendingLine(int lineNumber, UserRegistrationRequest request, BatchRegistrationResult parseError) {
+    }
+}
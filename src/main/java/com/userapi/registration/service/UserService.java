@@ -1,19 +1,57 @@
 package com.userapi.registration.service;
 
+import com.userapi.registration.cache.SerializedUser;
+import com.userapi.registration.cache.UserDetailsCache;
+import com.userapi.registration.cache.UserJsonCache;
+import com.userapi.registration.cache.UserVersion;
+import com.userapi.registration.cache.UserVersionIndex;
 import com.userapi.registration.domain.policy.RegistrationPolicies;
+import com.userapi.registration.dto.BatchRegistrationResponse;
+import com.userapi.registration.dto.BatchRegistrationResult;
+import com.userapi.registration.dto.UserPageResponse;
 import com.userapi.registration.dto.UserRegistrationRequest;
 import com.userapi.registration.dto.UserResponse;
+import com.userapi.registration.dto.UsernameSearchResponse;
 import com.userapi.registration.entity.User;
-import com.userapi.registration.exception.NonFrenchResidentException;
+import com.userapi.registration.exception.BatchTooLargeException;
+import com.userapi.registration.exception.BusinessRuleException;
+import com.userapi.registration.exception.CountryNotAllowedException;
+import com.userapi.registration.exception.ErrorCode;
 import com.userapi.registration.exception.UserAlreadyExistsException;
 import com.userapi.registration.exception.UserNotAdultException;
 import com.userapi.registration.exception.UserNotFoundException;
+import com.userapi.registration.index.RegisteredUsernameFilter;
+import com.userapi.registration.index.UsernamePrefixIndex;
+import com.userapi.registration.offheap.OffHeapUserDataset;
+import com.userapi.registration.replica.UserReplica;
 import com.userapi.registration.repository.UserRepository;
+import com.userapi.registration.sharding.ShardedByUsername;
+import com.userapi.registration.sharding.UserShards;
+import com.userapi.registration.validation.PhoneNumbers;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Service handling user registration and retrieval operations.
@@ -22,53 +60,327 @@ import java.time.LocalDate;
 @RequiredArgsConstructor
 public class UserService {
 
+    private static final String UNIQUE_VIOLATION_SQL_STATE = "23505";
+
     private final UserRepository userRepository;
+    private final Validator validator;
+    private final RegisteredUsernameFilter usernameFilter;
+    private final UserDetailsCache userDetailsCache;
+    private final RegistrationPolicies registrationPolicies;
+    private final UsernamePrefixIndex usernameIndex;
+    private final UserVersionIndex userVersionIndex;
+    private final UserJsonCache userJsonCache;
+    private final OffHeapUserDataset offHeapUsers;
+    private final UserShards shards;
+    private final UserReplica userReplica;
+    private final TransactionOperations transactionOperations;
+
+    @Value("${registration.batch.max-size:1000}")
+    private int maxBatchSize;
+
+    @Value("${registration.uniqueness-check:QUERY}")
+    private UsernameUniquenessCheck uniquenessCheck;
+
+    @Value("${registration.listing.default-page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${registration.listing.max-page-size:500}")
+    private int maxPageSize;
+
+    @Value("${registration.username-index.default-limit:10}")
+    private int defaultSearchLimit;
+
+    @Value("${registration.username-index.max-limit:100}")
+    private int maxSearchLimit;
 
     /**
      * Registers a new user after validating business rules.
+     * Username uniqueness is either queried up front or left to the unique constraint,
+     * depending on {@code registration.uniqueness-check}.
      * 
      * @param request the registration request containing user data
      * @return the created user details
      * @throws UserNotAdultException if user is under 18 years old
-     * @throws NonFrenchResidentException if user is not a French resident
+     * @throws CountryNotAllowedException if user does not live in an allowed country
      * @throws UserAlreadyExistsException if username already exists
      */
     @Transactional
+    @ShardedByUsername
     public UserResponse register(UserRegistrationRequest request) {
         validateBusinessRules(request);
 
-        if (userRepository.existsByUsername(request.getUsername())) {
-            throw new UserAlreadyExistsException(request.getUsername());
+        User savedUser = uniquenessCheck == UsernameUniquenessCheck.CONSTRAINT
+                ? insertRelyingOnConstraint(request)
+                : checkThenInsert(request);
+        usernameFilter.add(savedUser.getUsername());
+
+        UserResponse response = mapToResponse(savedUser);
+        afterCommit(() -> publishRegistered(response));
+        return response;
+    }
+
+    /**
+     * Registers a list of users in one transaction.
+     * Each item goes through Bean Validation and the business rules, usernames are checked in a
+     * single query, and accepted users are inserted as JDBC batches. Rejected items do not prevent
+     * the others from being created.
+     * A username registered concurrently between the check and the insert rolls the transaction back;
+     * the batch is then run once more in a new transaction, checking every username against the database,
+     * so that this item is reported as a conflict.
+     * 
+     * @param requests the registration requests, in client order
+     * @return one result per request, in the same order
+     * @throws BatchTooLargeException if the list exceeds {@code registration.batch.max-size}
+     */
+    @ShardedByUsername
+    public BatchRegistrationResponse registerBatch(List<UserRegistrationRequest> requests) {
+        if (requests.size() > maxBatchSize) {
+            throw new BatchTooLargeException(requests.size(), maxBatchSize);
         }
+        try {
+            return transactionOperations.execute(status -> insertBatch(requests, false));
+        } catch (DataIntegrityViolationException ex) {
+            if (!isUniqueViolation(ex)) {
+                throw ex;
+            }
+            return transactionOperations.execute(status -> insertBatch(requests, true));
+        }
+    }
 
-        User user = User.builder()
-                .username(request.getUsername())
-                .birthdate(request.getBirthdate())
-                .countryOfResidence(request.getCountryOfResidence())
-                .phoneNumber(request.getPhoneNumber())
-                .gender(request.getGender())
-                .build();
+    /**
+     * @param checkAllUsernames query the database for every username, rather than only for those the username
+     *                          filter has seen: a username registered by another instance is not in this filter
+     */
+    private BatchRegistrationResponse insertBatch(List<UserRegistrationRequest> requests, boolean checkAllUsernames) {
+        BatchRegistrationResult[] results = new BatchRegistrationResult[requests.size()];
+        Map<String, Integer> candidates = new LinkedHashMap<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            UserRegistrationRequest request = requests.get(i);
+            BatchRegistrationResult rejection = checkBatchItem(i, request);
+            if (rejection != null) {
+                results[i] = rejection;
+            } else if (candidates.putIfAbsent(request.getUsername(), i) != null) {
+                results[i] = rejected(i, request.getUsername(), new UserAlreadyExistsException(request.getUsername()));
+            }
+        }
+
+        Set<String> toCheck = candidates.keySet().stream()
+                .filter(username -> checkAllUsernames || usernameFilter.mightExist(username))
+                .collect(Collectors.toSet());
+        Set<String> existing = toCheck.isEmpty()
+                ? Set.of()
+                : userRepository.findExistingUsernames(toCheck);
+
+        List<User> toSave = new ArrayList<>(candidates.size());
+        List<Integer> savedIndexes = new ArrayList<>(candidates.size());
+        candidates.forEach((username, index) -> {
+            if (existing.contains(username)) {
+                results[index] = rejected(index, username, new UserAlreadyExistsException(username));
+            } else {
+                toSave.add(toEntity(requests.get(index)));
+                savedIndexes.add(index);
+            }
+        });
+
+        List<User> savedUsers = userRepository.saveAll(toSave);
+        userRepository.flush();
 
-        User savedUser = userRepository.save(user);
+        for (int i = 0; i < savedUsers.size(); i++) {
+            int index = savedIndexes.get(i);
+            User savedUser = savedUsers.get(i);
+            usernameFilter.add(savedUser.getUsername());
+            UserResponse response = mapToResponse(savedUser);
+            afterCommit(() -> publishRegistered(response));
+            results[index] = BatchRegistrationResult.builder()
+                    .index(index)
+                    .username(savedUser.getUsername())
+                    .status(BatchRegistrationResult.Status.CREATED)
+                    .user(response)
+                    .build();
+        }
+
+        return BatchRegistrationResponse.builder()
+                .created(savedUsers.size())
+                .rejected(results.length - savedUsers.size())
+                .results(Arrays.asList(results))
+                .build();
+    }
 
-        return mapToResponse(savedUser);
+    /**
+     * Tells whether a username can still be registered.
+     * Answered from the username filter when the name is certainly free, from the database otherwise.
+     * Not transactional so that the filter path never acquires a connection.
+     * 
+     * @param username the username to check
+     * @return {@code true} if no user is registered with this username
+     */
+    @ShardedByUsername
+    public boolean isUsernameAvailable(String username) {
+        return !usernameFilter.mightExist(username) || !userRepository.existsByUsername(username);
     }
 
     /**
      * Retrieves user details by username.
+     * Served from {@link OffHeapUserDataset} when it is enabled and holds the user, from {@link UserDetailsCache}
+     * otherwise; the database is only queried on a cache miss, through the repository's own read-only transaction,
+     * so cache hits never acquire a connection. With a read replica that query goes to the replica, or to the primary
+     * within the read-your-writes window of {@link UserReplica}.
      * 
      * @param username the username to search for
      * @return the user details
      * @throws UserNotFoundException if no user found with given username
      */
-    @Transactional(readOnly = true)
+    @ShardedByUsername
     public UserResponse getUserDetails(String username) {
-        return userRepository.findByUsername(username)
-                .map(this::mapToResponse)
-                .orElseThrow(() -> new UserNotFoundException(username));
+        UserResponse packed = offHeapUsers.find(username);
+        if (packed != null) {
+            return packed;
+        }
+        return userDetailsCache.get(username,
+                name -> userReplica.read(name, () -> userRepository.findByUsername(name)).map(this::mapToResponse));
+    }
+
+    /**
+     * Retrieves user details by username, serialized to JSON with their ETag.
+     * Served from {@link UserJsonCache}; on a miss the details come from {@link #getUserDetails} and are serialized once.
+     * 
+     * @param username the username to search for
+     * @return the JSON body and ETag of the user details
+     * @throws UserNotFoundException if no user found with given username
+     */
+    @ShardedByUsername
+    public SerializedUser getUserDetailsJson(String username) {
+        return userJsonCache.get(username, this::getUserDetails);
+    }
+
+    /**
+     * Returns the ETag of a user's details, for conditional GETs.
+     * Taken from {@link UserJsonCache} when the user is there, from {@link UserVersionIndex} otherwise;
+     * on a miss of both only the id and version are read, never the whole user.
+     * 
+     * @param username the username to look up
+     * @return the ETag, or empty if no user has this username
+     */
+    @ShardedByUsername
+    public Optional<String> getUserDetailsETag(String username) {
+        SerializedUser cached = userJsonCache.getIfPresent(username);
+        if (cached != null) {
+            return Optional.of(cached.etag());
+        }
+        return userVersionIndex.get(username,
+                name -> userReplica.read(name, () -> userRepository.findVersionByUsername(name)));
     }
 
-    private UserResponse mapToResponse(User user) {
+    /**
+     * Lists registered users in id order, one keyset page at a time.
+     * One extra row is fetched to tell whether another page follows. With several shards, the page is read from
+     * each shard and the results merged by id (ids are unique across shards).
+     * 
+     * @param after cursor returned with the previous page, {@code null} for the first page
+     * @param size requested page size, {@code null} for {@code registration.listing.default-page-size};
+     *             capped at {@code registration.listing.max-page-size}
+     * @return the page, with the cursor of the next page or {@code null} after the last one
+     */
+    public UserPageResponse listUsers(Long after, Integer size) {
+        int pageSize = Math.clamp(size == null ? defaultPageSize : size, 1, maxPageSize);
+        PageRequest page = PageRequest.ofSize(pageSize + 1);
+        List<UserResponse> users = shards.onEachShard(
+                        () -> userRepository.findPageAfter(after == null ? 0L : after, page)).stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(UserResponse::getId))
+                .limit(pageSize + 1)
+                .toList();
+
+        Long nextCursor = null;
+        if (users.size() > pageSize) {
+            users = users.subList(0, pageSize);
+            nextCursor = users.get(pageSize - 1).getId();
+        }
+        return UserPageResponse.builder()
+                .users(users)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Finds the usernames starting with a prefix, in lexicographic order.
+     * Served from {@link UsernamePrefixIndex} without touching the database; queried from the database
+     * (every shard) only while the index is not loaded yet or is disabled.
+     * 
+     * @param prefix the case-sensitive username prefix
+     * @param limit maximum number of usernames, {@code null} for {@code registration.username-index.default-limit};
+     *              capped at {@code registration.username-index.max-limit}
+     * @return the matching usernames
+     */
+    public UsernameSearchResponse searchUsernames(String prefix, Integer limit) {
+        int maxResults = Math.clamp(limit == null ? defaultSearchLimit : limit, 1, maxSearchLimit);
+        List<String> usernames = usernameIndex.isReady()
+                ? usernameIndex.search(prefix, maxResults)
+                : shards.onEachShard(
+                                () -> userRepository.findUsernamesStartingWith(escapeLike(prefix), Limit.of(maxResults)))
+                        .stream()
+                        .flatMap(List::stream)
+                        .sorted()
+                        .limit(maxResults)
+                        .toList();
+        return UsernameSearchResponse.builder()
+                .prefix(prefix)
+                .usernames(usernames)
+                .build();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private User checkThenInsert(UserRegistrationRequest request) {
+        if (usernameFilter.mightExist(request.getUsername())
+                && userRepository.existsByUsername(request.getUsername())) {
+            throw new UserAlreadyExistsException(request.getUsername());
+        }
+        return userRepository.save(toEntity(request));
+    }
+
+    /**
+     * Inserts without checking first and flushes immediately, so that a duplicate username surfaces here
+     * as a unique-key violation (the only unique key besides the generated id) rather than at commit time.
+     */
+    private User insertRelyingOnConstraint(UserRegistrationRequest request) {
+        try {
+            return userRepository.saveAndFlush(toEntity(request));
+        } catch (DataIntegrityViolationException ex) {
+            if (isUniqueViolation(ex)) {
+                throw new UserAlreadyExistsException(request.getUsername());
+            }
+            throw ex;
+        }
+    }
+
+    private static boolean isUniqueViolation(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException
+                    && UNIQUE_VIOLATION_SQL_STATE.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private User toEntity(UserRegistrationRequest request) {
+        String phoneNumber = PhoneNumbers.toE164(request.getPhoneNumber(), request.getCountryOfResidence());
+        return User.builder()
+                .username(request.getUsername())
+                .birthdate(request.getBirthdate())
+                .countryOfResidence(request.getCountryOfResidence())
+                .phoneNumber(phoneNumber)
+                .phoneDigits(PhoneNumbers.toDigits(phoneNumber))
+                .gender(request.getGender())
+                .build();
+    }
+
+    // Package-private for the mapping benchmark
+    UserResponse mapToResponse(User user) {
         return UserResponse.builder()
                 .id(user.getId())
                 .username(user.getUsername())
@@ -76,23 +388,100 @@ public class UserService {
                 .countryOfResidence(user.getCountryOfResidence())
                 .phoneNumber(user.getPhoneNumber())
                 .gender(user.getGender())
+                .version(user.getVersion())
                 .build();
     }
 
-    private void validateBusinessRules(UserRegistrationRequest request) {
+    /**
+     * Makes a committed registration visible to the in-memory caches and indexes.
+     */
+    private void publishRegistered(UserResponse user) {
+        userJsonCache.invalidate(user.getUsername());
+        userDetailsCache.put(user);
+        usernameIndex.add(user.getUsername());
+        offHeapUsers.put(user);
+        userReplica.recordWrite(user);
+        userVersionIndex.put(user.getUsername(), UserVersion.etag(user.getId(), user.getVersion()));
+    }
+
+    /**
+     * Runs Bean Validation and the business rules on one batch item.
+     * 
+     * @return the rejection for this item, or {@code null} if it can be inserted
+     */
+    private BatchRegistrationResult checkBatchItem(int index, UserRegistrationRequest request) {
+        if (request == null) {
+            return rejected(index, null, ErrorCode.ERR_VALIDATION.getCode(), "Registration request is required");
+        }
+
+        Set<ConstraintViolation<UserRegistrationRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            return rejected(index, request.getUsername(), ErrorCode.ERR_VALIDATION.getCode(), message);
+        }
+
+        try {
+            validateBusinessRules(request);
+        } catch (BusinessRuleException ex) {
+            return rejected(index, request.getUsername(), ex);
+        }
+        return null;
+    }
+
+    private BatchRegistrationResult rejected(int index, String username, BusinessRuleException ex) {
+        return rejected(index, username, ex.getErrorCode(), ex.getMessage());
+    }
+
+    private BatchRegistrationResult rejected(int index, String username, String errorCode, String message) {
+        return BatchRegistrationResult.builder()
+                .index(index)
+                .username(username)
+                .status(BatchRegistrationResult.Status.REJECTED)
+                .errorCode(errorCode)
+                .message(message)
+                .build();
+    }
+
+    /**
+     * Runs the action once the current transaction commits (immediately when there is none),
+     * so that caches never expose a user whose insert was rolled back.
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Checks the rules of {@link RegistrationPolicies} without registering, for callers that persist later.
+     * 
+     * @throws UserNotAdultException if user is under the minimum age
+     * @throws CountryNotAllowedException if user does not live in an allowed country
+     */
+    public void validateBusinessRules(UserRegistrationRequest request) {
         validateAge(request.getBirthdate());
         validateCountry(request.getCountryOfResidence());
     }
 
     private void validateAge(LocalDate birthdate) {
-        if (!RegistrationPolicies.isAdult(birthdate)) {
-            throw new UserNotAdultException();
+        if (!registrationPolicies.isAdult(birthdate)) {
+            throw new UserNotAdultException(registrationPolicies.getMinimumAge());
         }
     }
 
     private void validateCountry(String country) {
-        if (!RegistrationPolicies.isFrenchResident(country)) {
-            throw new NonFrenchResidentException();
+        if (!registrationPolicies.isAllowedCountry(country)) {
+            throw new CountryNotAllowedException(registrationPolicies.getAllowedCountryNames());
         }
     }
-}
\ No newline at end of file
+}
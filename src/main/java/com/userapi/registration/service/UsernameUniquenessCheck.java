@@ -0,0 +1,18 @@
+package com.userapi.registration.service;
+
+/**
+ * How {@link UserService#register} enforces username uniqueness.
+ */
+public enum UsernameUniquenessCheck {
+
+    /**
+     * Query {@code existsByUsername} before inserting (two statements per new user).
+     */
+    QUERY,
+
+    /**
+     * Insert directly and translate the unique-key violation on {@code users.username} (one statement per new user,
+     * and race-free under concurrency).
+     */
+    CONSTRAINT
+}
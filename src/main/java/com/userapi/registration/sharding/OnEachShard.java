@@ -0,0 +1,15 @@
+package com.userapi.registration.sharding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a {@code void} method once per shard, in shard order, such as the loading of an in-memory index from the
+ * users table. See {@link ShardRoutingAspect}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface OnEachShard {
+}
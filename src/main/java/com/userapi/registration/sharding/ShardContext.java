@@ -0,0 +1,41 @@
+package com.userapi.registration.sharding;
+
+/**
+ * Shard targeted by the current thread, read by {@link ShardRoutingDataSource} when a connection is acquired.
+ * Must be set before the transaction starts: a transaction keeps the connection, and so the shard, it began with.
+ * Usage: {@code Integer previous = ShardContext.enter(shard); try { ... } finally { ShardContext.restore(previous); }}
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    /**
+     * @return the shard of the current thread, or {@code null} if none was entered
+     */
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Targets {@code shard} from now on.
+     *
+     * @return the shard targeted until now, to pass to {@link #restore}
+     */
+    public static Integer enter(int shard) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        return previous;
+    }
+
+    public static void restore(Integer previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    private ShardContext() {
+        // Utility class
+    }
+}
@@ -0,0 +1,136 @@
+package com.userapi.registration.sharding;
+
+import com.userapi.registration.dto.BatchRegistrationResponse;
+import com.userapi.registration.dto.BatchRegistrationResult;
+import com.userapi.registration.dto.UserRegistrationRequest;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Applies {@link ShardedByUsername} and {@link OnEachShard} when {@code registration.sharding.shards} is above 1.
+ * Runs before any other advice, so that the shard is set when {@code @Transactional} acquires the connection.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ShardRoutingAspect {
+
+    private final UserShards shards;
+    private final int maxBatchSize;
+
+    public ShardRoutingAspect(UserShards shards,
+                              @Value("${registration.batch.max-size:1000}") int maxBatchSize) {
+        this.shards = shards;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Runs a method on the shard of its username; a batch is split into one call per shard.
+     */
+    @Around("@annotation(com.userapi.registration.sharding.ShardedByUsername)")
+    public Object routeByUsername(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object key = joinPoint.getArgs()[0];
+        if (!shards.isSharded()) {
+            return joinPoint.proceed();
+        }
+        if (key instanceof List<?> requests) {
+            return registerBatchPerShard(joinPoint, requests);
+        }
+        return proceedOn(shardOf(key), joinPoint, joinPoint.getArgs());
+    }
+
+    /**
+     * Runs a {@code void} method once per shard.
+     */
+    @Around("@annotation(com.userapi.registration.sharding.OnEachShard)")
+    public Object runOnEachShard(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!shards.isSharded()) {
+            return joinPoint.proceed();
+        }
+        for (int shard = 0; shard < shards.count(); shard++) {
+            proceedOn(shard, joinPoint, joinPoint.getArgs());
+        }
+        return null;
+    }
+
+    /**
+     * Registers the requests of each shard in that shard's own transaction, and merges the responses back into
+     * request order. Shards commit independently, as items of a batch already do not depend on each other.
+     * A list over {@code registration.batch.max-size} goes through whole, for the service to reject it.
+     */
+    private Object registerBatchPerShard(ProceedingJoinPoint joinPoint, List<?> requests) throws Throwable {
+        if (requests.size() > maxBatchSize) {
+            return proceedOn(0, joinPoint, joinPoint.getArgs());
+        }
+        List<List<Object>> requestsByShard = new ArrayList<>(shards.count());
+        List<List<Integer>> indexesByShard = new ArrayList<>(shards.count());
+        for (int shard = 0; shard < shards.count(); shard++) {
+            requestsByShard.add(new ArrayList<>());
+            indexesByShard.add(new ArrayList<>());
+        }
+        for (int i = 0; i < requests.size(); i++) {
+            Object request = requests.get(i);
+            int shard = shardOf(request);
+            requestsByShard.get(shard).add(request);
+            indexesByShard.get(shard).add(i);
+        }
+
+        BatchRegistrationResult[] results = new BatchRegistrationResult[requests.size()];
+        int created = 0;
+        for (int shard = 0; shard < shards.count(); shard++) {
+            if (requestsByShard.get(shard).isEmpty()) {
+                continue;
+            }
+            Object[] args = joinPoint.getArgs().clone();
+            args[0] = requestsByShard.get(shard);
+            BatchRegistrationResponse response = (BatchRegistrationResponse) proceedOn(shard, joinPoint, args);
+            created += response.getCreated();
+            for (BatchRegistrationResult result : response.getResults()) {
+                int index = indexesByShard.get(shard).get(result.getIndex());
+                result.setIndex(index);
+                results[index] = result;
+            }
+        }
+        return BatchRegistrationResponse.builder()
+                .created(created)
+                .rejected(results.length - created)
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    private static Object proceedOn(int shard, ProceedingJoinPoint joinPoint, Object[] args) throws Throwable {
+        Integer previous = ShardContext.enter(shard);
+        try {
+            return joinPoint.proceed(args);
+        } finally {
+            ShardContext.restore(previous);
+        }
+    }
+
+    /**
+     * Items without a username (rejected by validation before reaching the database) go to shard 0.
+     */
+    private int shardOf(Object key) {
+        String username = key == null ? null : username(key);
+        return username == null ? 0 : shards.shardOf(username);
+    }
+
+    private static String username(Object key) {
+        if (key instanceof String username) {
+            return username;
+        }
+        if (key instanceof UserRegistrationRequest request) {
+            return request.getUsername();
+        }
+        throw new IllegalArgumentException("No username in " + key.getClass().getName());
+    }
+}
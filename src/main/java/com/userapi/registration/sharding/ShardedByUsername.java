@@ -0,0 +1,16 @@
+package com.userapi.registration.sharding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the method on the shard of the username given as first argument: a {@code String} username,
+ * a {@code UserRegistrationRequest}, or a list of requests (one call per shard, results merged back in order).
+ * See {@link ShardRoutingAspect}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ShardedByUsername {
+}
@@ -0,0 +1,87 @@
+package com.userapi.registration.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sharded persistence ({@code sharded} profile): one connection pool per URL of {@code registration.sharding.urls},
+ * behind a {@link ShardRoutingDataSource} that the single JPA persistence unit uses.
+ * The schema is created on every shard at startup, and the id sequence of shard {@code n} restarted at
+ * {@code n << 40}, so that the sequences never hand out the same value. The persistence unit has a single id
+ * optimizer, so a block of ids fetched from one shard's sequence is used for inserts on any shard: ids are unique
+ * across shards, but say nothing about the shard a user lives on.
+ */
+@Configuration
+@Profile("sharded")
+public class ShardingConfiguration {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardingConfiguration.class);
+    static final int SHARD_ID_BITS = 40;
+    // Hibernate's pooled optimizer hands out the ids up to each sequence value, allocationSize of them at a time
+    private static final int ID_ALLOCATION_SIZE = 50;
+
+    @Bean
+    public ShardRoutingDataSource dataSource(UserShards shards,
+                                             @Value("${registration.sharding.urls}") List<String> urls,
+                                             @Value("${spring.datasource.username:sa}") String username,
+                                             @Value("${spring.datasource.password:}") String password,
+                                             @Value("${registration.sharding.pool-size:10}") int poolSize) {
+        if (urls.size() != shards.count()) {
+            throw new IllegalStateException("registration.sharding.urls lists " + urls.size()
+                    + " databases for registration.sharding.shards=" + shards.count());
+        }
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < urls.size(); shard++) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("shard-" + shard);
+            pool.setJdbcUrl(urls.get(shard));
+            pool.setUsername(username);
+            pool.setPassword(password);
+            pool.setMaximumPoolSize(poolSize);
+            targets.put(shard, pool);
+        }
+        ShardRoutingDataSource dataSource = new ShardRoutingDataSource();
+        dataSource.setTargetDataSources(targets);
+        dataSource.setDefaultTargetDataSource(targets.get(0));
+        return dataSource;
+    }
+
+    /**
+     * Creates the tables and sequence of every entity on each shard, replacing {@code spring.jpa.hibernate.ddl-auto}
+     * which only reaches the default shard.
+     */
+    @Bean
+    public SmartInitializingSingleton shardSchemaInitializer(UserShards shards,
+                                                            EntityManagerFactory entityManagerFactory,
+                                                            ShardRoutingDataSource dataSource,
+                                                            @Value("${registration.sharding.create-schema:true}")
+                                                            boolean createSchema) {
+        return () -> {
+            if (!createSchema) {
+                return;
+            }
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            shards.forEachShard(() -> {
+                entityManagerFactory.getSchemaManager().create(true);
+                int shard = ShardContext.current() == null ? 0 : ShardContext.current();
+                if (shard > 0) {
+                    long firstValue = ((long) shard << SHARD_ID_BITS) + ID_ALLOCATION_SIZE;
+                    jdbcTemplate.execute("alter sequence users_seq restart with " + firstValue);
+                }
+            });
+            logger.info("Schema created on {} shards", shards.count());
+        };
+    }
+}
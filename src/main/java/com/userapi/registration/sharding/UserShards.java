@@ -0,0 +1,101 @@
+package com.userapi.registration.sharding;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+import java.util.zip.CRC32C;
+
+/**
+ * Placement of users on {@code registration.sharding.shards} databases (1, no sharding, by default).
+ * A user lives on the shard given by the CRC32C of its normalized username (NFC, lower case), mixed by the Murmur3
+ * finalizer, modulo the number of shards: the same username always lands on the same shard, whatever the JVM or the
+ * node, so a username is unique across shards as soon as it is unique within its own. Changing the number of shards moves users and needs a
+ * migration.
+ */
+@Component
+public class UserShards {
+
+    private final int count;
+
+    public UserShards(@Value("${registration.sharding.shards:1}") int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("registration.sharding.shards must be at least 1, got " + count);
+        }
+        this.count = count;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public boolean isSharded() {
+        return count > 1;
+    }
+
+    /**
+     * @return the shard holding {@code username}, between 0 and {@link #count()} - 1
+     */
+    public int shardOf(String username) {
+        if (count == 1) {
+            return 0;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(normalize(username).getBytes(StandardCharsets.UTF_8));
+        return Math.floorMod(mix((int) crc.getValue()), count);
+    }
+
+    /**
+     * Runs {@code action} on every shard in turn, outside of any transaction.
+     */
+    public void forEachShard(Runnable action) {
+        onEachShard(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Calls {@code action} on every shard in turn, outside of any transaction.
+     *
+     * @return the result of each shard, in shard order
+     */
+    public <T> List<T> onEachShard(Supplier<T> action) {
+        if (count == 1) {
+            return Collections.singletonList(action.get());
+        }
+        List<T> results = new ArrayList<>(count);
+        for (int shard = 0; shard < count; shard++) {
+            Integer previous = ShardContext.enter(shard);
+            try {
+                results.add(action.get());
+            } finally {
+                ShardContext.restore(previous);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Murmur3 fmix32. The low bits of a CRC are linear in the input, so usernames differing only in a short suffix
+     * would otherwise share a few shards.
+     */
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    static String normalize(String username) {
+        return Normalizer.normalize(username, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,316 @@
+package com.userapi.registration.store;
+
+import com.userapi.registration.cache.UserVersion;
+import com.userapi.registration.dto.UserResponse;
+import com.userapi.registration.entity.User;
+import com.userapi.registration.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * {@link UserRepository} backed by an append-only {@link SegmentLog} of memory-mapped files, active with the
+ * {@code mapped-store} profile (which turns off the Spring Data JPA repositories).
+ * Users survive restarts: on startup the log is replayed, cut after its last intact record, into two in-memory
+ * indexes, username to id and id to record location. Lookups read the record straight from the mapped file.
+ * Every save appends the whole user with its next version and every delete appends a tombstone; the latest record
+ * of an id wins on replay.
+ *
+ * <p>Writes are durable as soon as they return (in the page cache, or on the device with
+ * {@code registration.store.force-on-append=true}) and are not undone by a transaction rollback; {@link #saveAll}
+ * checks the whole batch first, so that it either fails without writing or writes every user.
+ * A duplicate username fails like the unique constraint it replaces, with SQL state {@code 23505}.
+ * The store takes no part in JPA transactions: {@code SUPPORTS} overrides the read-only transactions that
+ * {@link UserRepository} declares for its queries.
+ */
+@Repository
+@Profile("mapped-store")
+@Transactional(propagation = Propagation.SUPPORTS)
+public class MappedFileUserRepository implements UserRepository, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(MappedFileUserRepository.class);
+    private static final String UNIQUE_VIOLATION_SQL_STATE = "23505";
+
+    private final Map<String, Long> idsByUsername = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, Long> locationsById = new ConcurrentSkipListMap<>();
+    private final SegmentLog log;
+    private long lastId;
+
+    public MappedFileUserRepository(@Value("${registration.store.directory:data/users}") String directory,
+                                    @Value("${registration.store.segment-size:64MB}") DataSize segmentSize,
+                                    @Value("${registration.store.force-on-append:false}") boolean forceOnAppend)
+            throws IOException {
+        long startNanos = System.nanoTime();
+        Map<Long, String> replayedUsernames = new HashMap<>();
+        this.log = SegmentLog.open(Path.of(directory), Math.toIntExact(segmentSize.toBytes()), forceOnAppend,
+                (location, record) -> replay(location, record, replayedUsernames));
+        logger.info("User store opened: directory={} users={} segments={} duration={}ms",
+                directory, locationsById.size(), log.segmentCount(), (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    @Override
+    public void destroy() {
+        log.close();
+    }
+
+    /**
+     * Applies one record found while opening the log. {@code usernames} tracks the current username of each id,
+     * as earlier records cannot be read back before the log is open.
+     */
+    private void replay(long location, ByteBuffer record, Map<Long, String> usernames) {
+        long id = UserRecordCodec.id(record);
+        String previous = usernames.remove(id);
+        if (previous != null) {
+            idsByUsername.remove(previous);
+        }
+        if (UserRecordCodec.type(record) == UserRecordCodec.USER) {
+            String username = UserRecordCodec.decodeUser(record).getUsername();
+            usernames.put(id, username);
+            idsByUsername.put(username, id);
+            locationsById.put(id, location);
+        } else {
+            locationsById.remove(id);
+        }
+        lastId = Math.max(lastId, id);
+    }
+
+    // Custom queries of UserRepository
+
+    @Override
+    public Optional<User> findByUsername(String username) {
+        Long id = idsByUsername.get(username);
+        return id == null ? Optional.empty() : findById(id);
+    }
+
+    @Override
+    public boolean existsByUsername(String username) {
+        return idsByUsername.containsKey(username);
+    }
+
+    @Override
+    public Set<String> findExistingUsernames(Collection<String> usernames) {
+        return usernames.stream().filter(idsByUsername::containsKey).collect(Collectors.toSet());
+    }
+
+    @Override
+    public Stream<String> streamAllUsernames() {
+        return idsByUsername.keySet().stream();
+    }
+
+    @Override
+    public Optional<UserVersion> findVersionByUsername(String username) {
+        Long id = idsByUsername.get(username);
+        Long location = id == null ? null : locationsById.get(id);
+        if (location == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new UserVersion(id, UserRecordCodec.version(log.read(location))));
+    }
+
+    /**
+     * Scans every username: prefix searches are served by the username prefix index once it is loaded.
+     */
+    @Override
+    public List<String> findUsernamesStartingWith(String escapedPrefix, Limit limit) {
+        String prefix = unescapeLike(escapedPrefix);
+        return idsByUsername.keySet().stream()
+                .filter(username -> username.startsWith(prefix))
+                .sorted()
+                .limit(limit.isLimited() ? limit.max() : Long.MAX_VALUE)
+                .toList();
+    }
+
+    @Override
+    public List<UserResponse> findPageAfter(long afterId, Pageable pageable) {
+        return locationsById.tailMap(afterId, false).values().stream()
+                .limit(pageable.getPageSize())
+                .map(location -> toResponse(UserRecordCodec.decodeUser(log.read(location))))
+                .toList();
+    }
+
+    // Writes
+
+    @Override
+    public synchronized <S extends User> S save(S user) {
+        checkWritable(user);
+
+        Long previous = user.getId() == null ? null : locationsById.get(user.getId());
+        String previousUsername = null;
+        if (previous == null) {
+            if (user.getId() == null) {
+                user.setId(++lastId);
+            }
+            lastId = Math.max(lastId, user.getId());
+            user.setVersion(0L);
+        } else {
+            ByteBuffer current = log.read(previous);
+            previousUsername = UserRecordCodec.decodeUser(current).getUsername();
+            user.setVersion(UserRecordCodec.version(current) + 1);
+        }
+
+        long location = log.append(UserRecordCodec.encodeUser(user));
+        locationsById.put(user.getId(), location);
+        if (previousUsername != null && !previousUsername.equals(user.getUsername())) {
+            idsByUsername.remove(previousUsername);
+        }
+        idsByUsername.put(user.getUsername(), user.getId());
+        return user;
+    }
+
+    /**
+     * Checks every user before appending any, so that a duplicate or stale user fails the whole call without
+     * writing anything: the store cannot take back records if the caller's transaction rolls back.
+     */
+    @Override
+    public synchronized <S extends User> List<S> saveAll(Iterable<S> users) {
+        List<S> batch = new ArrayList<>();
+        Set<String> usernames = new HashSet<>();
+        Set<Long> ids = new HashSet<>();
+        for (S user : users) {
+            checkWritable(user);
+            if (!usernames.add(user.getUsername())) {
+                throw duplicateUsername(user.getUsername());
+            }
+            if (user.getId() != null && !ids.add(user.getId())) {
+                throw new IllegalArgumentException("User " + user.getId() + " appears twice in the batch");
+            }
+            batch.add(user);
+        }
+        for (S user : batch) {
+            save(user);
+        }
+        return batch;
+    }
+
+    /**
+     * No-op: every write already reached the mapped file.
+     */
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public <S extends User> S saveAndFlush(S user) {
+        return save(user);
+    }
+
+    @Override
+    public synchronized void deleteById(Long id) {
+        Long location = locationsById.get(id);
+        if (location == null) {
+            return;
+        }
+        String username = usernameAt(location);
+        log.append(UserRecordCodec.encodeDelete(id));
+        locationsById.remove(id);
+        idsByUsername.remove(username);
+    }
+
+    @Override
+    public void deleteAll() {
+        List.copyOf(locationsById.keySet()).forEach(this::deleteById);
+    }
+
+    // Reads by id
+
+    @Override
+    public Optional<User> findById(Long id) {
+        Long location = locationsById.get(id);
+        return location == null ? Optional.empty() : Optional.of(UserRecordCodec.decodeUser(log.read(location)));
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return locationsById.containsKey(id);
+    }
+
+    @Override
+    public List<User> findAll() {
+        return locationsById.values().stream()
+                .map(location -> UserRecordCodec.decodeUser(log.read(location)))
+                .toList();
+    }
+
+    @Override
+    public long count() {
+        return locationsById.size();
+    }
+
+    /**
+     * Fails like the database would: on a username taken by another user, or an update of a stale version.
+     */
+    private void checkWritable(User user) {
+        Long existingId = idsByUsername.get(user.getUsername());
+        if (existingId != null && !existingId.equals(user.getId())) {
+            throw duplicateUsername(user.getUsername());
+        }
+        Long location = user.getId() == null ? null : locationsById.get(user.getId());
+        if (location != null && user.getVersion() != null
+                && user.getVersion() != UserRecordCodec.version(log.read(location))) {
+            throw new OptimisticLockingFailureException("User " + user.getId() + " was updated concurrently");
+        }
+    }
+
+    private static DataIntegrityViolationException duplicateUsername(String username) {
+        return new DataIntegrityViolationException("Unique index violation on users.username",
+                new SQLException("Duplicate username " + username, UNIQUE_VIOLATION_SQL_STATE));
+    }
+
+    private String usernameAt(long location) {
+        return UserRecordCodec.decodeUser(log.read(location)).getUsername();
+    }
+
+    private static UserResponse toResponse(User user) {
+        return UserResponse.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .birthdate(user.getBirthdate())
+                .countryOfResidence(user.getCountryOfResidence())
+                .phoneNumber(user.getPhoneNumber())
+                .gender(user.getGender())
+                .version(user.getVersion())
+                .build();
+    }
+
+    /**
+     * Reverses the escaping of {@code \}, {@code %} and {@code _} done for the JPQL {@code like} query.
+     */
+    static String unescapeLike(String escaped) {
+        StringBuilder sb = new StringBuilder(escaped.length());
+        for (int i = 0; i < escaped.length(); i++) {
+            char c = escaped.charAt(i);
+            if (c == '\\' && i + 1 < escaped.length()) {
+                c = escaped.charAt(++i);
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+}
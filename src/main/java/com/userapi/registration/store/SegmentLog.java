@@ -0,0 +1,235 @@
+package com.userapi.registration.store;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of checksummed records in memory-mapped segment files ({@code 00000000.seg}, {@code 00000001.seg}...).
+ * Each record is {@code int length | int crc32c(payload) | payload}; a zero length marks the end of the written part
+ * of a segment, and a record that does not fit in the current segment starts a new one.
+ * A record is located by its segment index and offset packed in a {@code long}.
+ *
+ * <p>On open, every segment is replayed in order and each record's checksum verified. The log is cut at the first
+ * torn or corrupt record (an interrupted append) and any later segment is set aside with a {@code .corrupt} suffix,
+ * so appends resume right after the last intact record. The rest of the segment they resume in is always zeroed,
+ * even after a clean end, since an append interrupted before its length was written leaves bytes behind.
+ *
+ * <p>Appends are serialized; reads take no lock.
+ */
+final class SegmentLog implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SegmentLog.class);
+    private static final int HEADER_BYTES = 8;
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final ByteBuffer ZEROS = ByteBuffer.allocate(8192).asReadOnlyBuffer();
+
+    /**
+     * Receives each intact record found while opening the log.
+     */
+    @FunctionalInterface
+    interface RecordVisitor {
+        void accept(long location, ByteBuffer payload);
+    }
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean forceOnAppend;
+    private final List<MappedByteBuffer> segments = new CopyOnWriteArrayList<>();
+    private MappedByteBuffer current;
+    private int writeOffset;
+
+    private SegmentLog(Path directory, int segmentSize, boolean forceOnAppend) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.forceOnAppend = forceOnAppend;
+    }
+
+    /**
+     * Opens (or creates) the log in {@code directory}, replaying every intact record to {@code visitor}.
+     */
+    static SegmentLog open(Path directory, int segmentSize, boolean forceOnAppend, RecordVisitor visitor)
+            throws IOException {
+        if (segmentSize <= HEADER_BYTES) {
+            throw new IllegalArgumentException("Segment size must be greater than " + HEADER_BYTES + " bytes");
+        }
+        Files.createDirectories(directory);
+        SegmentLog log = new SegmentLog(directory, segmentSize, forceOnAppend);
+        log.recover(visitor);
+        return log;
+    }
+
+    /**
+     * Appends one record and returns its location.
+     */
+    synchronized long append(byte[] payload) {
+        int recordBytes = HEADER_BYTES + payload.length;
+        if (recordBytes > segmentSize) {
+            throw new IllegalArgumentException("Record of " + payload.length + " bytes exceeds the segment size");
+        }
+        if (writeOffset + recordBytes > current.capacity()) {
+            current.force();
+            startSegment();
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        // The length goes last: until it is written, the record reads as the end of the segment
+        current.put(writeOffset + HEADER_BYTES, payload);
+        current.putInt(writeOffset + 4, (int) crc.getValue());
+        current.putInt(writeOffset, payload.length);
+        if (forceOnAppend) {
+            current.force(writeOffset, recordBytes);
+        }
+        long location = location(segments.size() - 1, writeOffset);
+        writeOffset += recordBytes;
+        return location;
+    }
+
+    /**
+     * @return a read-only view of the payload of the record at {@code location}
+     */
+    ByteBuffer read(long location) {
+        MappedByteBuffer segment = segments.get((int) (location >>> 32));
+        int offset = (int) location;
+        return segment.slice(offset + HEADER_BYTES, segment.getInt(offset)).asReadOnlyBuffer();
+    }
+
+    int segmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Flushes every written page to the storage device.
+     */
+    synchronized void force() {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+
+    @Override
+    public void close() {
+        force();
+    }
+
+    private void recover(RecordVisitor visitor) throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX)).sorted().toList();
+        }
+
+        for (int index = 0; index < files.size(); index++) {
+            MappedByteBuffer segment = map(files.get(index));
+            segments.add(segment);
+            int end = replay(index, segment, visitor);
+            current = segment;
+            writeOffset = end;
+            boolean clean = isEndOfSegment(segment, end);
+            if (!clean) {
+                logger.warn("User store: discarding torn or corrupt data in {} from offset {}", files.get(index), end);
+            }
+            if (!clean || index == files.size() - 1) {
+                // Appends resume here: an append that died before writing its length leaves its payload behind,
+                // which a shorter record written over its start would turn into a corrupt record on the next replay
+                zero(segment, end);
+            }
+            if (!clean) {
+                setAside(files.subList(index + 1, files.size()));
+                break;
+            }
+        }
+        if (current == null) {
+            startSegment();
+        }
+    }
+
+    /**
+     * Replays the intact records of one segment.
+     *
+     * @return the offset just after the last intact record
+     */
+    private static int replay(int index, MappedByteBuffer segment, RecordVisitor visitor) {
+        int offset = 0;
+        while (offset + HEADER_BYTES <= segment.capacity()) {
+            int length = segment.getInt(offset);
+            if (length <= 0 || length > segment.capacity() - offset - HEADER_BYTES) {
+                break;
+            }
+            ByteBuffer payload = segment.slice(offset + HEADER_BYTES, length);
+            CRC32C crc = new CRC32C();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != segment.getInt(offset + 4)) {
+                break;
+            }
+            visitor.accept(location(index, offset), payload.asReadOnlyBuffer());
+            offset += HEADER_BYTES + length;
+        }
+        return offset;
+    }
+
+    /**
+     * A segment ends cleanly where a zero length is found or where no further header fits.
+     */
+    private static boolean isEndOfSegment(MappedByteBuffer segment, int offset) {
+        return offset + HEADER_BYTES > segment.capacity() || segment.getInt(offset) == 0;
+    }
+
+    /**
+     * Zeroes the segment from {@code from} on. Only blocks holding data are written, so that the untouched tail
+     * of a segment is not dirtied at every start.
+     */
+    private static void zero(MappedByteBuffer segment, int from) {
+        for (int offset = from; offset < segment.capacity(); offset += ZEROS.capacity()) {
+            int length = Math.min(ZEROS.capacity(), segment.capacity() - offset);
+            if (segment.slice(offset, length).mismatch(ZEROS.slice(0, length)) != -1) {
+                segment.put(offset, ZEROS, 0, length);
+            }
+        }
+        segment.force();
+    }
+
+    private void setAside(List<Path> files) throws IOException {
+        for (Path file : files) {
+            Path target = file.resolveSibling(file.getFileName() + ".corrupt");
+            logger.error("User store: setting aside {} as {}, it follows a corrupt record", file, target);
+            Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void startSegment() {
+        Path file = directory.resolve("%08d%s".formatted(segments.size(), SEGMENT_SUFFIX));
+        try {
+            current = map(file);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot create segment " + file, ex);
+        }
+        segments.add(current);
+        writeOffset = 0;
+    }
+
+    private MappedByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // The mapping stays valid once the channel is closed
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(channel.size(), segmentSize));
+        }
+    }
+
+    private static long location(int segment, int offset) {
+        return ((long) segment << 32) | offset;
+    }
+}
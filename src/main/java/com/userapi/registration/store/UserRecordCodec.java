@@ -0,0 +1,118 @@
+package com.userapi.registration.store;
+
+import com.userapi.registration.entity.Gender;
+import com.userapi.registration.entity.User;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * Binary form of the user store records.
+ * A user record is {@code type | id | version | username | birthdate (epoch day) | country | phone | phone digits | gender},
+ * strings being an unsigned short byte count followed by UTF-8 bytes (count {@code 0xFFFF} for {@code null});
+ * a delete record is {@code type | id}. Id and version sit at fixed offsets so they can be read without decoding.
+ */
+final class UserRecordCodec {
+
+    static final byte USER = 1;
+    static final byte DELETE = 2;
+
+    private static final int ID_OFFSET = 1;
+    private static final int VERSION_OFFSET = 9;
+    private static final int NULL_STRING = 0xFFFF;
+    private static final long NULL_DIGITS = Long.MIN_VALUE;
+    private static final Gender[] GENDERS = Gender.values();
+
+    static byte[] encodeUser(User user) {
+        byte[] username = utf8(user.getUsername());
+        byte[] country = utf8(user.getCountryOfResidence());
+        byte[] phone = utf8(user.getPhoneNumber());
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 8 + 8 + stringBytes(username) + 8 + stringBytes(country)
+                + stringBytes(phone) + 8 + 1);
+        buffer.put(USER);
+        buffer.putLong(user.getId());
+        buffer.putLong(user.getVersion());
+        putString(buffer, username);
+        buffer.putLong(user.getBirthdate().toEpochDay());
+        putString(buffer, country);
+        putString(buffer, phone);
+        buffer.putLong(user.getPhoneDigits() == null ? NULL_DIGITS : user.getPhoneDigits());
+        buffer.put(user.getGender() == null ? -1 : (byte) user.getGender().ordinal());
+        return buffer.array();
+    }
+
+    static byte[] encodeDelete(long id) {
+        return ByteBuffer.allocate(1 + 8).put(DELETE).putLong(id).array();
+    }
+
+    static byte type(ByteBuffer record) {
+        return record.get(0);
+    }
+
+    static long id(ByteBuffer record) {
+        return record.getLong(ID_OFFSET);
+    }
+
+    static long version(ByteBuffer record) {
+        return record.getLong(VERSION_OFFSET);
+    }
+
+    static User decodeUser(ByteBuffer record) {
+        ByteBuffer buffer = record.duplicate().position(VERSION_OFFSET + 8);
+        String username = getString(buffer);
+        LocalDate birthdate = LocalDate.ofEpochDay(buffer.getLong());
+        String country = getString(buffer);
+        String phone = getString(buffer);
+        long digits = buffer.getLong();
+        byte gender = buffer.get();
+        return User.builder()
+                .id(id(record))
+                .version(version(record))
+                .username(username)
+                .birthdate(birthdate)
+                .countryOfResidence(country)
+                .phoneNumber(phone)
+                .phoneDigits(digits == NULL_DIGITS ? null : digits)
+                .gender(gender < 0 ? null : GENDERS[gender])
+                .build();
+    }
+
+    private static byte[] utf8(String value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length >= NULL_STRING) {
+            throw new IllegalArgumentException("String of " + bytes.length + " bytes is too long for the user store");
+        }
+        return bytes;
+    }
+
+    private static int stringBytes(byte[] value) {
+        return 2 + (value == null ? 0 : value.length);
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putShort((short) NULL_STRING);
+            return;
+        }
+        buffer.putShort((short) value.length);
+        buffer.put(value);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = Short.toUnsignedInt(buffer.getShort());
+        if (length == NULL_STRING) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private UserRecordCodec() {
+        // Utility class
+    }
+}
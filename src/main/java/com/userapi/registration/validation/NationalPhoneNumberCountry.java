@@ -0,0 +1,23 @@
+package com.userapi.registration.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.*;
+
+/**
+ * A national phone number (leading {@code 0}) needs a country of residence whose calling code is known, to be
+ * stored in E.164 form. Reported on {@code phoneNumber}; the format itself is checked by {@link ValidPhoneNumber}.
+ */
+@Target({ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Constraint(validatedBy = NationalPhoneNumberCountryValidator.class)
+@Documented
+public @interface NationalPhoneNumberCountry {
+    
+    String message() default "National phone number starting with 0 is not supported for this country of residence, use + and the country code";
+    
+    Class<?>[] groups() default {};
+    
+    Class<? extends Payload>[] payload() default {};
+}
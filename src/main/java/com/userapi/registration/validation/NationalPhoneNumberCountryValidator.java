@@ -0,0 +1,25 @@
+package com.userapi.registration.validation;
+
+import com.userapi.registration.dto.UserRegistrationRequest;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class NationalPhoneNumberCountryValidator
+        implements ConstraintValidator<NationalPhoneNumberCountry, UserRegistrationRequest> {
+
+    @Override
+    public boolean isValid(UserRegistrationRequest request, ConstraintValidatorContext context) {
+        String phoneNumber = request.getPhoneNumber();
+        // Missing and malformed numbers are left to @ValidPhoneNumber
+        if (phoneNumber == null || !PhoneNumbers.isValid(phoneNumber)
+                || PhoneNumbers.isValid(phoneNumber, request.getCountryOfResidence())) {
+            return true;
+        }
+
+        context.disableDefaultConstraintViolation();
+        context.buildConstraintViolationWithTemplate(context.getDefaultConstraintMessageTemplate())
+                .addPropertyNode("phoneNumber")
+                .addConstraintViolation();
+        return false;
+    }
+}
@@ -0,0 +1,126 @@
+package com.userapi.registration.validation;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Phone number checks and E.164 normalization in a single pass over the characters, without regex.
+ * Accepted numbers have at least 10 digits and are either international ({@code +} then a country code, which
+ * never starts with {@code 0}) or national numbers starting with the {@code 0} trunk prefix. A national number
+ * takes the calling code of the country of residence, and is refused when that code is not known here. A number
+ * with neither prefix is refused too: its country cannot be told, and guessing one would store a number the client
+ * never sent.
+ */
+public final class PhoneNumbers {
+
+    public static final int MIN_DIGITS = 10;
+    /** E.164 numbers have at most 15 digits, country code included. */
+    public static final int MAX_E164_DIGITS = 15;
+
+    // Countries whose national numbers start with the 0 trunk prefix, dropped in E.164 form, by lower-case English name
+    private static final Map<String, String> CALLING_CODES = Map.of(
+            "france", "+33",
+            "belgium", "+32",
+            "switzerland", "+41",
+            "germany", "+49",
+            "austria", "+43",
+            "netherlands", "+31",
+            "united kingdom", "+44",
+            "ireland", "+353");
+
+    private PhoneNumbers() {
+    }
+
+    /**
+     * Checks that {@code phone} is {@code +} or {@code 0} followed by digits, at least 10 in all,
+     * and that its E.164 form fits in 15 digits with the shortest country code. Does not allocate.
+     * Whether a national number has a known country is checked by {@link #isValid(CharSequence, String)}.
+     */
+    public static boolean isValid(CharSequence phone) {
+        int length = phone.length();
+        if (length == 0) {
+            return false;
+        }
+        int start = phone.charAt(0) == '+' ? 1 : 0;
+        int digits = length - start;
+        if (digits < MIN_DIGITS) {
+            return false;
+        }
+        for (int i = start; i < length; i++) {
+            char c = phone.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+
+        if (start == 1) {
+            return phone.charAt(1) != '0' && digits <= MAX_E164_DIGITS; // country codes never start with 0
+        }
+        // A national number loses its trunk 0 and gains a country code of 2 digits or more
+        return phone.charAt(0) == '0' && digits + 1 <= MAX_E164_DIGITS;
+    }
+
+    /**
+     * {@link #isValid(CharSequence)}, and for a national number, that {@code countryOfResidence} has a known
+     * calling code and the E.164 form with it fits in 15 digits.
+     */
+    public static boolean isValid(CharSequence phone, String countryOfResidence) {
+        if (!isValid(phone)) {
+            return false;
+        }
+        if (phone.charAt(0) == '+') {
+            return true;
+        }
+        String callingCode = callingCode(countryOfResidence);
+        return callingCode != null && phone.length() - 1 + callingCode.length() - 1 <= MAX_E164_DIGITS;
+    }
+
+    /**
+     * @return the calling code ({@code +33}) of a country whose national numbers start with {@code 0},
+     *         or {@code null} if it is unknown
+     */
+    public static String callingCode(String countryOfResidence) {
+        if (countryOfResidence == null) {
+            return null;
+        }
+        return CALLING_CODES.get(countryOfResidence.trim().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Returns the E.164 form of a valid phone number ({@code 0612345678} in France becomes {@code +33612345678}),
+     * or {@code null} for a missing one.
+     *
+     * @throws IllegalArgumentException if the number starts with neither {@code +} nor {@code 0}, or is national
+     *         and the calling code of {@code countryOfResidence} is unknown
+     */
+    public static String toE164(String phone, String countryOfResidence) {
+        if (phone == null || phone.isEmpty()) {
+            return null;
+        }
+        if (phone.charAt(0) == '+') {
+            return phone;
+        }
+        if (phone.charAt(0) != '0') {
+            throw new IllegalArgumentException("Phone number without country: " + phone.length() + " characters");
+        }
+        String callingCode = callingCode(countryOfResidence);
+        if (callingCode == null) {
+            throw new IllegalArgumentException("National phone number without a known calling code for the country");
+        }
+        return new StringBuilder(phone.length() - 1 + callingCode.length())
+                .append(callingCode)
+                .append(phone, 1, phone.length())
+                .toString();
+    }
+
+    /**
+     * Returns the digits of an E.164 number as a number ({@code +33612345678} becomes {@code 33612345678}),
+     * or {@code null} for a missing one. 15 digits always fit in a {@code long}.
+     */
+    public static Long toDigits(String e164) {
+        if (e164 == null) {
+            return null;
+        }
+        return Long.parseLong(e164, 1, e164.length(), 10);
+    }
+}
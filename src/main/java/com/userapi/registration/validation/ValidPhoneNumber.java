@@ -11,7 +11,7 @@ import java.lang.annotation.*;
 @Documented
 public @interface ValidPhoneNumber {
     
-    String message() default "Phone number must contain only digits with optional + sign and at least 10 digits";
+    String message() default "Phone number must be + and a country code, or a national number starting with 0, with 10 to 15 digits";
     
     Class<?>[] groups() default {};
     
@@ -10,7 +10,7 @@ public class ValidPhoneNumberValidator implements ConstraintValidator<ValidPhone
         if (phoneNumber == null || phoneNumber.isEmpty()) {
             return true;
         }
-        
-        return phoneNumber.matches("^\\+?[0-9]{10,}$");
+
+        return PhoneNumbers.isValid(phoneNumber);
     }
-}
\ No newline at end of file
+}
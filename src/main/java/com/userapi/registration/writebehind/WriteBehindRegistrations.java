@@ -0,0 +1,284 @@
+package com.userapi.registration.writebehind;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.userapi.registration.dto.BatchRegistrationResult;
+import com.userapi.registration.dto.RegistrationStatusResponse;
+import com.userapi.registration.dto.RegistrationStatusResponse.Status;
+import com.userapi.registration.dto.UserRegistrationRequest;
+import com.userapi.registration.exception.BusinessRuleException;
+import com.userapi.registration.exception.ErrorCode;
+import com.userapi.registration.exception.RegistrationQueueFullException;
+import com.userapi.registration.exception.RegistrationTicketNotFoundException;
+import com.userapi.registration.exception.UserAlreadyExistsException;
+import com.userapi.registration.service.UserService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Write-behind registration mode ({@code registration.write-behind.enabled=true}), for signup spikes.
+ * {@link #submit} checks a registration synchronously (business rules, username free and not reserved), reserves
+ * the username in memory and queues it; a single background thread persists the queue through
+ * {@link UserService#registerBatch} in batches of up to {@code registration.write-behind.batch-size}.
+ * A ticket stays PENDING until its registration is persisted, however long that takes; the final outcome is then
+ * kept for {@code registration.write-behind.ticket-ttl}, for at most {@code registration.write-behind.max-tickets}
+ * outcomes (beyond that, some are evicted before their time).
+ * The queue holds {@code registration.write-behind.queue-capacity} registrations: when it is full, {@link #submit}
+ * waits up to {@code registration.write-behind.enqueue-timeout} and then refuses the registration.
+ * Queued registrations are persisted on shutdown, and refused once it has begun; they are lost if the process dies.
+ */
+@Component
+public class WriteBehindRegistrations implements InitializingBean, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindRegistrations.class);
+    private static final long POLL_MILLIS = 100;
+    private static final String METRIC_NAME = "registration.write-behind.registrations";
+
+    private record PendingRegistration(String ticket, UserRegistrationRequest request) {
+    }
+
+    private final UserService userService;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration enqueueTimeout;
+    private final BlockingQueue<PendingRegistration> queue;
+    private final Map<String, String> reservedUsernames = new ConcurrentHashMap<>();
+    // Queued or being written: bounded by the queue capacity plus one batch, never expired
+    private final Map<String, RegistrationStatusResponse> pendingTickets = new ConcurrentHashMap<>();
+    private final Cache<String, RegistrationStatusResponse> outcomes;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder refused = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    // Enqueues hold the read lock and shutdown the write lock: once closed is set, no registration can still be
+    // on its way into the queue, so the writer's last empty poll means nothing is left to persist
+    private final ReadWriteLock shutdownLock = new ReentrantReadWriteLock();
+    private volatile boolean closed;
+    private Thread writer;
+
+    public WriteBehindRegistrations(UserService userService,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${registration.write-behind.enabled:false}") boolean enabled,
+                                    @Value("${registration.write-behind.queue-capacity:10000}") int queueCapacity,
+                                    @Value("${registration.write-behind.batch-size:1000}") int batchSize,
+                                    @Value("${registration.write-behind.enqueue-timeout:50ms}") Duration enqueueTimeout,
+                                    @Value("${registration.write-behind.ticket-ttl:10m}") Duration ticketTtl,
+                                    @Value("${registration.write-behind.max-tickets:100000}") long maxTickets) {
+        this.userService = userService;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.enqueueTimeout = enqueueTimeout;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.outcomes = Caffeine.newBuilder().maximumSize(maxTickets).expireAfterWrite(ticketTtl).build();
+
+        FunctionCounter.builder(METRIC_NAME, accepted, LongAdder::doubleValue).tag("result", "accepted")
+                .register(meterRegistry);
+        FunctionCounter.builder(METRIC_NAME, refused, LongAdder::doubleValue).tag("result", "refused")
+                .register(meterRegistry);
+        FunctionCounter.builder(METRIC_NAME, created, LongAdder::doubleValue).tag("result", "created")
+                .register(meterRegistry);
+        FunctionCounter.builder(METRIC_NAME, rejected, LongAdder::doubleValue).tag("result", "rejected")
+                .register(meterRegistry);
+        Gauge.builder("registration.write-behind.queue.size", queue, BlockingQueue::size).register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Accepts a registration that passed Bean Validation, to be persisted by the writer thread.
+     *
+     * @return the PENDING status of the registration, with its ticket
+     * @throws BusinessRuleException if a business rule rejects it
+     * @throws UserAlreadyExistsException if the username is registered or reserved by a pending registration
+     * @throws RegistrationQueueFullException if the queue stayed full for the whole enqueue timeout
+     */
+    public RegistrationStatusResponse submit(UserRegistrationRequest request) {
+        userService.validateBusinessRules(request);
+        String username = request.getUsername();
+        String ticket = UUID.randomUUID().toString();
+        if (reservedUsernames.putIfAbsent(username, ticket) != null) {
+            throw new UserAlreadyExistsException(username);
+        }
+        if (!userService.isUsernameAvailable(username)) {
+            reservedUsernames.remove(username, ticket);
+            throw new UserAlreadyExistsException(username);
+        }
+
+        RegistrationStatusResponse pending = RegistrationStatusResponse.builder()
+                .ticket(ticket)
+                .username(username)
+                .status(Status.PENDING)
+                .build();
+        pendingTickets.put(ticket, pending);
+        if (!enqueue(new PendingRegistration(ticket, request))) {
+            pendingTickets.remove(ticket);
+            reservedUsernames.remove(username, ticket);
+            refused.increment();
+            throw new RegistrationQueueFullException();
+        }
+        accepted.increment();
+        return pending;
+    }
+
+    /**
+     * @throws RegistrationTicketNotFoundException if the ticket is unknown or its outcome has expired
+     */
+    public RegistrationStatusResponse status(String ticket) {
+        // Pending first: complete() records the outcome before it drops the pending status
+        RegistrationStatusResponse status = pendingTickets.get(ticket);
+        if (status == null) {
+            status = outcomes.getIfPresent(ticket);
+        }
+        if (status == null) {
+            throw new RegistrationTicketNotFoundException(ticket);
+        }
+        return status;
+    }
+
+    /**
+     * @return {@code true} while a registration of {@code username} waits to be persisted
+     */
+    public boolean isReserved(String username) {
+        return reservedUsernames.containsKey(username);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (enabled) {
+            writer = Thread.ofPlatform().name("write-behind").daemon(true).start(this::write);
+        }
+    }
+
+    /**
+     * Stops the writer once every queued registration has been persisted. Later submissions are refused.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        shutdownLock.writeLock().lock();
+        try {
+            closed = true;
+        } finally {
+            shutdownLock.writeLock().unlock();
+        }
+        writer.join();
+        writer = null;
+    }
+
+    private boolean enqueue(PendingRegistration registration) {
+        shutdownLock.readLock().lock();
+        try {
+            return !closed && queue.offer(registration, enqueueTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            shutdownLock.readLock().unlock();
+        }
+    }
+
+    private void write() {
+        List<PendingRegistration> batch = new ArrayList<>(batchSize);
+        while (true) {
+            boolean stopping = closed;
+            PendingRegistration first;
+            try {
+                first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (first == null) {
+                if (stopping) {
+                    return;
+                }
+                continue;
+            }
+            batch.add(first);
+            queue.drainTo(batch, batchSize - 1);
+            persist(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Registers a batch in one transaction, or one registration at a time if the batch as a whole fails
+     * (for instance when a username was taken in the meantime through another endpoint).
+     */
+    private void persist(List<PendingRegistration> batch) {
+        List<UserRegistrationRequest> requests = batch.stream().map(PendingRegistration::request).toList();
+        List<BatchRegistrationResult> results;
+        try {
+            results = userService.registerBatch(requests).getResults();
+        } catch (RuntimeException ex) {
+            logger.warn("Write-behind batch of {} failed, registering one at a time: {}",
+                    batch.size(), ex.getMessage());
+            results = requests.stream().map(this::registerOne).toList();
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            complete(batch.get(i), results.get(i));
+        }
+    }
+
+    private BatchRegistrationResult registerOne(UserRegistrationRequest request) {
+        BatchRegistrationResult.BatchRegistrationResultBuilder result = BatchRegistrationResult.builder()
+                .username(request.getUsername());
+        try {
+            return result.status(BatchRegistrationResult.Status.CREATED)
+                    .user(userService.register(request))
+                    .build();
+        } catch (BusinessRuleException ex) {
+            return result.status(BatchRegistrationResult.Status.REJECTED)
+                    .errorCode(ex.getErrorCode())
+                    .message(ex.getMessage())
+                    .build();
+        } catch (RuntimeException ex) {
+            logger.error("Write-behind registration of {} failed", request.getUsername(), ex);
+            return result.status(BatchRegistrationResult.Status.REJECTED)
+                    .errorCode(ErrorCode.ERR_INTERNAL.getCode())
+                    .message("The registration could not be saved")
+                    .build();
+        }
+    }
+
+    private void complete(PendingRegistration registration, BatchRegistrationResult result) {
+        boolean isCreated = result.getStatus() == BatchRegistrationResult.Status.CREATED;
+        outcomes.put(registration.ticket(), RegistrationStatusResponse.builder()
+                .ticket(registration.ticket())
+                .username(registration.request().getUsername())
+                .status(isCreated ? Status.CREATED : Status.REJECTED)
+                .user(result.getUser())
+                .errorCode(result.getErrorCode())
+                .message(result.getMessage())
+                .build());
+        pendingTickets.remove(registration.ticket());
+        reservedUsernames.remove(registration.request().getUsername(), registration.ticket());
+        (isCreated ? created : rejected).increment();
+    }
+}
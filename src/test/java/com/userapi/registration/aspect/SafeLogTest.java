@@ -2,10 +2,29 @@ package com.userapi.registration.aspect;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
 import org.junit.jupiter.api.Test;
 
+import com.userapi.registration.dto.BatchRegistrationResult;
+import com.userapi.registration.dto.UserRegistrationRequest;
+import com.userapi.registration.dto.UserResponse;
+import com.userapi.registration.entity.Gender;
+import com.userapi.registration.logging.Sensitive;
+
 class SafeLogTest {
 
+    private final UserResponse response = UserResponse.builder()
+            .id(1L)
+            .username("bob")
+            .birthdate(LocalDate.of(2000, 1, 15))
+            .countryOfResidence("France")
+            .phoneNumber("+33612345678")
+            .gender(Gender.MALE)
+            .build();
+
     @Test
     void toSafeArgs_shouldReturnEmptyArrayWhenNull() {
         assertThat(SafeLog.toSafeArgs(null)).isEqualTo("[]");
@@ -17,28 +36,55 @@ class SafeLogTest {
     }
 
     @Test
-    void toSafeValue_shouldMaskPhoneNumberWhenPatternMatches() {
-        String input = "UserResponse(username='bob', phoneNumber='0612345678')";
+    void toSafeValue_shouldWriteFieldsLikeToStringWithSensitiveFieldsMasked() {
+        String safe = SafeLog.toSafeValue(response);
 
-        String safe = SafeLog.toSafeValue(input);
+        assertThat(safe).isEqualTo("UserResponse(id=1, username=bob, birthdate=2000-01-15, "
+                + "countryOfResidence=France, phoneNumber=+3***5678, gender=MALE, version=null)");
+    }
 
-        assertThat(safe).contains("phoneNumber='06***5678'");
+    @Test
+    void toSafeValue_shouldMaskShortPhoneWithStars() {
+        response.setPhoneNumber("12345");
+
+        String safe = SafeLog.toSafeValue(response);
+
+        assertThat(safe).contains("phoneNumber=***,");
     }
 
     @Test
-    void toSafeValue_shouldReturnSameStringWhenNoPhoneNumberPresent() {
-        String input = "UserResponse(username='bob')";
+    void toSafeValue_shouldWriteNullSensitiveField() {
+        response.setPhoneNumber(null);
 
-        assertThat(SafeLog.toSafeValue(input)).isEqualTo(input);
+        assertThat(SafeLog.toSafeValue(response)).contains("phoneNumber=null,");
     }
 
     @Test
-    void toSafeValue_shouldMaskShortPhoneWithStars() {
-        String input = "UserResponse(username='bob', phoneNumber='123')";
+    void toSafeValue_shouldMaskNestedValues() {
+        BatchRegistrationResult result = BatchRegistrationResult.builder()
+                .index(0)
+                .username("bob")
+                .status(BatchRegistrationResult.Status.CREATED)
+                .user(response)
+                .build();
+
+        String safe = SafeLog.toSafeValue(List.of(result, Map.of("user", response)));
+
+        assertThat(safe).startsWith("[BatchRegistrationResult(index=0, username=bob, status=CREATED, user=UserResponse(");
+        assertThat(safe).doesNotContain("612345678");
+        assertThat(safe).contains("{user=UserResponse(");
+    }
 
-        String safe = SafeLog.toSafeValue(input);
+    @Test
+    void toSafeValue_shouldHonourKeptCharacters() {
+        assertThat(SafeLog.toSafeValue(new Card("4970101234567890")))
+                .isEqualTo("Card(number=***7890)");
+    }
 
-        assertThat(safe).contains("phoneNumber='***'");
+    @Test
+    void toSafeValue_shouldReturnSameStringForPlainValues() {
+        assertThat(SafeLog.toSafeValue("UserResponse(username='bob')")).isEqualTo("UserResponse(username='bob')");
+        assertThat(SafeLog.toSafeValue(Gender.FEMALE)).isEqualTo("FEMALE");
     }
 
     @Test
@@ -54,10 +100,19 @@ class SafeLogTest {
 
     @Test
     void toSafeArgs_shouldHandleMultipleArgs() {
-        Object[] args = {"arg1", 123, "phoneNumber='0612345678'"};
+        UserRegistrationRequest request = UserRegistrationRequest.builder()
+                .username("bob")
+                .phoneNumber("0612345678")
+                .build();
+        Object[] args = {"arg1", 123, request};
+
         String result = SafeLog.toSafeArgs(args);
-        assertThat(result).contains("arg1");
-        assertThat(result).contains("123");
-        assertThat(result).contains("06***5678");
+
+        assertThat(result).startsWith("[arg1, 123, UserRegistrationRequest(username=bob, ");
+        assertThat(result).contains("phoneNumber=06***5678");
+        assertThat(result).doesNotContain("0612345678");
+    }
+
+    private record Card(@Sensitive(keepFirst = 0) String number) {
     }
 }
@@ -0,0 +1,49 @@
+package com.userapi.registration.aspect;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+/**
+ * Checks that the per-request thread-locals (IN_HTTP_CALL and the MDC correlation ID) stay isolated
+ * between requests running on virtual threads, including across blocking calls that unmount them.
+ */
+class VirtualThreadContextTest {
+
+    private static final int TASKS = 1_000;
+
+    @Test
+    void threadLocals_shouldStayIsolatedAcrossVirtualThreads() throws Exception {
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < TASKS; i++) {
+                String correlationId = "corr-" + i;
+                results.add(executor.submit(() -> {
+                    assertThat(ApiLoggingAspect.IN_HTTP_CALL.get()).isFalse();
+                    MDC.put("correlationId", correlationId);
+                    ApiLoggingAspect.IN_HTTP_CALL.set(true);
+                    try {
+                        Thread.sleep(5);
+                        return correlationId.equals(MDC.get("correlationId"))
+                                && ApiLoggingAspect.IN_HTTP_CALL.get();
+                    } finally {
+                        ApiLoggingAspect.IN_HTTP_CALL.remove();
+                        MDC.remove("correlationId");
+                    }
+                }));
+            }
+        }
+
+        for (Future<Boolean> result : results) {
+            assertThat(result.get()).isTrue();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.userapi.registration.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.userapi.registration.dto.CacheStatsResponse;
+import com.userapi.registration.dto.UserResponse;
+import com.userapi.registration.exception.UserNotFoundException;
+
+class UserDetailsCacheTest {
+
+    private final UserDetailsCache cache = new UserDetailsCache(100, Duration.ofMinutes(1), Duration.ofMinutes(1));
+
+    @Test
+    void get_shouldLoadOnceAndThenServeFromCache() {
+        AtomicInteger loads = new AtomicInteger();
+        UserResponse user = UserResponse.builder().id(1L).username("amine.bou").build();
+
+        cache.get("amine.bou", name -> {
+            loads.incrementAndGet();
+            return Optional.of(user);
+        });
+        UserResponse cached = cache.get("amine.bou", name -> {
+            loads.incrementAndGet();
+            return Optional.of(user);
+        });
+
+        assertThat(cached).isSameAs(user);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void put_shouldReplaceCachedNotFound() {
+        assertThatThrownBy(() -> cache.get("amine.bou", name -> Optional.empty()))
+                .isInstanceOf(UserNotFoundException.class);
+
+        cache.put(UserResponse.builder().id(1L).username("amine.bou").build());
+
+        assertThat(cache.get("amine.bou", name -> Optional.empty()).getId()).isEqualTo(1L);
+    }
+
+    @Test
+    void stats_shouldReportHitsAndMissesPerCache() {
+        cache.get("amine.bou", name -> Optional.of(UserResponse.builder().username(name).build()));
+        cache.get("amine.bou", name -> Optional.empty());
+        assertThatThrownBy(() -> cache.get("ghost", name -> Optional.empty()))
+                .isInstanceOf(UserNotFoundException.class);
+        assertThatThrownBy(() -> cache.get("ghost", name -> Optional.empty()))
+                .isInstanceOf(UserNotFoundException.class);
+
+        CacheStatsResponse users = cache.stats().get(0);
+        CacheStatsResponse notFound = cache.stats().get(1);
+
+        assertThat(users.getHitCount()).isEqualTo(1);
+        assertThat(users.getMissCount()).isEqualTo(3);
+        assertThat(notFound.getHitCount()).isEqualTo(1);
+        assertThat(notFound.getSize()).isEqualTo(1);
+    }
+}
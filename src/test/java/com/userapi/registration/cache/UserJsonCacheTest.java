@@ -0,0 +1,81 @@
+package com.userapi.registration.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import com.userapi.registration.dto.UserResponse;
+import com.userapi.registration.entity.Gender;
+
+import tools.jackson.databind.json.JsonMapper;
+
+class UserJsonCacheTest {
+
+    private final JsonMapper objectMapper = JsonMapper.builder().build();
+
+    @Test
+    void get_shouldSerializeOnceAndThenServeBytes() {
+        UserJsonCache cache = new UserJsonCache(objectMapper, DataSize.ofKilobytes(64), Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+
+        SerializedUser first = cache.get("amine.bou", name -> {
+            loads.incrementAndGet();
+            return user(1L, name);
+        });
+        SerializedUser second = cache.get("amine.bou", name -> {
+            loads.incrementAndGet();
+            return user(1L, name);
+        });
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+        assertThat(first.etag()).isEqualTo("\"1-0\"");
+        assertThat(new String(first.body(), StandardCharsets.UTF_8))
+                .isEqualTo(objectMapper.writeValueAsString(user(1L, "amine.bou")))
+                .doesNotContain("version");
+    }
+
+    @Test
+    void invalidate_shouldForceReload() {
+        UserJsonCache cache = new UserJsonCache(objectMapper, DataSize.ofKilobytes(64), Duration.ofMinutes(1));
+        cache.get("amine.bou", name -> user(1L, name));
+
+        cache.invalidate("amine.bou");
+
+        assertThat(cache.getIfPresent("amine.bou")).isNull();
+        assertThat(cache.get("amine.bou", name -> user(2L, name)).etag()).isEqualTo("\"2-0\"");
+    }
+
+    @Test
+    void put_shouldEvictEntries_beyondMemoryCap() {
+        DataSize cap = DataSize.ofKilobytes(2);
+        UserJsonCache cache = new UserJsonCache(objectMapper, cap, Duration.ofMinutes(1));
+
+        for (long id = 0; id < 100; id++) {
+            cache.get("user." + id, name -> user(0L, name));
+        }
+
+        int smallestEntry = UserJsonCache.weigh("user.0",
+                new SerializedUser(objectMapper.writeValueAsBytes(user(0L, "user.0")), "\"0-0\""));
+        assertThat(cache.stats().getSize()).isLessThanOrEqualTo(cap.toBytes() / smallestEntry);
+        assertThat(cache.stats().getEvictionCount()).isPositive();
+    }
+
+    private static UserResponse user(long id, String username) {
+        return UserResponse.builder()
+                .id(id)
+                .username(username)
+                .birthdate(LocalDate.of(2000, 1, 15))
+                .countryOfResidence("France")
+                .phoneNumber("+33612345678")
+                .gender(Gender.MALE)
+                .version(0L)
+                .build();
+    }
+}
@@ -0,0 +1,57 @@
+package com.userapi.registration.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class UserVersionIndexTest {
+
+    private final UserVersionIndex index = new UserVersionIndex(100);
+
+    @Test
+    void get_shouldLoadOnceAndThenServeFromIndex() {
+        AtomicInteger loads = new AtomicInteger();
+
+        Optional<String> first = index.get("amine.bou", name -> {
+            loads.incrementAndGet();
+            return Optional.of(new UserVersion(7L, 2L));
+        });
+        Optional<String> second = index.get("amine.bou", name -> {
+            loads.incrementAndGet();
+            return Optional.of(new UserVersion(7L, 2L));
+        });
+
+        assertThat(first).contains("\"7-2\"");
+        assertThat(second).contains("\"7-2\"");
+        assertThat(loads).hasValue(1);
+        assertThat(index.stats().getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void get_shouldNotRememberUnknownUsers() {
+        AtomicInteger loads = new AtomicInteger();
+
+        index.get("nobody", name -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+        Optional<String> etag = index.get("nobody", name -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+
+        assertThat(etag).isEmpty();
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void put_shouldReplaceETag() {
+        index.put("amine.bou", UserVersion.etag(1L, 0L));
+        index.put("amine.bou", UserVersion.etag(2L, 0L));
+
+        assertThat(index.get("amine.bou", name -> Optional.empty())).contains("\"2-0\"");
+    }
+}
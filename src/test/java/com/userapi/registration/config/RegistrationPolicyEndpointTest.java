@@ -0,0 +1,86 @@
+package com.userapi.registration.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import com.userapi.registration.domain.policy.RegistrationPolicies;
+
+class RegistrationPolicyEndpointTest {
+
+    @TempDir
+    private Path directory;
+
+    private StandardEnvironment environment;
+    private RegistrationPolicies policies;
+
+    @BeforeEach
+    void setUp() {
+        environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("application", Map.of(
+                "registration.policy.minimum-age", "18",
+                "registration.policy.allowed-countries", "France")));
+        policies = new RegistrationPolicies(Clock.systemUTC(), 30, List.of("Spain"));
+    }
+
+    @Test
+    void reload_shouldApplyTheApplicationConfiguration_whenNoFileIsSet() {
+        new RegistrationPolicyEndpoint(policies, environment, "").reload();
+
+        assertThat(policies.getMinimumAge()).isEqualTo(18);
+        assertThat(policies.getAllowedCountries()).containsExactly("france");
+    }
+
+    @Test
+    void reload_shouldPreferThePolicyFile() throws IOException {
+        Path file = directory.resolve("policy.properties");
+        Files.writeString(file, "registration.policy.allowed-countries=France,Belgium\n");
+        RegistrationPolicyEndpoint endpoint = new RegistrationPolicyEndpoint(policies, environment, file.toString());
+
+        endpoint.afterPropertiesSet();
+
+        assertThat(policies.getMinimumAge()).isEqualTo(18);
+        assertThat(policies.getAllowedCountries()).containsExactly("france", "belgium");
+
+        Files.writeString(file, "registration.policy.minimum-age=21\nregistration.policy.allowed-countries=France\n");
+        endpoint.reload();
+
+        assertThat(endpoint.policies().getMinimumAge()).isEqualTo(21);
+        assertThat(endpoint.policies().getAllowedCountries()).containsExactly("france");
+    }
+
+    @Test
+    void reload_shouldKeepThePreviousRules_whenTheFileIsInvalid() throws IOException {
+        Path file = directory.resolve("policy.properties");
+        Files.writeString(file, "registration.policy.minimum-age=-1\n");
+        RegistrationPolicyEndpoint endpoint = new RegistrationPolicyEndpoint(policies, environment, file.toString());
+
+        assertThatThrownBy(endpoint::reload).isInstanceOf(InvalidEndpointRequestException.class);
+
+        assertThat(policies.getMinimumAge()).isEqualTo(30);
+    }
+
+    @Test
+    void reload_shouldFail_whenTheFileIsMissing() {
+        RegistrationPolicyEndpoint endpoint =
+                new RegistrationPolicyEndpoint(policies, environment, directory.resolve("missing").toString());
+
+        assertThatThrownBy(endpoint::reload).isInstanceOf(UncheckedIOException.class);
+
+        assertThat(policies.getAllowedCountries()).containsExactly("spain");
+    }
+}
@@ -1,9 +1,21 @@
 package com.userapi.registration.controller;
 
 import tools.jackson.databind.ObjectMapper;
+import com.userapi.registration.cache.UserDetailsCache;
+import com.userapi.registration.cache.UserJsonCache;
+import com.userapi.registration.cache.UserVersionIndex;
+import com.userapi.registration.config.CacheStatsEndpoint;
+import com.userapi.registration.config.RegistrationPolicyEndpoint;
+import com.userapi.registration.domain.policy.RegistrationPolicies;
+import com.userapi.registration.dto.CacheStatsResponse;
+import com.userapi.registration.dto.RegistrationPolicyResponse;
 import com.userapi.registration.dto.UserRegistrationRequest;
 import com.userapi.registration.entity.Gender;
+import com.userapi.registration.index.UsernamePrefixIndex;
 import com.userapi.registration.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,7 +27,9 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.time.LocalDate;
+import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -36,12 +50,39 @@ class UserControllerIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private UserVersionIndex userVersionIndex;
+
+    @Autowired
+    private UserJsonCache userJsonCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private RegistrationPolicies registrationPolicies;
+
+    @Autowired
+    private RegistrationPolicyEndpoint registrationPolicyEndpoint;
+
+    @Autowired
+    private CacheStatsEndpoint cacheStatsEndpoint;
+
+    @Autowired
+    private UsernamePrefixIndex usernameIndex;
+
     private UserRegistrationRequest validRequest;
 
     @BeforeEach
     void setUp() {
         mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
         userRepository.deleteAll();
+        userDetailsCache.invalidateAll();
+        userVersionIndex.invalidateAll();
+        userJsonCache.invalidateAll();
 
         validRequest = UserRegistrationRequest.builder()
                 .username("amine.bou")
@@ -63,7 +104,7 @@ class UserControllerIntegrationTest {
                 .andExpect(jsonPath("$.username").value("amine.bou"))
                 .andExpect(jsonPath("$.birthdate").value("2000-01-01"))
                 .andExpect(jsonPath("$.countryOfResidence").value("France"))
-                .andExpect(jsonPath("$.phoneNumber").value("0612345678"))
+                .andExpect(jsonPath("$.phoneNumber").value("+33612345678"))
                 .andExpect(jsonPath("$.gender").value("MALE"));
     }
 
@@ -163,7 +204,7 @@ class UserControllerIntegrationTest {
                         .content(objectMapper.writeValueAsString(validRequest)))
                 .andExpect(status().isUnprocessableContent())
                 .andExpect(jsonPath("$.errorCode").value("ERR_RULE_COUNTRY_FR"))
-                .andExpect(jsonPath("$.message").value(containsString("French resident")));
+                .andExpect(jsonPath("$.message").value("Only residents of France can register"));
     }
 
     @Test
@@ -199,10 +240,63 @@ class UserControllerIntegrationTest {
                 .andExpect(jsonPath("$.username").value("amine.bou"))
                 .andExpect(jsonPath("$.birthdate").value("2000-01-01"))
                 .andExpect(jsonPath("$.countryOfResidence").value("France"))
-                .andExpect(jsonPath("$.phoneNumber").value("0612345678"))
+                .andExpect(jsonPath("$.phoneNumber").value("+33612345678"))
                 .andExpect(jsonPath("$.gender").value("MALE"));
     }
 
+    @Test
+    void getUserDetails_shouldServeSameBodyFromSerializedCache() throws Exception {
+        mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isCreated());
+
+        String first = mockMvc.perform(get("/api/users/{username}", "amine.bou"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsString();
+        assertThat(userJsonCache.getIfPresent("amine.bou")).isNotNull();
+
+        mockMvc.perform(get("/api/users/{username}", "amine.bou"))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue("Content-Length", first.length()))
+                .andExpect(content().string(first));
+    }
+
+    @Test
+    void getUserDetails_shouldReturn304_whenETagMatches() throws Exception {
+        mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isCreated());
+
+        String etag = mockMvc.perform(get("/api/users/{username}", "amine.bou"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", matchesPattern("\"\\d+-0\"")))
+                .andExpect(jsonPath("$.version").doesNotExist())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/users/{username}", "amine.bou").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/api/users/{username}", "amine.bou").header("If-None-Match", "\"0-0\", W/" + etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(get("/api/users/{username}", "amine.bou").header("If-None-Match", "\"0-0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(jsonPath("$.username").value("amine.bou"));
+    }
+
+    @Test
+    void getUserDetails_shouldReturn404_whenETagIsSentForUnknownUser() throws Exception {
+        mockMvc.perform(get("/api/users/{username}", "nonexistent").header("If-None-Match", "\"1-0\""))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorCode").value("ERR_USER_NOT_FOUND"));
+    }
+
     @Test
     void getUserDetails_shouldReturn404_whenUserDoesNotExist() throws Exception {
         mockMvc.perform(get("/api/users/{username}", "nonexistent"))
@@ -261,4 +355,213 @@ class UserControllerIntegrationTest {
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.phoneNumber").isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void registerBatch_shouldReturnPerItemResults() throws Exception {
+        UserRegistrationRequest minor = UserRegistrationRequest.builder()
+                .username("young.one")
+                .birthdate(LocalDate.now().minusYears(17))
+                .countryOfResidence("France")
+                .build();
+        UserRegistrationRequest invalid = UserRegistrationRequest.builder()
+                .username("ab")
+                .birthdate(LocalDate.of(2000, 1, 1))
+                .countryOfResidence("France")
+                .build();
+
+        mockMvc.perform(post("/api/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(validRequest, minor, invalid, validRequest))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.rejected").value(3))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[0].user.id").isNumber())
+                .andExpect(jsonPath("$.results[1].errorCode").value("ERR_RULE_AGE_MIN"))
+                .andExpect(jsonPath("$.results[2].errorCode").value("ERR_VALIDATION"))
+                .andExpect(jsonPath("$.results[3].errorCode").value("ERR_USER_ALREADY_EXISTS"));
+
+        mockMvc.perform(get("/api/users/{username}", "amine.bou"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void importUsers_shouldStreamOneResultLinePerRecord() throws Exception {
+        String ndjson = objectMapper.writeValueAsString(validRequest) + "\n"
+                + "{not json\n"
+                + objectMapper.writeValueAsString(validRequest) + "\n";
+
+        mockMvc.perform(post("/api/users/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(allOf(
+                        containsString("\"index\":1"),
+                        containsString("\"status\":\"CREATED\""),
+                        containsString("ERR_JSON_PARSE"),
+                        containsString("ERR_USER_ALREADY_EXISTS"))));
+
+        mockMvc.perform(get("/api/users/{username}", "amine.bou"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getUsernameAvailability_shouldReflectRegistrations() throws Exception {
+        mockMvc.perform(get("/api/users/{username}/availability", "amine.bou"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.available").value(true));
+
+        mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/users/{username}/availability", "amine.bou"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("amine.bou"))
+                .andExpect(jsonPath("$.available").value(false));
+    }
+
+    @Test
+    void getCacheStats_shouldCountHitsAndMisses() throws Exception {
+        mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/api/users/{username}", "amine.bou")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/users/{username}", "amine.bou")).andExpect(status().isOk());
+
+        // The second lookup is served from the serialized JSON cache, in front of the user details cache
+        List<CacheStatsResponse> stats = cacheStatsEndpoint.stats();
+
+        assertThat(stats).extracting(CacheStatsResponse::getName).containsExactly(
+                "user-details", "user-details-not-found", "user-versions", "user-json", "user-off-heap");
+        assertThat(stats.get(0).getMissCount()).isGreaterThanOrEqualTo(1);
+        assertThat(stats.get(3).getHitCount()).isGreaterThanOrEqualTo(1);
+        assertThat(stats.get(3).getMissCount()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void register_shouldCountRejectionsPerErrorCode() throws Exception {
+        double before = rejectionCount("ERR_USER_ALREADY_EXISTS");
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/users")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(validRequest)));
+        }
+
+        assertThat(rejectionCount("ERR_USER_ALREADY_EXISTS") - before).isEqualTo(1.0);
+    }
+
+    @Test
+    void getUserDetails_shouldNotCountNotFoundAsRejection() throws Exception {
+        mockMvc.perform(get("/api/users/{username}", "unknown.user")).andExpect(status().isNotFound());
+
+        assertThat(meterRegistry.find("registration.rejections").tag("status", "404").counter()).isNull();
+    }
+
+    @Test
+    void getUserDetails_shouldTimeRepositoryCalls() throws Exception {
+        mockMvc.perform(get("/api/users/{username}", "unknown.user")).andExpect(status().isNotFound());
+
+        Timer timer = meterRegistry.find("registration.repository.invocations")
+                .tags("method", "findByUsername", "outcome", "SUCCESS")
+                .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isGreaterThanOrEqualTo(1);
+    }
+
+    private double rejectionCount(String errorCode) {
+        Counter counter = meterRegistry.find("registration.rejections").tag("errorCode", errorCode).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    @Test
+    void reloadPolicies_shouldRestoreConfiguredRules() throws Exception {
+        validRequest.setBirthdate(LocalDate.now().minusYears(19));
+        RegistrationPolicyResponse reloaded;
+        try {
+            registrationPolicies.reload(21, List.of("France", "Belgium"));
+            mockMvc.perform(post("/api/users")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(validRequest)))
+                    .andExpect(status().isUnprocessableContent())
+                    .andExpect(jsonPath("$.errorCode").value("ERR_RULE_AGE_MIN"))
+                    .andExpect(jsonPath("$.message").value(containsString("21")));
+
+            reloaded = registrationPolicyEndpoint.reload();
+        } finally {
+            registrationPolicies.reload(18, List.of("France"));
+        }
+
+        assertThat(reloaded.getMinimumAge()).isEqualTo(18);
+        assertThat(reloaded.getAllowedCountries()).containsExactly("france");
+        mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void listUsers_shouldWalkAllPagesWithCursor() throws Exception {
+        List<UserRegistrationRequest> requests = List.of("user.a", "user.b", "user.c", "user.d", "user.e").stream()
+                .map(username -> UserRegistrationRequest.builder()
+                        .username(username)
+                        .birthdate(LocalDate.of(2000, 1, 1))
+                        .countryOfResidence("France")
+                        .build())
+                .toList();
+        mockMvc.perform(post("/api/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk());
+
+        String firstPage = mockMvc.perform(get("/api/users").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users[*].username", contains("user.a", "user.b")))
+                .andExpect(jsonPath("$.nextCursor").isNumber())
+                .andReturn().getResponse().getContentAsString();
+        long cursor = objectMapper.readTree(firstPage).get("nextCursor").asLong();
+
+        String secondPage = mockMvc.perform(get("/api/users").param("size", "2").param("after", String.valueOf(cursor)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users[*].username", contains("user.c", "user.d")))
+                .andReturn().getResponse().getContentAsString();
+        cursor = objectMapper.readTree(secondPage).get("nextCursor").asLong();
+
+        mockMvc.perform(get("/api/users").param("size", "2").param("after", String.valueOf(cursor)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users[*].username", contains("user.e")))
+                .andExpect(jsonPath("$.nextCursor").value(nullValue()));
+    }
+
+    @Test
+    void searchUsernames_shouldReturnMatchesFromIndex() throws Exception {
+        // Registrations only reach the index once committed, and test transactions roll back
+        assertThat(usernameIndex.isReady()).isTrue();
+        usernameIndex.add("search.carol");
+        usernameIndex.add("search.alice");
+        usernameIndex.add("search.bob");
+        usernameIndex.add("searching");
+
+        mockMvc.perform(get("/api/users").param("prefix", "search.").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.prefix").value("search."))
+                .andExpect(jsonPath("$.usernames", contains("search.alice", "search.bob")));
+    }
+
+    @Test
+    void getUserDetails_shouldServeUserNamedSearch() throws Exception {
+        validRequest.setUsername("search");
+        mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/users/{username}", "search"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("search"));
+    }
+}
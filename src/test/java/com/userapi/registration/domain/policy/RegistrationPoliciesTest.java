@@ -1,9 +1,15 @@
 package com.userapi.registration.domain.policy;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
@@ -11,12 +17,24 @@ import org.junit.jupiter.params.provider.ValueSource;
 
 class RegistrationPoliciesTest {
 
+    private static final ZoneId PARIS = ZoneId.of("Europe/Paris");
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 1);
+
+    private MutableClock clock;
+    private RegistrationPolicies policies;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(TODAY.atTime(12, 0).atZone(PARIS).toInstant(), PARIS);
+        policies = new RegistrationPolicies(clock, 18, List.of("France"));
+    }
+
     @ParameterizedTest
     @ValueSource(ints = {18, 19, 25, 30, 65})
     void isAdult_shouldReturnTrue_whenAgeIsAtLeast18(int years) {
-        LocalDate birthdate = LocalDate.now().minusYears(years);
+        LocalDate birthdate = TODAY.minusYears(years);
 
-        boolean result = RegistrationPolicies.isAdult(birthdate);
+        boolean result = policies.isAdult(birthdate);
 
         assertThat(result).isTrue();
     }
@@ -24,57 +42,130 @@ class RegistrationPoliciesTest {
     @ParameterizedTest
     @ValueSource(ints = {0, 1, 10, 17})
     void isAdult_shouldReturnFalse_whenAgeIsUnder18(int years) {
-        LocalDate birthdate = LocalDate.now().minusYears(years);
+        LocalDate birthdate = TODAY.minusYears(years);
 
-        boolean result = RegistrationPolicies.isAdult(birthdate);
+        boolean result = policies.isAdult(birthdate);
 
         assertThat(result).isFalse();
     }
 
     @Test
     void isAdult_shouldReturnFalse_when18YearsMinusOneDay() {
-        LocalDate birthdate = LocalDate.now().minusYears(18).plusDays(1);
+        LocalDate birthdate = TODAY.minusYears(18).plusDays(1);
 
-        boolean result = RegistrationPolicies.isAdult(birthdate);
+        boolean result = policies.isAdult(birthdate);
 
         assertThat(result).isFalse();
     }
 
     @Test
     void isAdult_shouldReturnFalse_whenBirthdateIsNull() {
-        boolean result = RegistrationPolicies.isAdult(null);
+        boolean result = policies.isAdult(null);
 
         assertThat(result).isFalse();
     }
 
+    @Test
+    void isAdult_shouldTreatLeapDayBirthdaysLikePeriod() {
+        // 2026 is not a leap year: someone born on 2008-02-29 turns 18 on 2026-03-01
+        assertThat(policies.isAdult(LocalDate.of(2008, 2, 29))).isTrue();
+
+        clock.set(LocalDate.of(2026, 2, 28).atTime(12, 0).atZone(PARIS).toInstant());
+
+        assertThat(policies.isAdult(LocalDate.of(2008, 2, 29))).isFalse();
+    }
+
+    @Test
+    void isAdult_shouldMoveCutoffAtMidnightInTheClockZone() {
+        LocalDate eighteenTomorrow = TODAY.plusDays(1).minusYears(18);
+        assertThat(policies.isAdult(eighteenTomorrow)).isFalse();
+
+        clock.set(TODAY.plusDays(1).atStartOfDay(PARIS).toInstant().minusMillis(1));
+        assertThat(policies.isAdult(eighteenTomorrow)).isFalse();
+
+        clock.set(TODAY.plusDays(1).atStartOfDay(PARIS).toInstant());
+        assertThat(policies.isAdult(eighteenTomorrow)).isTrue();
+        assertThat(policies.getAdultCutoff()).isEqualTo(eighteenTomorrow);
+    }
+
     @ParameterizedTest
     @ValueSource(strings = {"France", "france", "FRANCE", "FrAnCe", "  France  "})
-    void isFrenchResident_shouldReturnTrue_whenCountryIsFrance(String country) {
-        boolean result = RegistrationPolicies.isFrenchResident(country);
+    void isAllowedCountry_shouldReturnTrue_whenCountryIsFrance(String country) {
+        boolean result = policies.isAllowedCountry(country);
 
         assertThat(result).isTrue();
     }
 
     @ParameterizedTest
-    @ValueSource(strings = {"Germany", "Spain", "Italy", "   "})
+    @ValueSource(strings = {"Germany", "Spain", "Italy", "   ", "Fran", "Frances", "Fr ance"})
     @NullAndEmptySource
-    void isFrenchResident_shouldReturnFalse_whenCountryIsNotFrance(String country) {
-        boolean result = RegistrationPolicies.isFrenchResident(country);
+    void isAllowedCountry_shouldReturnFalse_whenCountryIsNotFrance(String country) {
+        boolean result = policies.isAllowedCountry(country);
 
         assertThat(result).isFalse();
     }
 
     @Test
-    void getMinimumAge_shouldReturn18() {
-        int minimumAge = RegistrationPolicies.getMinimumAge();
+    void getters_shouldReturnConfiguredRules() {
+        assertThat(policies.getMinimumAge()).isEqualTo(18);
+        assertThat(policies.getAllowedCountries()).containsExactly("france");
+        assertThat(policies.getAdultCutoff()).isEqualTo(LocalDate.of(2008, 3, 1));
+    }
 
-        assertThat(minimumAge).isEqualTo(18);
+    @Test
+    void reload_shouldReplaceRules() {
+        policies.reload(21, List.of(" Belgium ", "FRANCE", "france"));
+
+        assertThat(policies.getMinimumAge()).isEqualTo(21);
+        assertThat(policies.getAllowedCountries()).containsExactly("belgium", "france");
+        assertThat(policies.getAllowedCountryNames()).containsExactly("Belgium", "FRANCE");
+        assertThat(policies.isAdult(TODAY.minusYears(20))).isFalse();
+        assertThat(policies.isAdult(TODAY.minusYears(21))).isTrue();
+        assertThat(policies.isAllowedCountry("belgium")).isTrue();
+        assertThat(policies.isAllowedCountry("Germany")).isFalse();
     }
 
     @Test
-    void getFrance_shouldReturnFrance() {
-        String france = RegistrationPolicies.getFrance();
+    void reload_shouldRejectInvalidRules_andKeepPreviousOnes() {
+        assertThatThrownBy(() -> policies.reload(-1, List.of("France")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> policies.reload(18, List.of(" ")))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(policies.getMinimumAge()).isEqualTo(18);
+        assertThat(policies.getAllowedCountries()).containsExactly("france");
+    }
 
-        assertThat(france).isEqualTo("France");
+    /**
+     * Clock that tests can move, in both directions.
+     */
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant instant;
+        private final ZoneId zone;
+
+        MutableClock(Instant instant, ZoneId zone) {
+            this.instant = instant;
+            this.zone = zone;
+        }
+
+        void set(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return new MutableClock(instant, zone);
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
     }
-}
\ No newline at end of file
+}
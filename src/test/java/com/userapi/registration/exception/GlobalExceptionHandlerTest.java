@@ -0,0 +1,83 @@
+package com.userapi.registration.exception;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import com.userapi.registration.dto.UserRegistrationRequest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+class GlobalExceptionHandlerTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+
+    @Test
+    void describeParseError_shouldReportInvalidDate() {
+        Throwable ex = parse("{\"username\": \"amine.bou\", \"birthdate\": \"15/01/2000\"}");
+
+        assertThat(GlobalExceptionHandler.describeParseError(ex)).startsWith("Invalid date format for 'birthdate'");
+    }
+
+    @Test
+    void describeParseError_shouldReportInvalidGender() {
+        Throwable ex = parse("{\"username\": \"amine.bou\", \"gender\": \"UNKNOWN\"}");
+
+        assertThat(GlobalExceptionHandler.describeParseError(ex)).startsWith("Invalid gender value");
+    }
+
+    @Test
+    void describeParseError_shouldReportMalformedJson_otherwise() {
+        Throwable ex = parse("{\"username\": \"amine.bou\",");
+
+        assertThat(GlobalExceptionHandler.describeParseError(ex)).isEqualTo("Malformed JSON request");
+    }
+
+    @Test
+    void describeParseError_shouldReportMalformedJson_forOtherTypeMismatches() {
+        Throwable ex = parse("{\"username\": [\"amine.bou\"]}");
+
+        assertThat(GlobalExceptionHandler.describeParseError(ex)).isEqualTo("Malformed JSON request");
+    }
+
+    @Test
+    void businessRuleExceptions_shouldNotCaptureStackTrace() {
+        BusinessRuleException ex = new UserNotAdultException(18);
+
+        assertThat(ex.getStackTrace()).isEmpty();
+        assertThat(ex.getErrorCode()).isEqualTo("ERR_RULE_AGE_MIN");
+        assertThat(ex.getMessage()).isEqualTo("User must be at least 18 years old");
+    }
+
+    @Test
+    void buildResponse_shouldCountBusinessRejections() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GlobalExceptionHandler handler = new GlobalExceptionHandler(meterRegistry);
+
+        handler.handleBusinessRuleViolation(new UserNotAdultException(18), new MockHttpServletRequest());
+
+        assertThat(meterRegistry.get("registration.rejections").tag("errorCode", "ERR_RULE_AGE_MIN").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void buildResponse_shouldNotCountServerErrors() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GlobalExceptionHandler handler = new GlobalExceptionHandler(meterRegistry);
+
+        handler.handleGenericException(new IllegalStateException("boom"), new MockHttpServletRequest());
+
+        assertThat(meterRegistry.find("registration.rejections").counters()).isEmpty();
+    }
+
+    private Throwable parse(String json) {
+        Throwable ex = catchThrowable(() -> objectMapper.readValue(json, UserRegistrationRequest.class));
+        assertThat(ex).isNotNull();
+        return ex;
+    }
+}
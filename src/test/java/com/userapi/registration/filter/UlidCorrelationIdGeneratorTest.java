@@ -0,0 +1,52 @@
+package com.userapi.registration.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class UlidCorrelationIdGeneratorTest {
+
+    @Test
+    void nextId_shouldEncodeTimestampInFirstTenCharacters() {
+        // Timestamp of the example in the ULID specification
+        Clock clock = Clock.fixed(Instant.ofEpochMilli(1_469_918_176_385L), ZoneOffset.UTC);
+
+        String id = new UlidCorrelationIdGenerator(clock).nextId();
+
+        assertThat(id).hasSize(26);
+        assertThat(id).startsWith("01ARYZ6S41");
+        assertThat(id).matches("[0-9A-HJKMNP-TV-Z]{26}");
+    }
+
+    @Test
+    void nextId_shouldSortByCreationTime() {
+        Clock earlier = Clock.fixed(Instant.parse("2026-01-01T10:00:00.000Z"), ZoneOffset.UTC);
+        Clock later = Clock.fixed(Instant.parse("2026-01-01T10:00:00.001Z"), ZoneOffset.UTC);
+
+        for (int i = 0; i < 100; i++) {
+            String first = new UlidCorrelationIdGenerator(earlier).nextId();
+            String second = new UlidCorrelationIdGenerator(later).nextId();
+
+            assertThat(first).isLessThan(second);
+        }
+    }
+
+    @Test
+    void nextId_shouldBeUnique_withinTheSameMillisecond() {
+        UlidCorrelationIdGenerator generator =
+                new UlidCorrelationIdGenerator(Clock.fixed(Instant.now(), ZoneOffset.UTC));
+        Set<String> ids = new HashSet<>();
+
+        for (int i = 0; i < 100_000; i++) {
+            ids.add(generator.nextId());
+        }
+
+        assertThat(ids).hasSize(100_000);
+    }
+}
@@ -0,0 +1,77 @@
+package com.userapi.registration.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.userapi.registration.repository.UserRepository;
+import com.userapi.registration.sharding.UserShards;
+
+@ExtendWith(MockitoExtension.class)
+class RegisteredUsernameFilterTest {
+
+    private static final int USERS = 20_000;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final UserShards shards = new UserShards(1);
+
+    @Test
+    void mightExist_shouldReturnTrueUntilLoaded() {
+        RegisteredUsernameFilter filter = new RegisteredUsernameFilter(userRepository, shards, true, 1_000, 0.01);
+
+        assertThat(filter.mightExist("anyone")).isTrue();
+    }
+
+    @Test
+    void load_shouldIndexExistingUsernamesAndAddedOnes() {
+        when(userRepository.streamAllUsernames()).thenReturn(Stream.of("amine.bou"));
+        RegisteredUsernameFilter filter = new RegisteredUsernameFilter(userRepository, shards, true, 1_000, 0.01);
+
+        filter.load();
+        filter.add("jane.doe");
+
+        assertThat(filter.mightExist("amine.bou")).isTrue();
+        assertThat(filter.mightExist("jane.doe")).isTrue();
+    }
+
+    @Test
+    void disabledFilter_shouldNeverQueryRepository() {
+        RegisteredUsernameFilter filter = new RegisteredUsernameFilter(userRepository, shards, false, 1_000, 0.01);
+
+        filter.load();
+
+        assertThat(filter.mightExist("anyone")).isTrue();
+        verify(userRepository, never()).streamAllUsernames();
+    }
+
+    /**
+     * Database load comparison: how many availability checks still need a database query
+     * for usernames that are all free, with the filter on and off.
+     */
+    @Test
+    void databaseChecks_shouldDropByTwoOrdersOfMagnitudeWithFilterEnabled() {
+        when(userRepository.streamAllUsernames())
+                .thenReturn(IntStream.range(0, USERS).mapToObj(i -> "registered." + i));
+        RegisteredUsernameFilter enabled = new RegisteredUsernameFilter(userRepository, shards, true, USERS, 0.01);
+        RegisteredUsernameFilter disabled = new RegisteredUsernameFilter(userRepository, shards, false, USERS, 0.01);
+        enabled.load();
+        disabled.load();
+
+        long checksWithFilter = IntStream.range(0, USERS).filter(i -> enabled.mightExist("new." + i)).count();
+        long checksWithoutFilter = IntStream.range(0, USERS).filter(i -> disabled.mightExist("new." + i)).count();
+
+        assertThat(checksWithoutFilter).isEqualTo(USERS);
+        assertThat(checksWithFilter).isLessThan(USERS / 50);
+    }
+}
@@ -0,0 +1,70 @@
+package com.userapi.registration.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.userapi.registration.repository.UserRepository;
+import com.userapi.registration.sharding.UserShards;
+
+@ExtendWith(MockitoExtension.class)
+class UsernamePrefixIndexTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final UserShards shards = new UserShards(1);
+
+    @Test
+    void isReady_shouldReturnFalseUntilLoaded() {
+        UsernamePrefixIndex index = new UsernamePrefixIndex(userRepository, shards, true);
+
+        assertThat(index.isReady()).isFalse();
+    }
+
+    @Test
+    void search_shouldReturnMatchesInOrder_fromLoadedAndAddedUsernames() {
+        when(userRepository.streamAllUsernames()).thenReturn(Stream.of("amine.k", "bob", "amine.bou", "amina"));
+        UsernamePrefixIndex index = new UsernamePrefixIndex(userRepository, shards, true);
+
+        index.load();
+        index.add("amine.abc");
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.search("amine", 10)).containsExactly("amine.abc", "amine.bou", "amine.k");
+        assertThat(index.search("amine", 2)).containsExactly("amine.abc", "amine.bou");
+        assertThat(index.search("", 10)).hasSize(5);
+        assertThat(index.search("Amine", 10)).isEmpty();
+        assertThat(index.search("zoe", 10)).isEmpty();
+    }
+
+    @Test
+    void add_shouldIgnoreDuplicates() {
+        UsernamePrefixIndex index = new UsernamePrefixIndex(userRepository, shards, true);
+
+        index.add("amine.bou");
+        index.add("amine.bou");
+
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void disabledIndex_shouldNeverQueryRepository() {
+        UsernamePrefixIndex index = new UsernamePrefixIndex(userRepository, shards, false);
+
+        index.load();
+        index.add("amine.bou");
+
+        assertThat(index.isReady()).isFalse();
+        assertThat(index.size()).isZero();
+        verify(userRepository, never()).streamAllUsernames();
+    }
+}
@@ -0,0 +1,82 @@
+package com.userapi.registration.load;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the same concurrent registration workload over HTTP against one execution mode.
+ * Subclasses pick the mode; the Tomcat pool is deliberately small so that, in platform mode, it is the bottleneck.
+ * Throughput and p99 are logged so that both modes can be compared from the test output.
+ * Tagged {@code load}: left out of the default test run, run with {@code ./mvnw test -Pload-tests}.
+ */
+@Tag("load")
+abstract class AbstractExecutionModeLoadTest {
+
+    static final String COMMON_PROPERTIES = "server.tomcat.threads.max=20";
+
+    private static final Logger logger = LoggerFactory.getLogger(AbstractExecutionModeLoadTest.class);
+    private static final int REQUESTS = 2_000;
+    private static final int CONCURRENCY = 200;
+
+    @Value("${local.server.port}")
+    private int port;
+
+    abstract String mode();
+
+    @Test
+    void concurrentRegistrations_shouldAllSucceed() throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        long[] latencies = new long[REQUESTS];
+        List<CompletableFuture<Integer>> responses = new ArrayList<>(REQUESTS);
+
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            inFlight.acquire();
+            int index = i;
+            long sentNanos = System.nanoTime();
+            responses.add(client.sendAsync(registration(mode() + "." + i), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        latencies[index] = System.nanoTime() - sentNanos;
+                        inFlight.release();
+                    })
+                    .thenApply(HttpResponse::statusCode));
+        }
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+        long durationNanos = System.nanoTime() - startNanos;
+
+        Arrays.sort(latencies);
+        logger.info("Execution mode {}: requests={} concurrency={} throughput={}/s p50={}ms p99={}ms",
+                mode(), REQUESTS, CONCURRENCY,
+                REQUESTS * 1_000_000_000L / durationNanos,
+                latencies[REQUESTS / 2] / 1_000_000,
+                latencies[REQUESTS * 99 / 100] / 1_000_000);
+
+        assertThat(responses).allSatisfy(response -> assertThat(response.join()).isEqualTo(201));
+    }
+
+    private HttpRequest registration(String username) {
+        String body = """
+                {"username":"%s","birthdate":"2000-01-01","countryOfResidence":"France"}
+                """.formatted(username);
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/users"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
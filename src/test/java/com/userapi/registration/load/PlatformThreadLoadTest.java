@@ -0,0 +1,17 @@
+package com.userapi.registration.load;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        AbstractExecutionModeLoadTest.COMMON_PROPERTIES,
+        "spring.threads.virtual.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:load-platform",
+        "logging.level.com.userapi.registration=INFO"
+})
+class PlatformThreadLoadTest extends AbstractExecutionModeLoadTest {
+
+    @Override
+    String mode() {
+        return "platform";
+    }
+}
@@ -0,0 +1,17 @@
+package com.userapi.registration.load;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        AbstractExecutionModeLoadTest.COMMON_PROPERTIES,
+        "spring.threads.virtual.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:load-virtual",
+        "logging.level.com.userapi.registration=INFO"
+})
+class VirtualThreadLoadTest extends AbstractExecutionModeLoadTest {
+
+    @Override
+    String mode() {
+        return "virtual";
+    }
+}
@@ -0,0 +1,94 @@
+package com.userapi.registration.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AsyncLogPipelineTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void publish_shouldWriteOneJsonLinePerEvent() throws Exception {
+        Path file = tempDir.resolve("events/registration-events.jsonl");
+        AsyncLogPipeline pipeline = pipeline(16, OverflowPolicy.DROP, file);
+        pipeline.start();
+
+        pipeline.publish(event("register", "POST", "/api/users", 201, null, "test-123"));
+        pipeline.publish(event("getUserDetails", "GET", "/api/users/\"bob\"", 0, "UserNotFoundException", null));
+        pipeline.destroy();
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).containsExactly(
+                "{\"ts\":\"2026-01-01T00:00:00Z\",\"source\":\"api\",\"type\":\"UserController\",\"method\":\"register\","
+                        + "\"httpMethod\":\"POST\",\"uri\":\"/api/users\",\"status\":201,\"durationMicros\":1500,"
+                        + "\"outcome\":\"SUCCESS\",\"correlationId\":\"test-123\"}",
+                "{\"ts\":\"2026-01-01T00:00:00Z\",\"source\":\"api\",\"type\":\"UserController\",\"method\":\"getUserDetails\","
+                        + "\"httpMethod\":\"GET\",\"uri\":\"/api/users/\\\"bob\\\"\",\"durationMicros\":1500,"
+                        + "\"outcome\":\"FAIL\",\"exception\":\"UserNotFoundException\"}");
+        assertThat(pipeline.getPublishedCount()).isEqualTo(2);
+        assertThat(pipeline.getWrittenCount()).isEqualTo(2);
+        assertThat(pipeline.getDroppedCount()).isZero();
+    }
+
+    @Test
+    void publish_shouldCountDroppedEvents_whenBufferIsFullWithDropPolicy() throws Exception {
+        Path file = tempDir.resolve("events.jsonl");
+        AsyncLogPipeline pipeline = pipeline(2, OverflowPolicy.DROP, file);
+
+        for (int i = 0; i < 5; i++) {
+            pipeline.publish(event("register", "POST", "/api/users", 201, null, null));
+        }
+
+        assertThat(pipeline.getPublishedCount()).isEqualTo(2);
+        assertThat(pipeline.getDroppedCount()).isEqualTo(3);
+        assertThat(meterRegistry.get("registration.logging.events").tag("result", "dropped").functionCounter().count())
+                .isEqualTo(3.0);
+
+        pipeline.start();
+        pipeline.destroy();
+
+        assertThat(Files.readAllLines(file)).hasSize(2);
+    }
+
+    @Test
+    void publish_shouldWaitForFreeSlot_whenBufferIsFullWithBlockPolicy() throws Exception {
+        Path file = tempDir.resolve("events.jsonl");
+        AsyncLogPipeline pipeline = pipeline(2, OverflowPolicy.BLOCK, file);
+        pipeline.publish(event("register", "POST", "/api/users", 201, null, null));
+        pipeline.publish(event("register", "POST", "/api/users", 201, null, null));
+
+        Thread producer = Thread.ofPlatform()
+                .start(() -> pipeline.publish(event("register", "POST", "/api/users", 201, null, null)));
+        producer.join(200);
+        assertThat(producer.isAlive()).isTrue();
+
+        pipeline.start();
+        producer.join(5_000);
+        pipeline.destroy();
+
+        assertThat(producer.isAlive()).isFalse();
+        assertThat(pipeline.getDroppedCount()).isZero();
+        assertThat(Files.readAllLines(file)).hasSize(3);
+    }
+
+    private AsyncLogPipeline pipeline(int capacity, OverflowPolicy policy, Path file) {
+        return new AsyncLogPipeline(true, capacity, policy, 256, file.toString(), meterRegistry);
+    }
+
+    private LogEvent event(String method, String httpMethod, String uri, int status, String exception,
+                           String correlationId) {
+        return new LogEvent(1_767_225_600_000L, "api", "UserController", method, httpMethod, uri, status,
+                1_500_000L, exception, correlationId);
+    }
+}
@@ -0,0 +1,102 @@
+package com.userapi.registration.offheap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import com.userapi.registration.dto.CacheStatsResponse;
+import com.userapi.registration.dto.UserResponse;
+import com.userapi.registration.entity.Gender;
+import com.userapi.registration.repository.UserRepository;
+import com.userapi.registration.sharding.UserShards;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OffHeapUserDatasetTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserShards shards = new UserShards(1);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void load_shouldReadEveryPage() {
+        List<UserResponse> firstPage = new ArrayList<>();
+        for (long id = 1; id <= 10_000; id++) {
+            firstPage.add(user(id, "user." + id));
+        }
+        when(userRepository.findPageAfter(eq(0L), any(Pageable.class))).thenReturn(firstPage);
+        when(userRepository.findPageAfter(eq(10_000L), any(Pageable.class)))
+                .thenReturn(List.of(user(10_001L, "user.10001")));
+        OffHeapUserDataset dataset = new OffHeapUserDataset(userRepository, shards, meterRegistry, true, 100);
+
+        dataset.load();
+
+        assertThat(dataset.isReady()).isTrue();
+        assertThat(dataset.find("user.1")).isEqualTo(user(1L, "user.1"));
+        assertThat(dataset.find("user.10001")).isEqualTo(user(10_001L, "user.10001"));
+        assertThat(meterRegistry.get("registration.users.off-heap.size").gauge().value()).isEqualTo(10_001);
+    }
+
+    @Test
+    void find_shouldReturnNull_untilLoaded() {
+        OffHeapUserDataset dataset = new OffHeapUserDataset(userRepository, shards, meterRegistry, true, 100);
+        dataset.put(user(1L, "amine.bou"));
+
+        assertThat(dataset.find("amine.bou")).isNull();
+
+        when(userRepository.findPageAfter(eq(0L), any(Pageable.class))).thenReturn(List.of());
+        dataset.load();
+        assertThat(dataset.find("amine.bou")).isEqualTo(user(1L, "amine.bou"));
+    }
+
+    @Test
+    void load_shouldDoNothing_whenDisabled() {
+        OffHeapUserDataset dataset = new OffHeapUserDataset(userRepository, shards, meterRegistry, false, 100);
+
+        dataset.load();
+        dataset.put(user(1L, "amine.bou"));
+
+        assertThat(dataset.isReady()).isFalse();
+        assertThat(dataset.find("amine.bou")).isNull();
+        assertThat(dataset.stats().getSize()).isZero();
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void stats_shouldCountHitsAndMisses() {
+        when(userRepository.findPageAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(user(1L, "amine.bou")));
+        OffHeapUserDataset dataset = new OffHeapUserDataset(userRepository, shards, meterRegistry, true, 100);
+        dataset.load();
+
+        dataset.find("amine.bou");
+        dataset.find("ghost");
+
+        CacheStatsResponse stats = dataset.stats();
+        assertThat(stats.getName()).isEqualTo("user-off-heap");
+        assertThat(stats.getSize()).isEqualTo(1);
+        assertThat(stats.getHitCount()).isEqualTo(1);
+        assertThat(stats.getMissCount()).isEqualTo(1);
+    }
+
+    private static UserResponse user(long id, String username) {
+        return UserResponse.builder()
+                .id(id)
+                .username(username)
+                .birthdate(LocalDate.of(1990, 5, 15))
+                .countryOfResidence("France")
+                .phoneNumber("+33612345678")
+                .gender(Gender.MALE)
+                .version(0L)
+                .build();
+    }
+}
@@ -0,0 +1,137 @@
+package com.userapi.registration.offheap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import com.userapi.registration.dto.UserResponse;
+import com.userapi.registration.entity.Gender;
+
+class OffHeapUserTableTest {
+
+    @Test
+    void get_shouldReturnPackedUser() {
+        OffHeapUserTable table = new OffHeapUserTable(16);
+        UserResponse user = user(1L, "amine.bou");
+
+        assertThat(table.put(user)).isTrue();
+
+        assertThat(table.get("amine.bou")).isEqualTo(user);
+        assertThat(table.get("amine.b")).isNull();
+        assertThat(table.size()).isEqualTo(1);
+    }
+
+    @Test
+    void get_shouldRoundTripOptionalFields_andNonAsciiUsernames() {
+        OffHeapUserTable table = new OffHeapUserTable(16);
+        UserResponse user = user(1L, "élodie.ß");
+        user.setPhoneNumber(null);
+        user.setGender(null);
+        user.setCountryOfResidence(null);
+
+        table.put(user);
+
+        assertThat(table.get("élodie.ß")).isEqualTo(user);
+    }
+
+    @Test
+    void put_shouldGrowIndexAndBlocks_beyondExpectedUsers() {
+        OffHeapUserTable table = new OffHeapUserTable(16);
+
+        for (long id = 1; id <= 200_000; id++) {
+            table.put(user(id, "user." + id));
+        }
+
+        assertThat(table.size()).isEqualTo(200_000);
+        assertThat(table.get("user.1").getId()).isEqualTo(1L);
+        assertThat(table.get("user.131072").getId()).isEqualTo(131_072L);
+        assertThat(table.get("user.200000").getId()).isEqualTo(200_000L);
+        assertThat(table.get("user.200001")).isNull();
+    }
+
+    @Test
+    void put_shouldReplaceUser_unlessHeldVersionIsNewer() {
+        OffHeapUserTable table = new OffHeapUserTable(16);
+        UserResponse updated = user(1L, "amine.bou");
+        updated.setVersion(2L);
+        updated.setCountryOfResidence("Belgique");
+        table.put(user(1L, "amine.bou"));
+        table.put(updated);
+
+        table.put(user(1L, "amine.bou"));
+
+        assertThat(table.size()).isEqualTo(1);
+        assertThat(table.get("amine.bou")).isEqualTo(updated);
+    }
+
+    @Test
+    void put_shouldRefuseUsersThatCannotBePacked() {
+        OffHeapUserTable table = new OffHeapUserTable(16);
+        UserResponse nationalPhone = user(1L, "amine.bou");
+        nationalPhone.setPhoneNumber("0612345678");
+        UserResponse noVersion = user(2L, "marie.dupont");
+        noVersion.setVersion(null);
+
+        assertThat(table.put(nationalPhone)).isFalse();
+        assertThat(table.put(noVersion)).isFalse();
+        assertThat(table.size()).isZero();
+    }
+
+    @Test
+    void get_shouldSeeConsistentUsers_whileWritesGrowTheTable() throws Exception {
+        OffHeapUserTable table = new OffHeapUserTable(16);
+        table.put(user(0L, "user.0"));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?> writer = executor.submit(() -> {
+                for (long id = 1; id <= 100_000; id++) {
+                    table.put(user(id, "user." + id));
+                }
+            });
+            List<Future<?>> readers = new ArrayList<>();
+            for (int r = 0; r < 3; r++) {
+                readers.add(executor.submit(() -> {
+                    while (!writer.isDone()) {
+                        assertThat(table.get("user.0")).isEqualTo(user(0L, "user.0"));
+                    }
+                }));
+            }
+            writer.get();
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(table.get("user.100000")).isEqualTo(user(100_000L, "user.100000"));
+    }
+
+    @Test
+    void offHeapBytes_shouldCountRecordAndIndexMemory() {
+        OffHeapUserTable table = new OffHeapUserTable(16);
+
+        table.put(user(1L, "amine.bou"));
+
+        assertThat(table.offHeapBytes())
+                .isEqualTo(65_536L * OffHeapUserTable.RECORD_BYTES + 4_194_304L + 32L * Long.BYTES);
+    }
+
+    private static UserResponse user(long id, String username) {
+        return UserResponse.builder()
+                .id(id)
+                .username(username)
+                .birthdate(LocalDate.of(1990, 5, 15))
+                .countryOfResidence("France")
+                .phoneNumber("+33612345678")
+                .gender(Gender.FEMALE)
+                .version(0L)
+                .build();
+    }
+}
@@ -0,0 +1,43 @@
+package com.userapi.registration.replica;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.userapi.registration.replica.ReplicaContext.Target;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private final ReadWriteRoutingDataSource dataSource = new ReadWriteRoutingDataSource();
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void shouldUsePrimary_outsideReadOnlyTransactions() {
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo(Target.PRIMARY);
+    }
+
+    @Test
+    void shouldUseReplica_inReadOnlyTransactions() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo(Target.REPLICA);
+    }
+
+    @Test
+    void forcedTarget_shouldWinOverReadOnlyFlag() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        Target previous = ReplicaContext.enter(Target.PRIMARY);
+        try {
+            assertThat(dataSource.determineCurrentLookupKey()).isEqualTo(Target.PRIMARY);
+        } finally {
+            ReplicaContext.restore(previous);
+        }
+        assertThat(ReplicaContext.current()).isNull();
+    }
+}
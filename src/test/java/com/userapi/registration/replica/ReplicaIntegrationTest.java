@@ -0,0 +1,144 @@
+package com.userapi.registration.replica;
+
+import com.userapi.registration.cache.UserDetailsCache;
+import com.userapi.registration.cache.UserJsonCache;
+import com.userapi.registration.dto.UserRegistrationRequest;
+import com.userapi.registration.entity.Gender;
+import com.userapi.registration.replica.ReplicaContext.Target;
+import com.userapi.registration.repository.UserRepository;
+import com.userapi.registration.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Read/write routing against a primary and a replica H2 database ({@code replica} profile).
+ * Not transactional: a test transaction would send every call to the primary.
+ */
+@SpringBootTest(properties = "registration.replica.read-your-writes-window=1h")
+@ActiveProfiles("replica")
+class ReplicaIntegrationTest {
+
+    private static final long SYNC_TIMEOUT_MILLIS = 5_000;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private UserJsonCache userJsonCache;
+
+    @Autowired
+    private UserReplica userReplica;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        clear();
+    }
+
+    @Test
+    void readOnlyTransactions_shouldReadTheReplica() {
+        on(Target.REPLICA, () -> jdbcTemplate.update("""
+                insert into users (id, username, birthdate, country_of_residence, phone_number, phone_digits,
+                                   gender, version)
+                values (999999, 'replica.only', date '2000-01-01', 'France', '+33612345678', 33612345678,
+                        'MALE', 0)"""));
+
+        assertThat(userRepository.findByUsername("replica.only")).isPresent();
+        assertThat(userService.listUsers(null, 10).getUsers()).extracting("username").containsExactly("replica.only");
+        assertThat(userRepository.existsByUsername("replica.only")).isFalse();
+    }
+
+    @Test
+    void registration_shouldReachTheReplica_andLagShouldDropBackToZero() throws InterruptedException {
+        userService.register(request("amine.bou"));
+
+        awaitReplicated("amine.bou");
+        assertThat(meterRegistry.get("registration.replica.lag").timeGauge().value(TimeUnit.SECONDS)).isZero();
+        assertThat(meterRegistry.get("registration.replica.replicated").functionCounter().count()).isPositive();
+    }
+
+    @Test
+    void recentRegistration_shouldBeReadFromThePrimary() throws InterruptedException {
+        userService.register(request("amine.bou"));
+        awaitReplicated("amine.bou");
+        on(Target.REPLICA, () -> jdbcTemplate.update(
+                "update users set country_of_residence = 'Stale' where username = 'amine.bou'"));
+        userDetailsCache.invalidateAll();
+        userJsonCache.invalidate("amine.bou");
+
+        assertThat(userService.getUserDetails("amine.bou").getCountryOfResidence()).isEqualTo("France");
+        assertThat(userRepository.findByUsername("amine.bou").orElseThrow().getCountryOfResidence())
+                .isEqualTo("Stale");
+    }
+
+    private void awaitReplicated(String username) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + SYNC_TIMEOUT_MILLIS;
+        while (!replicated(username) || userReplica.lagSeconds() > 0) {
+            assertThat(System.currentTimeMillis()).as("replicated in time").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private boolean replicated(String username) {
+        Integer count = on(Target.REPLICA, () -> jdbcTemplate.queryForObject(
+                "select count(*) from users where username = ?", Integer.class, username));
+        return count == 1;
+    }
+
+    private void clear() {
+        on(Target.PRIMARY, () -> jdbcTemplate.update("delete from users"));
+        on(Target.REPLICA, () -> jdbcTemplate.update("delete from users"));
+        userDetailsCache.invalidateAll();
+    }
+
+    private static <T> T on(Target target, Supplier<T> action) {
+        Target previous = ReplicaContext.enter(target);
+        try {
+            return action.get();
+        } finally {
+            ReplicaContext.restore(previous);
+        }
+    }
+
+    private static UserRegistrationRequest request(String username) {
+        return UserRegistrationRequest.builder()
+                .username(username)
+                .birthdate(LocalDate.of(2000, 1, 1))
+                .countryOfResidence("France")
+                .phoneNumber("0612345678")
+                .gender(Gender.MALE)
+                .build();
+    }
+}
@@ -0,0 +1,113 @@
+package com.userapi.registration.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.userapi.registration.dto.BatchRegistrationResponse;
+import com.userapi.registration.dto.BatchRegistrationResult;
+import com.userapi.registration.dto.UserRegistrationRequest;
+
+import tools.jackson.databind.json.JsonMapper;
+
+@ExtendWith(MockitoExtension.class)
+class UserImportServiceTest {
+
+    private static final String RECORD = "{\"username\":\"%s\",\"birthdate\":\"2000-01-01\",\"countryOfResidence\":\"France\"}";
+
+    @Mock
+    private UserService userService;
+
+    private UserImportService userImportService;
+
+    @BeforeEach
+    void setUp() {
+        userImportService = new UserImportService(userService, JsonMapper.builder().build());
+        ReflectionTestUtils.setField(userImportService, "chunkSize", 2);
+        ReflectionTestUtils.setField(userImportService, "maxBatchSize", 2);
+        ReflectionTestUtils.setField(userImportService, "maxLineLength", 200);
+    }
+
+    @Test
+    void afterPropertiesSet_shouldRefuseChunkSizeAboveBatchLimit() {
+        ReflectionTestUtils.setField(userImportService, "chunkSize", 3);
+
+        assertThatThrownBy(userImportService::afterPropertiesSet)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("registration.import.chunk-size");
+    }
+
+    @Test
+    void importUsers_shouldRegisterInChunksAndWriteOneLinePerRecord() throws Exception {
+        when(userService.registerBatch(anyList())).thenAnswer(invocation -> created(invocation.getArgument(0)));
+
+        String body = String.join("\n", RECORD.formatted("user.one"), "", RECORD.formatted("user.two"),
+                "{not json", RECORD.formatted("user.three"));
+
+        String[] lines = runImport(body);
+
+        assertThat(lines).hasSize(4);
+        assertThat(lines[0]).contains("\"index\":1").contains("CREATED");
+        assertThat(lines[1]).contains("\"index\":3").contains("CREATED");
+        assertThat(lines[2]).contains("\"index\":4").contains("ERR_JSON_PARSE");
+        assertThat(lines[3]).contains("\"index\":5").contains("CREATED");
+        // Parse errors take a place in their chunk: [one, two] and [error, three]
+        verify(userService, times(2)).registerBatch(anyList());
+    }
+
+    @Test
+    void importUsers_shouldRejectLinesOverMaxLength() throws Exception {
+        when(userService.registerBatch(anyList())).thenAnswer(invocation -> created(invocation.getArgument(0)));
+
+        String body = String.join("\r\n", "x".repeat(10_000), RECORD.formatted("user.one"));
+
+        String[] lines = runImport(body);
+
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).contains("\"index\":1").contains("ERR_JSON_PARSE").contains("exceeds 200 characters");
+        assertThat(lines[1]).contains("\"index\":2").contains("CREATED");
+    }
+
+    @Test
+    void importUsers_shouldNotCallServiceWhenChunkOnlyHoldsParseErrors() throws Exception {
+        String[] lines = runImport("{not json\n[1, 2");
+
+        assertThat(lines).hasSize(2).allMatch(line -> line.contains("ERR_JSON_PARSE"));
+        verify(userService, never()).registerBatch(anyList());
+    }
+
+    private String[] runImport(String body) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        userImportService.importUsers(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), output);
+        return output.toString(StandardCharsets.UTF_8).split("\n");
+    }
+
+    private BatchRegistrationResponse created(List<UserRegistrationRequest> requests) {
+        List<BatchRegistrationResult> results = requests.stream()
+                .map(request -> BatchRegistrationResult.builder()
+                        .username(request.getUsername())
+                        .status(BatchRegistrationResult.Status.CREATED)
+                        .build())
+                .toList();
+        return BatchRegistrationResponse.builder()
+                .created(results.size())
+                .results(results)
+                .build();
+    }
+}
@@ -1,9 +1,10 @@
 package com.userapi.registration.service;
 
+import com.userapi.registration.cache.UserDetailsCache;
 import com.userapi.registration.dto.UserRegistrationRequest;
 import com.userapi.registration.dto.UserResponse;
 import com.userapi.registration.entity.Gender;
-import com.userapi.registration.exception.NonFrenchResidentException;
+import com.userapi.registration.exception.CountryNotAllowedException;
 import com.userapi.registration.exception.UserAlreadyExistsException;
 import com.userapi.registration.exception.UserNotAdultException;
 import com.userapi.registration.exception.UserNotFoundException;
@@ -29,11 +30,15 @@ class UserServiceIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
     private UserRegistrationRequest validRequest;
 
     @BeforeEach
     void setUp() {
         userRepository.deleteAll();
+        userDetailsCache.invalidateAll();
 
         validRequest = UserRegistrationRequest.builder()
                 .username("amine.bou")
@@ -53,7 +58,7 @@ class UserServiceIntegrationTest {
         assertThat(response.getUsername()).isEqualTo("amine.bou");
         assertThat(response.getBirthdate()).isEqualTo(LocalDate.of(2000, 1, 1));
         assertThat(response.getCountryOfResidence()).isEqualTo("France");
-        assertThat(response.getPhoneNumber()).isEqualTo("0612345678");
+        assertThat(response.getPhoneNumber()).isEqualTo("+33612345678");
         assertThat(response.getGender()).isEqualTo(Gender.MALE);
     }
 
@@ -67,12 +72,12 @@ class UserServiceIntegrationTest {
     }
 
     @Test
-    void register_shouldThrowNonFrenchResidentException_whenCountryIsNotFrance() {
+    void register_shouldThrowCountryNotAllowedException_whenCountryIsNotFrance() {
         validRequest.setCountryOfResidence("Germany");
 
         assertThatThrownBy(() -> userService.register(validRequest))
-                .isInstanceOf(NonFrenchResidentException.class)
-                .hasMessageContaining("French resident");
+                .isInstanceOf(CountryNotAllowedException.class)
+                .hasMessage("Only residents of France can register");
     }
 
     @Test
@@ -3,13 +3,27 @@ package com.userapi.registration.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,17 +31,44 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.util.unit.DataSize;
+
+import com.userapi.registration.cache.SerializedUser;
+import com.userapi.registration.cache.UserDetailsCache;
+import com.userapi.registration.cache.UserJsonCache;
+import com.userapi.registration.cache.UserVersion;
+import com.userapi.registration.cache.UserVersionIndex;
+import com.userapi.registration.domain.policy.RegistrationPolicies;
+import com.userapi.registration.dto.BatchRegistrationResponse;
+import com.userapi.registration.dto.BatchRegistrationResult;
+import com.userapi.registration.dto.UserPageResponse;
 import com.userapi.registration.dto.UserRegistrationRequest;
 import com.userapi.registration.dto.UserResponse;
+import com.userapi.registration.dto.UsernameSearchResponse;
 import com.userapi.registration.entity.Gender;
 import com.userapi.registration.entity.User;
-import com.userapi.registration.exception.NonFrenchResidentException;
+import com.userapi.registration.exception.BatchTooLargeException;
+import com.userapi.registration.exception.CountryNotAllowedException;
 import com.userapi.registration.exception.UserAlreadyExistsException;
 import com.userapi.registration.exception.UserNotAdultException;
 import com.userapi.registration.exception.UserNotFoundException;
+import com.userapi.registration.index.RegisteredUsernameFilter;
+import com.userapi.registration.index.UsernamePrefixIndex;
+import com.userapi.registration.offheap.OffHeapUserDataset;
+import com.userapi.registration.replica.UserReplica;
 import com.userapi.registration.repository.UserRepository;
+import com.userapi.registration.sharding.UserShards;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validator;
+import tools.jackson.databind.json.JsonMapper;
 
 @ExtendWith(MockitoExtension.class)
 class UserServiceTest {
@@ -35,6 +76,42 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private RegisteredUsernameFilter usernameFilter;
+
+    @Spy
+    private UserDetailsCache userDetailsCache = new UserDetailsCache(100, Duration.ofMinutes(1), Duration.ofSeconds(5));
+
+    @Spy
+    private RegistrationPolicies registrationPolicies =
+            new RegistrationPolicies(Clock.systemDefaultZone(), 18, List.of("France"));
+
+    @Mock
+    private UsernamePrefixIndex usernameIndex;
+
+    @Spy
+    private UserVersionIndex userVersionIndex = new UserVersionIndex(100);
+
+    @Spy
+    private UserJsonCache userJsonCache =
+            new UserJsonCache(JsonMapper.builder().build(), DataSize.ofKilobytes(64), Duration.ofMinutes(1));
+
+    @Mock
+    private OffHeapUserDataset offHeapUsers;
+
+    @Spy
+    private UserShards shards = new UserShards(1);
+
+    @Spy
+    private UserReplica userReplica =
+            new UserReplica(null, null, new SimpleMeterRegistry(), false, Duration.ofSeconds(5), 500, 1_000);
+
+    @Spy
+    private TransactionOperations transactionOperations = TransactionOperations.withoutTransaction();
+
     @InjectMocks
     private UserService userService;
 
@@ -43,6 +120,13 @@ class UserServiceTest {
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(userService, "maxBatchSize", 1000);
+        ReflectionTestUtils.setField(userService, "defaultPageSize", 50);
+        ReflectionTestUtils.setField(userService, "maxPageSize", 500);
+        ReflectionTestUtils.setField(userService, "defaultSearchLimit", 10);
+        ReflectionTestUtils.setField(userService, "maxSearchLimit", 100);
+        lenient().when(usernameFilter.mightExist(anyString())).thenReturn(true);
+
         validRequest = UserRegistrationRequest.builder()
                 .username("amine.bou")
                 .birthdate(LocalDate.of(2000, 1, 1))
@@ -92,11 +176,11 @@ class UserServiceTest {
     }
 
     @Test
-    void register_shouldThrowNonFrenchResidentException_whenCountryIsNotFrance() {
+    void register_shouldThrowCountryNotAllowedException_whenCountryIsNotFrance() {
         validRequest.setCountryOfResidence("Germany");
 
         assertThatThrownBy(() -> userService.register(validRequest))
-                .isInstanceOf(NonFrenchResidentException.class);
+                .isInstanceOf(CountryNotAllowedException.class);
 
         verify(userRepository, never()).existsByUsername(anyString());
         verify(userRepository, never()).save(any(User.class));
@@ -186,4 +270,339 @@ class UserServiceTest {
         assertThat(capturedUser.getPhoneNumber()).isNull();
         assertThat(capturedUser.getGender()).isNull();
     }
-}
\ No newline at end of file
+
+    @Test
+    void register_shouldStorePhoneNumberInE164Form() {
+        when(userRepository.existsByUsername(anyString())).thenReturn(false);
+        when(userRepository.save(any(User.class))).thenReturn(savedUser);
+
+        userService.register(validRequest);
+
+        ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
+        verify(userRepository).save(userCaptor.capture());
+        assertThat(userCaptor.getValue().getPhoneNumber()).isEqualTo("+33612345678");
+        assertThat(userCaptor.getValue().getPhoneDigits()).isEqualTo(33612345678L);
+    }
+
+    @Test
+    void registerBatch_shouldSaveAcceptedUsersAndReportRejectionsInOrder() {
+        UserRegistrationRequest german = copyOf(validRequest, "hans.m");
+        german.setCountryOfResidence("Germany");
+        UserRegistrationRequest taken = copyOf(validRequest, "taken.user");
+        UserRegistrationRequest duplicate = copyOf(validRequest, "amine.bou");
+
+        when(userRepository.findExistingUsernames(anyCollection())).thenReturn(Set.of("taken.user"));
+        when(userRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BatchRegistrationResponse response = userService.registerBatch(
+                List.of(validRequest, german, taken, duplicate));
+
+        assertThat(response.getCreated()).isEqualTo(1);
+        assertThat(response.getRejected()).isEqualTo(3);
+        assertThat(response.getResults()).extracting(BatchRegistrationResult::getIndex).containsExactly(0, 1, 2, 3);
+        assertThat(response.getResults()).extracting(BatchRegistrationResult::getErrorCode).containsExactly(
+                null, "ERR_RULE_COUNTRY_FR", "ERR_USER_ALREADY_EXISTS", "ERR_USER_ALREADY_EXISTS");
+        assertThat(response.getResults().get(0).getStatus()).isEqualTo(BatchRegistrationResult.Status.CREATED);
+
+        verify(userRepository).findExistingUsernames(Set.of("amine.bou", "taken.user"));
+        verify(userRepository, never()).existsByUsername(anyString());
+        verify(userRepository).flush();
+    }
+
+    @Test
+    void registerBatch_shouldReportConflict_whenUsernameIsTakenConcurrently() {
+        when(usernameFilter.mightExist("amine.bou")).thenReturn(false);
+        when(userRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(new DataIntegrityViolationException(
+                "could not execute statement", new SQLException("Unique index violation", "23505")))
+                .doNothing()
+                .when(userRepository).flush();
+        when(userRepository.findExistingUsernames(anyCollection())).thenReturn(Set.of("amine.bou"));
+
+        BatchRegistrationResponse response = userService.registerBatch(List.of(validRequest));
+
+        // The retry checks the username against the database even though the filter has not seen it
+        assertThat(response.getCreated()).isZero();
+        assertThat(response.getResults().get(0).getErrorCode()).isEqualTo("ERR_USER_ALREADY_EXISTS");
+        verify(userRepository).findExistingUsernames(Set.of("amine.bou"));
+        verify(transactionOperations, times(2)).execute(any());
+    }
+
+    @Test
+    void registerBatch_shouldRethrowOtherIntegrityViolations() {
+        when(userRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(new DataIntegrityViolationException(
+                "could not execute statement", new SQLException("NULL not allowed", "23502")))
+                .when(userRepository).flush();
+
+        assertThatThrownBy(() -> userService.registerBatch(List.of(validRequest)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        verify(transactionOperations).execute(any());
+    }
+
+    @Test
+    void registerBatch_shouldThrowBatchTooLargeException_whenOverMaxSize() {
+        ReflectionTestUtils.setField(userService, "maxBatchSize", 1);
+
+        assertThatThrownBy(() -> userService.registerBatch(List.of(validRequest, copyOf(validRequest, "other"))))
+                .isInstanceOf(BatchTooLargeException.class);
+
+        verify(userRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void registerBatch_shouldRejectNullItemsWithoutQueryingRepository() {
+        BatchRegistrationResponse response = userService.registerBatch(Collections.singletonList(null));
+
+        assertThat(response.getCreated()).isZero();
+        assertThat(response.getResults().get(0).getErrorCode()).isEqualTo("ERR_VALIDATION");
+        verify(userRepository, never()).findExistingUsernames(anyCollection());
+    }
+
+    @Test
+    void register_shouldSkipExistenceQuery_whenFilterSaysUsernameIsFree() {
+        when(usernameFilter.mightExist("amine.bou")).thenReturn(false);
+        when(userRepository.save(any(User.class))).thenReturn(savedUser);
+
+        userService.register(validRequest);
+
+        verify(userRepository, never()).existsByUsername(anyString());
+        verify(usernameFilter).add("amine.bou");
+    }
+
+    @Test
+    void isUsernameAvailable_shouldAnswerFromFilter_whenUsernameIsCertainlyFree() {
+        when(usernameFilter.mightExist("free.name")).thenReturn(false);
+
+        assertThat(userService.isUsernameAvailable("free.name")).isTrue();
+
+        verify(userRepository, never()).existsByUsername(anyString());
+    }
+
+    @Test
+    void isUsernameAvailable_shouldQueryRepository_whenFilterIsPositive() {
+        when(userRepository.existsByUsername("amine.bou")).thenReturn(true);
+
+        assertThat(userService.isUsernameAvailable("amine.bou")).isFalse();
+    }
+
+    @Test
+    void getUserDetails_shouldServeRepeatedLookupsFromCache() {
+        when(userRepository.findByUsername("amine.bou")).thenReturn(Optional.of(savedUser));
+
+        userService.getUserDetails("amine.bou");
+        UserResponse response = userService.getUserDetails("amine.bou");
+
+        assertThat(response.getUsername()).isEqualTo("amine.bou");
+        verify(userRepository, times(1)).findByUsername("amine.bou");
+    }
+
+    @Test
+    void getUserDetails_shouldServeFromOffHeapDataset_withoutRepository() {
+        UserResponse packed = userService.mapToResponse(savedUser);
+        when(offHeapUsers.find("amine.bou")).thenReturn(packed);
+
+        UserResponse response = userService.getUserDetails("amine.bou");
+
+        assertThat(response).isSameAs(packed);
+        verify(userRepository, never()).findByUsername(anyString());
+    }
+
+    @Test
+    void register_shouldAddUserToOffHeapDataset() {
+        when(userRepository.existsByUsername(anyString())).thenReturn(false);
+        when(userRepository.save(any(User.class))).thenReturn(savedUser);
+
+        UserResponse response = userService.register(validRequest);
+
+        verify(offHeapUsers).put(response);
+    }
+
+    @Test
+    void register_shouldRecordWriteForReplica() {
+        when(userRepository.existsByUsername(anyString())).thenReturn(false);
+        when(userRepository.save(any(User.class))).thenReturn(savedUser);
+
+        UserResponse response = userService.register(validRequest);
+
+        verify(userReplica).recordWrite(response);
+    }
+
+    @Test
+    void getUserDetails_shouldCacheNotFoundOutcomes() {
+        when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> userService.getUserDetails("ghost")).isInstanceOf(UserNotFoundException.class);
+        assertThatThrownBy(() -> userService.getUserDetails("ghost")).isInstanceOf(UserNotFoundException.class);
+
+        verify(userRepository, times(1)).findByUsername("ghost");
+    }
+
+    @Test
+    void register_shouldPopulateCache() {
+        when(userRepository.existsByUsername(anyString())).thenReturn(false);
+        when(userRepository.save(any(User.class))).thenReturn(savedUser);
+
+        userService.register(validRequest);
+        UserResponse response = userService.getUserDetails("amine.bou");
+
+        assertThat(response.getId()).isEqualTo(1L);
+        verify(userRepository, never()).findByUsername(anyString());
+    }
+
+    @Test
+    void register_withConstraintCheck_shouldInsertWithoutQuerying() {
+        ReflectionTestUtils.setField(userService, "uniquenessCheck", UsernameUniquenessCheck.CONSTRAINT);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(savedUser);
+
+        UserResponse response = userService.register(validRequest);
+
+        assertThat(response.getId()).isEqualTo(1L);
+        verify(userRepository, never()).existsByUsername(anyString());
+    }
+
+    @Test
+    void register_withConstraintCheck_shouldMapUniqueViolationToUserAlreadyExists() {
+        ReflectionTestUtils.setField(userService, "uniquenessCheck", UsernameUniquenessCheck.CONSTRAINT);
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement", new SQLException("Unique index violation", "23505")));
+
+        assertThatThrownBy(() -> userService.register(validRequest))
+                .isInstanceOf(UserAlreadyExistsException.class)
+                .hasMessageContaining("amine.bou");
+    }
+
+    @Test
+    void register_withConstraintCheck_shouldRethrowOtherIntegrityViolations() {
+        ReflectionTestUtils.setField(userService, "uniquenessCheck", UsernameUniquenessCheck.CONSTRAINT);
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement", new SQLException("NULL not allowed", "23502")));
+
+        assertThatThrownBy(() -> userService.register(validRequest))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void listUsers_shouldReturnCursorOfNextPage_whenMoreUsersExist() {
+        when(userRepository.findPageAfter(10L, PageRequest.ofSize(3))).thenReturn(List.of(
+                UserResponse.builder().id(11L).build(),
+                UserResponse.builder().id(12L).build(),
+                UserResponse.builder().id(13L).build()));
+
+        UserPageResponse page = userService.listUsers(10L, 2);
+
+        assertThat(page.getUsers()).extracting(UserResponse::getId).containsExactly(11L, 12L);
+        assertThat(page.getNextCursor()).isEqualTo(12L);
+    }
+
+    @Test
+    void listUsers_shouldReturnNoCursor_onLastPage() {
+        when(userRepository.findPageAfter(0L, PageRequest.ofSize(51))).thenReturn(List.of(
+                UserResponse.builder().id(1L).build()));
+
+        UserPageResponse page = userService.listUsers(null, null);
+
+        assertThat(page.getUsers()).hasSize(1);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void listUsers_shouldCapPageSize() {
+        when(userRepository.findPageAfter(eq(0L), any())).thenReturn(List.of());
+
+        userService.listUsers(null, 100_000);
+        userService.listUsers(null, 0);
+
+        verify(userRepository).findPageAfter(0L, PageRequest.ofSize(501));
+        verify(userRepository).findPageAfter(0L, PageRequest.ofSize(2));
+    }
+
+    @Test
+    void register_shouldAddUsernameToPrefixIndex() {
+        when(userRepository.existsByUsername(anyString())).thenReturn(false);
+        when(userRepository.save(any(User.class))).thenReturn(savedUser);
+
+        userService.register(validRequest);
+
+        verify(usernameIndex).add("amine.bou");
+    }
+
+    @Test
+    void getUserDetailsETag_shouldReadVersionOnce_thenServeFromIndex() {
+        when(userRepository.findVersionByUsername("amine.bou")).thenReturn(Optional.of(new UserVersion(1L, 0L)));
+
+        assertThat(userService.getUserDetailsETag("amine.bou")).contains("\"1-0\"");
+        assertThat(userService.getUserDetailsETag("amine.bou")).contains("\"1-0\"");
+
+        verify(userRepository, times(1)).findVersionByUsername("amine.bou");
+        verify(userRepository, never()).findByUsername(anyString());
+    }
+
+    @Test
+    void getUserDetailsJson_shouldLoadAndSerializeOnce() {
+        savedUser.setVersion(0L);
+        when(userRepository.findByUsername("amine.bou")).thenReturn(Optional.of(savedUser));
+
+        SerializedUser first = userService.getUserDetailsJson("amine.bou");
+        SerializedUser second = userService.getUserDetailsJson("amine.bou");
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.etag()).isEqualTo("\"1-0\"");
+        assertThat(new String(first.body(), StandardCharsets.UTF_8)).contains("\"username\":\"amine.bou\"");
+        assertThat(userService.getUserDetailsETag("amine.bou")).contains("\"1-0\"");
+        verify(userRepository, times(1)).findByUsername("amine.bou");
+        verify(userRepository, never()).findVersionByUsername(anyString());
+    }
+
+    @Test
+    void getUserDetailsETag_shouldBeEmpty_whenUserDoesNotExist() {
+        when(userRepository.findVersionByUsername("nobody")).thenReturn(Optional.empty());
+
+        assertThat(userService.getUserDetailsETag("nobody")).isEmpty();
+    }
+
+    @Test
+    void register_shouldIndexETagOfNewUser() {
+        savedUser.setVersion(0L);
+        when(userRepository.existsByUsername(anyString())).thenReturn(false);
+        when(userRepository.save(any(User.class))).thenReturn(savedUser);
+
+        userService.register(validRequest);
+
+        assertThat(userService.getUserDetailsETag("amine.bou")).contains("\"1-0\"");
+        verify(userRepository, never()).findVersionByUsername(anyString());
+    }
+
+    @Test
+    void searchUsernames_shouldUseIndex_whenReady() {
+        when(usernameIndex.isReady()).thenReturn(true);
+        when(usernameIndex.search("ami", 10)).thenReturn(List.of("amine.bou"));
+
+        UsernameSearchResponse response = userService.searchUsernames("ami", null);
+
+        assertThat(response.getPrefix()).isEqualTo("ami");
+        assertThat(response.getUsernames()).containsExactly("amine.bou");
+        verify(userRepository, never()).findUsernamesStartingWith(anyString(), any());
+    }
+
+    @Test
+    void searchUsernames_shouldQueryDatabaseWithEscapedPrefix_whenIndexIsNotReady() {
+        when(usernameIndex.isReady()).thenReturn(false);
+        when(userRepository.findUsernamesStartingWith("a\\_b\\%", Limit.of(100))).thenReturn(List.of("a_b%c"));
+
+        UsernameSearchResponse response = userService.searchUsernames("a_b%", 1_000);
+
+        assertThat(response.getUsernames()).containsExactly("a_b%c");
+        verify(usernameIndex, never()).search(anyString(), anyInt());
+    }
+
+        private UserRegistrationRequest copyOf(UserRegistrationRequest request, String username) {
+        return UserRegistrationRequest.builder()
+                .username(username)
+                .birthdate(request.getBirthdate())
+                .countryOfResidence(request.getCountryOfResidence())
+                .phoneNumber(request.getPhoneNumber())
+                .gender(request.getGender())
+                .build();
+    }
+}
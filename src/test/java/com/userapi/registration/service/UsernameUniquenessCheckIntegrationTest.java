@@ -0,0 +1,159 @@
+package com.userapi.registration.service;
+
+import com.userapi.registration.cache.UserDetailsCache;
+import com.userapi.registration.dto.UserRegistrationRequest;
+import com.userapi.registration.exception.UserAlreadyExistsException;
+import com.userapi.registration.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Compares the QUERY and CONSTRAINT uniqueness checks against a real database.
+ * Not transactional: every registration has to commit for the unique constraint to be exercised.
+ * The username filter is disabled so that the QUERY mode always pays its existence query.
+ */
+@SpringBootTest(properties = {
+        "registration.username-filter.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class UsernameUniquenessCheckIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(UsernameUniquenessCheckIntegrationTest.class);
+    private static final int THREADS = 8;
+    private static final int REGISTRATIONS = 200;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        userDetailsCache.invalidateAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        useUniquenessCheck(UsernameUniquenessCheck.QUERY);
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void constraintCheck_shouldLetExactlyOneParallelRegistrationWin() throws Exception {
+        useUniquenessCheck(UsernameUniquenessCheck.CONSTRAINT);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> outcomes = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                outcomes.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        userService.register(request("amine.bou"));
+                        return true;
+                    } catch (UserAlreadyExistsException ex) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+
+            int winners = 0;
+            for (Future<Boolean> outcome : outcomes) {
+                if (outcome.get()) {
+                    winners++;
+                }
+            }
+
+            assertThat(winners).isEqualTo(1);
+            assertThat(userRepository.count()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void constraintCheck_shouldRejectDuplicateWithUserAlreadyExists() {
+        useUniquenessCheck(UsernameUniquenessCheck.CONSTRAINT);
+        userService.register(request("amine.bou"));
+
+        assertThatThrownBy(() -> userService.register(request("amine.bou")))
+                .isInstanceOf(UserAlreadyExistsException.class)
+                .hasMessageContaining("amine.bou");
+    }
+
+    /**
+     * Throughput comparison: the CONSTRAINT mode issues one statement per new user instead of two.
+     * Timings are only logged, statement counts are asserted.
+     */
+    @Test
+    void constraintCheck_shouldHalveStatementsPerRegistration() {
+        long queryStatements = measure(UsernameUniquenessCheck.QUERY, "query.");
+        long constraintStatements = measure(UsernameUniquenessCheck.CONSTRAINT, "constraint.");
+
+        assertThat(queryStatements).isGreaterThanOrEqualTo(2L * REGISTRATIONS);
+        assertThat(constraintStatements).isLessThan(queryStatements * 6 / 10);
+    }
+
+    private long measure(UsernameUniquenessCheck check, String prefix) {
+        useUniquenessCheck(check);
+        userService.register(request(prefix + "warmup"));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < REGISTRATIONS; i++) {
+            userService.register(request(prefix + i));
+        }
+        long durationNanos = System.nanoTime() - startNanos;
+        long statements = statistics.getPrepareStatementCount();
+
+        logger.info("Uniqueness check {}: registrations={} statements={} throughput={}/s",
+                check, REGISTRATIONS, statements, REGISTRATIONS * 1_000_000_000L / Math.max(1, durationNanos));
+        return statements;
+    }
+
+    private void useUniquenessCheck(UsernameUniquenessCheck check) {
+        // Typed local: passed inline, the generic target is inferred as Class<?> and picks setField(Class, ...)
+        UserService target = AopTestUtils.getTargetObject(userService);
+        ReflectionTestUtils.setField(target, "uniquenessCheck", check);
+    }
+
+    private UserRegistrationRequest request(String username) {
+        return UserRegistrationRequest.builder()
+                .username(username)
+                .birthdate(LocalDate.of(2000, 1, 1))
+                .countryOfResidence("France")
+                .build();
+    }
+}
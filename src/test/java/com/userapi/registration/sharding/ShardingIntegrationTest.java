@@ -0,0 +1,128 @@
+package com.userapi.registration.sharding;
+
+import com.userapi.registration.cache.UserDetailsCache;
+import com.userapi.registration.dto.BatchRegistrationResponse;
+import com.userapi.registration.dto.BatchRegistrationResult;
+import com.userapi.registration.dto.UserPageResponse;
+import com.userapi.registration.dto.UserRegistrationRequest;
+import com.userapi.registration.dto.UserResponse;
+import com.userapi.registration.entity.Gender;
+import com.userapi.registration.exception.UserAlreadyExistsException;
+import com.userapi.registration.repository.UserRepository;
+import com.userapi.registration.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Registrations and lookups against four H2 shards ({@code sharded} profile).
+ * Not transactional: a test transaction would pin every call to the shard it started on.
+ */
+@SpringBootTest
+@ActiveProfiles("sharded")
+class ShardingIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private UserShards shards;
+
+    @BeforeEach
+    void setUp() {
+        shards.forEachShard(userRepository::deleteAll);
+        userDetailsCache.invalidateAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        shards.forEachShard(userRepository::deleteAll);
+    }
+
+    @Test
+    void register_shouldStoreEachUserOnTheShardOfItsUsername() {
+        List<String> usernames = IntStream.range(0, 20).mapToObj(i -> "sharded." + i).toList();
+
+        usernames.forEach(username -> userService.register(request(username)));
+
+        for (String username : usernames) {
+            assertThat(shards.onEachShard(() -> userRepository.existsByUsername(username)))
+                    .as(username)
+                    .containsExactly(IntStream.range(0, shards.count())
+                            .mapToObj(shard -> shard == shards.shardOf(username))
+                            .toArray(Boolean[]::new));
+            assertThat(userService.getUserDetails(username).getUsername()).isEqualTo(username);
+        }
+        assertThat(shards.onEachShard(userRepository::count)).allSatisfy(count -> assertThat(count).isPositive());
+    }
+
+    @Test
+    void register_shouldRejectDuplicateUsername_onItsShard() {
+        userService.register(request("amine.bou"));
+
+        assertThatThrownBy(() -> userService.register(request("amine.bou")))
+                .isInstanceOf(UserAlreadyExistsException.class);
+        assertThat(userService.isUsernameAvailable("amine.bou")).isFalse();
+        assertThat(userService.isUsernameAvailable("jane.doe")).isTrue();
+    }
+
+    @Test
+    void registerBatch_shouldSplitPerShard_andKeepRequestOrder() {
+        List<UserRegistrationRequest> requests = IntStream.range(0, 12)
+                .mapToObj(i -> request("batch." + i))
+                .toList();
+        userService.register(request("batch.3"));
+
+        BatchRegistrationResponse response = userService.registerBatch(requests);
+
+        assertThat(response.getCreated()).isEqualTo(11);
+        assertThat(response.getRejected()).isEqualTo(1);
+        assertThat(response.getResults()).extracting(BatchRegistrationResult::getIndex)
+                .containsExactlyElementsOf(IntStream.range(0, 12).boxed().toList());
+        assertThat(response.getResults()).extracting(BatchRegistrationResult::getUsername)
+                .containsExactlyElementsOf(requests.stream().map(UserRegistrationRequest::getUsername).toList());
+        assertThat(response.getResults().get(3).getStatus()).isEqualTo(BatchRegistrationResult.Status.REJECTED);
+    }
+
+    @Test
+    void listUsers_shouldMergeShardsInIdOrder() {
+        IntStream.range(0, 10).forEach(i -> userService.register(request("listed." + i)));
+
+        UserPageResponse firstPage = userService.listUsers(null, 6);
+        UserPageResponse secondPage = userService.listUsers(firstPage.getNextCursor(), 6);
+
+        List<Long> ids = IntStream.range(0, 2)
+                .mapToObj(i -> i == 0 ? firstPage : secondPage)
+                .flatMap(page -> page.getUsers().stream())
+                .map(UserResponse::getId)
+                .toList();
+        assertThat(ids).hasSize(10).doesNotHaveDuplicates().isSorted();
+        assertThat(secondPage.getNextCursor()).isNull();
+    }
+
+    private static UserRegistrationRequest request(String username) {
+        return UserRegistrationRequest.builder()
+                .username(username)
+                .birthdate(LocalDate.of(2000, 1, 1))
+                .countryOfResidence("France")
+                .phoneNumber("0612345678")
+                .gender(Gender.MALE)
+                .build();
+    }
+}
@@ -0,0 +1,70 @@
+package com.userapi.registration.sharding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class UserShardsTest {
+
+    @Test
+    void shardOf_shouldAlwaysReturnZero_whenNotSharded() {
+        UserShards shards = new UserShards(1);
+
+        assertThat(shards.isSharded()).isFalse();
+        assertThat(shards.shardOf("amine.bou")).isZero();
+    }
+
+    @Test
+    void shardOf_shouldBeStableAndInRange() {
+        UserShards shards = new UserShards(4);
+        UserShards sameShards = new UserShards(4);
+
+        IntStream.range(0, 1_000).mapToObj(i -> "user." + i).forEach(username -> {
+            assertThat(shards.shardOf(username)).isBetween(0, 3);
+            assertThat(shards.shardOf(username)).isEqualTo(sameShards.shardOf(username));
+        });
+    }
+
+    @Test
+    void shardOf_shouldIgnoreCaseAndUnicodeNormalization() {
+        UserShards shards = new UserShards(8);
+
+        assertThat(shards.shardOf("Amine.Bou")).isEqualTo(shards.shardOf("amine.bou"));
+        // "é" precomposed (NFC) and as "e" + combining acute accent (NFD)
+        assertThat(shards.shardOf("ren\u00e9")).isEqualTo(shards.shardOf("rene\u0301"));
+    }
+
+    @Test
+    void shardOf_shouldSpreadUsernamesOverEveryShard() {
+        UserShards shards = new UserShards(4);
+        int[] users = new int[4];
+
+        IntStream.range(0, 10_000).forEach(i -> users[shards.shardOf("user." + i)]++);
+
+        assertThat(IntStream.of(users).boxed().toList())
+                .allSatisfy(count -> assertThat(count).isBetween(2_000, 3_000));
+    }
+
+    @Test
+    void shardOf_shouldSpreadShortRunsOfSuffixes() {
+        UserShards shards = new UserShards(4);
+
+        assertThat(IntStream.range(0, 20).map(i -> shards.shardOf("sharded." + i)).distinct().count()).isEqualTo(4);
+    }
+
+    @Test
+    void onEachShard_shouldRunOncePerShardWithItsContext() {
+        UserShards shards = new UserShards(3);
+
+        assertThat(shards.onEachShard(ShardContext::current)).containsExactly(0, 1, 2);
+        assertThat(ShardContext.current()).isNull();
+    }
+
+    @Test
+    void constructor_shouldRejectLessThanOneShard() {
+        assertThatThrownBy(() -> new UserShards(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
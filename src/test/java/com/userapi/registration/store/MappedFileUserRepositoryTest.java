@@ -0,0 +1,246 @@
+package com.userapi.registration.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.util.unit.DataSize;
+
+import com.userapi.registration.cache.UserVersion;
+import com.userapi.registration.dto.UserResponse;
+import com.userapi.registration.entity.Gender;
+import com.userapi.registration.entity.User;
+
+class MappedFileUserRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void save_shouldAssignIdsAndSurviveReopen() throws IOException {
+        MappedFileUserRepository repository = open(DataSize.ofKilobytes(64));
+        User saved = repository.save(user("amine.bou"));
+        repository.save(user("marie.dupont"));
+        repository.destroy();
+
+        MappedFileUserRepository reopened = open(DataSize.ofKilobytes(64));
+
+        assertThat(saved.getId()).isEqualTo(1L);
+        assertThat(saved.getVersion()).isZero();
+        assertThat(reopened.count()).isEqualTo(2);
+        assertThat(reopened.findByUsername("amine.bou")).contains(saved);
+        assertThat(reopened.save(user("jean.martin")).getId()).isEqualTo(3L);
+    }
+
+    @Test
+    void save_shouldRejectDuplicateUsername_withUniqueViolationSqlState() throws IOException {
+        MappedFileUserRepository repository = open(DataSize.ofKilobytes(64));
+        repository.save(user("amine.bou"));
+
+        assertThatThrownBy(() -> repository.save(user("amine.bou")))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .cause()
+                .isInstanceOf(SQLException.class)
+                .extracting(ex -> ((SQLException) ex).getSQLState())
+                .isEqualTo("23505");
+        assertThat(repository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void saveAll_shouldWriteNothing_whenOneUsernameIsTaken() throws IOException {
+        MappedFileUserRepository repository = open(DataSize.ofKilobytes(64));
+        repository.save(user("amine.bou"));
+
+        assertThatThrownBy(() -> repository.saveAll(List.of(user("marie.dupont"), user("amine.bou"))))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThatThrownBy(() -> repository.saveAll(List.of(user("jean.martin"), user("jean.martin"))))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        assertThat(repository.count()).isEqualTo(1);
+        assertThat(repository.existsByUsername("marie.dupont")).isFalse();
+        assertThat(repository.existsByUsername("jean.martin")).isFalse();
+        assertThat(repository.saveAll(List.of(user("marie.dupont"), user("jean.martin"))))
+                .extracting(User::getId)
+                .containsExactly(2L, 3L);
+    }
+
+    @Test
+    void save_shouldBumpVersionOnUpdate_andRejectStaleVersion() throws IOException {
+        MappedFileUserRepository repository = open(DataSize.ofKilobytes(64));
+        User saved = repository.save(user("amine.bou"));
+        User stale = repository.findById(saved.getId()).orElseThrow();
+
+        saved.setUsername("amine.b");
+        repository.save(saved);
+
+        assertThat(repository.findVersionByUsername("amine.b")).contains(new UserVersion(1L, 1L));
+        assertThat(repository.existsByUsername("amine.bou")).isFalse();
+        assertThatThrownBy(() -> repository.save(stale)).isInstanceOf(OptimisticLockingFailureException.class);
+    }
+
+    @Test
+    void open_shouldDropTornTailRecord_andAppendAfterLastIntactOne() throws IOException {
+        MappedFileUserRepository repository = open(DataSize.ofKilobytes(64));
+        repository.save(user("amine.bou"));
+        repository.save(user("marie.dupont"));
+        repository.destroy();
+        // Corrupt the payload of the second record, as if the process died while appending it
+        Path segment = directory.resolve("00000000.seg");
+        int secondRecord = 8 + UserRecordCodec.encodeUser(user(1L, "amine.bou")).length;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {42}), secondRecord + 20);
+        }
+
+        MappedFileUserRepository recovered = open(DataSize.ofKilobytes(64));
+
+        assertThat(recovered.findAll()).extracting(User::getUsername).containsExactly("amine.bou");
+        recovered.save(user("jean.martin"));
+        recovered.destroy();
+        assertThat(open(DataSize.ofKilobytes(64)).findAll())
+                .extracting(User::getUsername)
+                .containsExactly("amine.bou", "jean.martin");
+    }
+
+    @Test
+    void open_shouldZeroTheTail_whenAnAppendDiedBeforeWritingItsLength() throws IOException {
+        int first = recordBytes(user(1L, "amine.bou"));
+        int second = recordBytes(user(2L, "jean.martin"));
+        DataSize segmentSize = DataSize.ofBytes(first + second + 24);
+        MappedFileUserRepository repository = open(segmentSize);
+        repository.save(user("amine.bou"));
+        repository.destroy();
+        // Checksum and payload of an interrupted append, its length still zero: the segment ends cleanly
+        byte[] leftover = new byte[second + 20];
+        Arrays.fill(leftover, (byte) 0x7F);
+        try (FileChannel channel = FileChannel.open(directory.resolve("00000000.seg"), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(leftover), first + 4);
+        }
+
+        MappedFileUserRepository recovered = open(segmentSize);
+        recovered.save(user("jean.martin"));
+        recovered.save(user("marie.dupont"));
+        recovered.destroy();
+
+        assertThat(open(segmentSize).findAll())
+                .extracting(User::getUsername)
+                .containsExactly("amine.bou", "jean.martin", "marie.dupont");
+        assertThat(directory.resolve("00000001.seg.corrupt")).doesNotExist();
+    }
+
+    @Test
+    void open_shouldSetAsideSegmentsFollowingCorruption() throws IOException {
+        MappedFileUserRepository repository = open(DataSize.ofBytes(128));
+        for (int i = 0; i < 4; i++) {
+            repository.save(user("user" + i));
+        }
+        repository.destroy();
+        try (FileChannel channel = FileChannel.open(directory.resolve("00000001.seg"), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {42}), 12);
+        }
+
+        MappedFileUserRepository recovered = open(DataSize.ofBytes(128));
+
+        assertThat(recovered.findAll()).extracting(User::getUsername).containsExactly("user0");
+        assertThat(directory.resolve("00000002.seg.corrupt")).exists();
+    }
+
+    @Test
+    void save_shouldRollOverToNewSegments_whenFull() throws IOException {
+        MappedFileUserRepository repository = open(DataSize.ofBytes(128));
+        for (int i = 0; i < 10; i++) {
+            repository.save(user("user" + i));
+        }
+        repository.destroy();
+
+        try (var files = Files.list(directory)) {
+            assertThat(files.count()).isEqualTo(10);
+        }
+        assertThat(open(DataSize.ofBytes(128)).findByUsername("user9")).isPresent();
+    }
+
+    @Test
+    void deleteById_shouldSurviveReopen_andFreeTheUsername() throws IOException {
+        MappedFileUserRepository repository = open(DataSize.ofKilobytes(64));
+        User saved = repository.save(user("amine.bou"));
+        repository.save(user("marie.dupont"));
+        repository.deleteById(saved.getId());
+        repository.destroy();
+
+        MappedFileUserRepository reopened = open(DataSize.ofKilobytes(64));
+
+        assertThat(reopened.existsById(saved.getId())).isFalse();
+        assertThat(reopened.existsByUsername("amine.bou")).isFalse();
+        assertThat(reopened.save(user("amine.bou")).getId()).isEqualTo(3L);
+    }
+
+    @Test
+    void queries_shouldMatchTheJpaRepository() throws IOException {
+        MappedFileUserRepository repository = open(DataSize.ofKilobytes(64));
+        for (String username : List.of("bob", "al_ice", "alice", "alfred", "albert")) {
+            repository.save(user(username));
+        }
+
+        assertThat(repository.findUsernamesStartingWith("al", Limit.of(3)))
+                .containsExactly("al_ice", "albert", "alfred");
+        assertThat(repository.findUsernamesStartingWith("al\\_", Limit.unlimited())).containsExactly("al_ice");
+        assertThat(repository.findExistingUsernames(List.of("bob", "carol"))).isEqualTo(Set.of("bob"));
+        assertThat(repository.findPageAfter(2L, PageRequest.ofSize(2)))
+                .extracting(UserResponse::getUsername)
+                .containsExactly("alice", "alfred");
+        assertThat(repository.streamAllUsernames()).hasSize(5);
+    }
+
+    @Test
+    void codec_shouldRoundTripNullableFields() {
+        User user = user(7L, "amine.bou");
+        user.setPhoneNumber(null);
+        user.setPhoneDigits(null);
+        user.setGender(null);
+
+        User decoded = UserRecordCodec.decodeUser(ByteBuffer.wrap(UserRecordCodec.encodeUser(user)));
+
+        assertThat(decoded).isEqualTo(user);
+    }
+
+    private static int recordBytes(User user) {
+        return 8 + UserRecordCodec.encodeUser(user).length;
+    }
+
+    private MappedFileUserRepository open(DataSize segmentSize) throws IOException {
+        return new MappedFileUserRepository(directory.toString(), segmentSize, false);
+    }
+
+    private static User user(String username) {
+        return user(null, username);
+    }
+
+    private static User user(Long id, String username) {
+        return User.builder()
+                .id(id)
+                .version(id == null ? null : 0L)
+                .username(username)
+                .birthdate(LocalDate.of(1990, 5, 15))
+                .countryOfResidence("France")
+                .phoneNumber("+33612345678")
+                .phoneDigits(33612345678L)
+                .gender(Gender.MALE)
+                .build();
+    }
+}
@@ -0,0 +1,67 @@
+package com.userapi.registration.validation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import com.userapi.registration.dto.UserRegistrationRequest;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+
+class NationalPhoneNumberCountryValidatorTest {
+
+    private static ValidatorFactory validatorFactory;
+    private static Validator validator;
+
+    @BeforeAll
+    static void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        validatorFactory.close();
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "0612345678, France",
+            "0470123456, Belgium",
+            "+34612345678, Spain",
+            ", Spain"
+    })
+    void validate_shouldAccept_whenNumberIsInternationalOrCountryIsKnown(String phone, String country) {
+        assertThat(validator.validate(request(phone, country))).isEmpty();
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "0612345678, Spain",
+            "0612345678, Atlantis"
+    })
+    void validate_shouldRejectOnPhoneNumber_whenNationalNumberHasNoKnownCountry(String phone, String country) {
+        Set<ConstraintViolation<UserRegistrationRequest>> violations = validator.validate(request(phone, country));
+
+        assertThat(violations).singleElement()
+                .satisfies(violation -> assertThat(violation.getPropertyPath()).hasToString("phoneNumber"));
+    }
+
+    private static UserRegistrationRequest request(String phone, String country) {
+        return UserRegistrationRequest.builder()
+                .username("amine.bou")
+                .birthdate(LocalDate.of(2000, 1, 1))
+                .countryOfResidence(country)
+                .phoneNumber(phone)
+                .build();
+    }
+}
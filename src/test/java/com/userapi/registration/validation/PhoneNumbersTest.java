@@ -0,0 +1,60 @@
+package com.userapi.registration.validation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+
+class PhoneNumbersTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "0612345678, France, +33612345678",
+            "0470123456, ' belgium ', +32470123456",
+            "0851234567, Ireland, +353851234567",
+            "+33612345678, France, +33612345678",
+            "+1234567890, Spain, +1234567890",
+            "06123456789012, France, +336123456789012"
+    })
+    void toE164_shouldNormalizeValidNumbers(String phone, String country, String expected) {
+        assertThat(PhoneNumbers.toE164(phone, country)).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    void toE164_shouldReturnNull_whenPhoneIsMissing(String phone) {
+        assertThat(PhoneNumbers.toE164(phone, "France")).isNull();
+    }
+
+    @Test
+    void toE164_shouldNotGuessACountryCode() {
+        assertThatThrownBy(() -> PhoneNumbers.toE164("1234567890", "France"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PhoneNumbers.toE164("0612345678", "Spain"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PhoneNumbers.toE164("0612345678", null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "0612345678, France, true",
+            "+34612345678, Spain, true",
+            "0612345678, Spain, false",
+            "06123456789012, France, true",
+            "06123456789012, Ireland, false"
+    })
+    void isValid_shouldRequireAKnownCountry_forNationalNumbers(String phone, String country, boolean expected) {
+        assertThat(PhoneNumbers.isValid(phone, country)).isEqualTo(expected);
+    }
+
+    @Test
+    void toDigits_shouldKeepAllDigitsOfTheE164Number() {
+        assertThat(PhoneNumbers.toDigits("+33612345678")).isEqualTo(33612345678L);
+        assertThat(PhoneNumbers.toDigits("+999999999999999")).isEqualTo(999_999_999_999_999L);
+        assertThat(PhoneNumbers.toDigits(null)).isNull();
+    }
+}
@@ -26,7 +26,7 @@ class ValidPhoneNumberValidatorTest {
     }
 
     @ParameterizedTest
-    @ValueSource(strings = {"0612345678", "+33612345678", "06123456789012", "1234567890"})
+    @ValueSource(strings = {"0612345678", "+33612345678", "06123456789012", "+1234567890", "+123456789012345"})
     @NullAndEmptySource
     void isValid_shouldReturnTrue_whenPhoneNumberIsValid(String phoneNumber) {
         boolean result = validator.isValid(phoneNumber, context);
@@ -35,7 +35,8 @@ class ValidPhoneNumberValidatorTest {
     }
 
     @ParameterizedTest
-    @ValueSource(strings = {"06abc45678", "061234567", "06 12 34 56 78", "06-12-34-56-78", "123"})
+    @ValueSource(strings = {"06abc45678", "061234567", "06 12 34 56 78", "06-12-34-56-78", "123", "+", "+0612345678",
+            "+1234567890123456", "0612345678901234", "06123456+78", "1234567890", "33612345678"})
     void isValid_shouldReturnFalse_whenPhoneNumberIsInvalid(String phoneNumber) {
         boolean result = validator.isValid(phoneNumber, context);
 
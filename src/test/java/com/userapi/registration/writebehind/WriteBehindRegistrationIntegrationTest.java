@@ -0,0 +1,147 @@
+package com.userapi.registration.writebehind;
+
+import com.userapi.registration.cache.UserDetailsCache;
+import com.userapi.registration.dto.UserRegistrationRequest;
+import com.userapi.registration.entity.Gender;
+import com.userapi.registration.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * POST /api/users in write-behind mode, and the ticket endpoint.
+ * Not transactional: the writer thread commits its own transactions.
+ */
+@SpringBootTest(properties = "registration.write-behind.enabled=true")
+class WriteBehindRegistrationIntegrationTest {
+
+    private static final long TIMEOUT_MILLIS = 5_000;
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        userRepository.deleteAll();
+        userDetailsCache.invalidateAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void register_shouldAcceptWithTicket_thenPersistUser() throws Exception {
+        String ticket = submit(request("amine.bou"));
+
+        JsonNode outcome = awaitOutcome(ticket);
+
+        assertThat(outcome.get("status").asString()).isEqualTo("CREATED");
+        assertThat(outcome.get("user").get("username").asString()).isEqualTo("amine.bou");
+        assertThat(userRepository.existsByUsername("amine.bou")).isTrue();
+        mockMvc.perform(get("/api/users/amine.bou"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.countryOfResidence").value("France"));
+    }
+
+    @Test
+    void register_shouldRejectSynchronously_whenBusinessRuleFails() throws Exception {
+        UserRegistrationRequest request = request("amine.bou");
+        request.setCountryOfResidence("Germany");
+
+        mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isUnprocessableContent())
+                .andExpect(jsonPath("$.errorCode").value("ERR_RULE_COUNTRY_FR"));
+    }
+
+    @Test
+    void register_shouldRejectUsernameTakenOrReserved() throws Exception {
+        String ticket = submit(request("amine.bou"));
+
+        mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request("amine.bou"))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errorCode").value("ERR_USER_ALREADY_EXISTS"));
+
+        awaitOutcome(ticket);
+        mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request("amine.bou"))))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void getRegistrationStatus_shouldReturn404_forUnknownTicket() throws Exception {
+        mockMvc.perform(get("/api/users/registrations/unknown"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorCode").value("ERR_TICKET_NOT_FOUND"));
+    }
+
+    private String submit(UserRegistrationRequest request) throws Exception {
+        String body = mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andExpect(jsonPath("$.status").value("PENDING"))
+                .andExpect(jsonPath("$.username").value(request.getUsername()))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("ticket").asString();
+    }
+
+    private JsonNode awaitOutcome(String ticket) throws Exception {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (true) {
+            String body = mockMvc.perform(get("/api/users/registrations/" + ticket))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode status = objectMapper.readTree(body);
+            if (!"PENDING".equals(status.get("status").asString())) {
+                return status;
+            }
+            assertThat(System.currentTimeMillis()).as("persisted in time").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static UserRegistrationRequest request(String username) {
+        return UserRegistrationRequest.builder()
+                .username(username)
+                .birthdate(LocalDate.of(2000, 1, 1))
+                .countryOfResidence("France")
+                .phoneNumber("0612345678")
+                .gender(Gender.MALE)
+                .build();
+    }
+}
@@ -0,0 +1,258 @@
+package com.userapi.registration.writebehind;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.userapi.registration.dto.BatchRegistrationResponse;
+import com.userapi.registration.dto.BatchRegistrationResult;
+import com.userapi.registration.dto.RegistrationStatusResponse;
+import com.userapi.registration.dto.RegistrationStatusResponse.Status;
+import com.userapi.registration.dto.UserRegistrationRequest;
+import com.userapi.registration.dto.UserResponse;
+import com.userapi.registration.entity.Gender;
+import com.userapi.registration.exception.CountryNotAllowedException;
+import com.userapi.registration.exception.RegistrationQueueFullException;
+import com.userapi.registration.exception.RegistrationTicketNotFoundException;
+import com.userapi.registration.exception.UserAlreadyExistsException;
+import com.userapi.registration.service.UserService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class WriteBehindRegistrationsTest {
+
+    private static final long TIMEOUT_MILLIS = 5_000;
+
+    @Mock
+    private UserService userService;
+
+    private WriteBehindRegistrations registrations;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(userService.isUsernameAvailable(anyString())).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (registrations != null) {
+            registrations.destroy();
+        }
+    }
+
+    @Test
+    void submit_shouldReserveUsername_andReturnPendingTicket() {
+        registrations = writeBehind(10, false);
+
+        RegistrationStatusResponse status = registrations.submit(request("amine.bou"));
+
+        assertThat(status.getStatus()).isEqualTo(Status.PENDING);
+        assertThat(status.getTicket()).isNotBlank();
+        assertThat(registrations.status(status.getTicket())).isEqualTo(status);
+        assertThat(registrations.isReserved("amine.bou")).isTrue();
+        assertThatThrownBy(() -> registrations.submit(request("amine.bou")))
+                .isInstanceOf(UserAlreadyExistsException.class);
+    }
+
+    @Test
+    void submit_shouldRejectRegisteredUsername_withoutKeepingReservation() {
+        registrations = writeBehind(10, false);
+        when(userService.isUsernameAvailable("amine.bou")).thenReturn(false);
+
+        assertThatThrownBy(() -> registrations.submit(request("amine.bou")))
+                .isInstanceOf(UserAlreadyExistsException.class);
+        assertThat(registrations.isReserved("amine.bou")).isFalse();
+    }
+
+    @Test
+    void submit_shouldApplyBusinessRules_beforeReserving() {
+        registrations = writeBehind(10, false);
+        UserRegistrationRequest request = request("amine.bou");
+        doThrow(new CountryNotAllowedException(List.of("France"))).when(userService).validateBusinessRules(request);
+
+        assertThatThrownBy(() -> registrations.submit(request)).isInstanceOf(CountryNotAllowedException.class);
+        assertThat(registrations.isReserved("amine.bou")).isFalse();
+    }
+
+    @Test
+    void submit_shouldRefuseRegistration_whenQueueStaysFull() {
+        registrations = writeBehind(1, false);
+        registrations.submit(request("first"));
+
+        assertThatThrownBy(() -> registrations.submit(request("second")))
+                .isInstanceOf(RegistrationQueueFullException.class);
+        assertThat(registrations.isReserved("second")).isFalse();
+    }
+
+    @Test
+    void status_shouldThrow_forUnknownTicket() {
+        registrations = writeBehind(10, false);
+
+        assertThatThrownBy(() -> registrations.status("unknown"))
+                .isInstanceOf(RegistrationTicketNotFoundException.class);
+    }
+
+    @Test
+    void status_shouldStayPending_beyondTicketTtl() throws InterruptedException {
+        registrations = writeBehind(10, false, Duration.ofMillis(1));
+        String ticket = registrations.submit(request("amine.bou")).getTicket();
+
+        Thread.sleep(20);
+
+        assertThat(registrations.status(ticket).getStatus()).isEqualTo(Status.PENDING);
+    }
+
+    @Test
+    void writer_shouldPersistQueuedRegistrations_andRecordOutcomes() throws InterruptedException {
+        UserResponse user = UserResponse.builder().id(1L).username("amine.bou").version(0L).build();
+        when(userService.registerBatch(anyList())).thenReturn(BatchRegistrationResponse.builder()
+                .created(1)
+                .rejected(1)
+                .results(List.of(
+                        BatchRegistrationResult.builder().index(0).username("amine.bou")
+                                .status(BatchRegistrationResult.Status.CREATED).user(user).build(),
+                        BatchRegistrationResult.builder().index(1).username("jane.doe")
+                                .status(BatchRegistrationResult.Status.REJECTED)
+                                .errorCode("ERR_USER_ALREADY_EXISTS").message("taken").build()))
+                .build());
+        registrations = writeBehind(10, true);
+        String created = registrations.submit(request("amine.bou")).getTicket();
+        String rejected = registrations.submit(request("jane.doe")).getTicket();
+
+        registrations.afterPropertiesSet();
+
+        assertThat(awaitOutcome(created).getUser()).isEqualTo(user);
+        assertThat(awaitOutcome(rejected).getErrorCode()).isEqualTo("ERR_USER_ALREADY_EXISTS");
+        assertThat(registrations.isReserved("amine.bou")).isFalse();
+        assertThat(registrations.isReserved("jane.doe")).isFalse();
+    }
+
+    @Test
+    void writer_shouldRegisterOneAtATime_whenBatchFails() throws InterruptedException {
+        UserRegistrationRequest taken = request("taken");
+        UserResponse user = UserResponse.builder().id(1L).username("amine.bou").version(0L).build();
+        when(userService.registerBatch(anyList())).thenThrow(new IllegalStateException("unique constraint"));
+        when(userService.register(request("amine.bou"))).thenReturn(user);
+        when(userService.register(taken)).thenThrow(new UserAlreadyExistsException("taken"));
+        registrations = writeBehind(10, true);
+        String created = registrations.submit(request("amine.bou")).getTicket();
+        String rejected = registrations.submit(taken).getTicket();
+
+        registrations.afterPropertiesSet();
+
+        assertThat(awaitOutcome(created).getStatus()).isEqualTo(Status.CREATED);
+        assertThat(awaitOutcome(rejected).getStatus()).isEqualTo(Status.REJECTED);
+        assertThat(registrations.status(rejected).getErrorCode()).isEqualTo("ERR_USER_ALREADY_EXISTS");
+    }
+
+    @Test
+    void submit_shouldBeRefused_afterShutdown() throws InterruptedException {
+        registrations = writeBehind(10, true);
+        registrations.afterPropertiesSet();
+
+        registrations.destroy();
+
+        assertThatThrownBy(() -> registrations.submit(request("amine.bou")))
+                .isInstanceOf(RegistrationQueueFullException.class);
+        assertThat(registrations.isReserved("amine.bou")).isFalse();
+    }
+
+    @Test
+    void destroy_shouldPersistEveryRegistrationAcceptedConcurrently() throws Exception {
+        lenient().when(userService.registerBatch(anyList())).thenAnswer(invocation -> {
+            List<UserRegistrationRequest> requests = invocation.getArgument(0);
+            return BatchRegistrationResponse.builder()
+                    .created(requests.size())
+                    .results(requests.stream()
+                            .map(request -> BatchRegistrationResult.builder().username(request.getUsername())
+                                    .status(BatchRegistrationResult.Status.CREATED).build())
+                            .toList())
+                    .build();
+        });
+        registrations = writeBehind(10_000, true);
+        registrations.afterPropertiesSet();
+        List<String> accepted = new CopyOnWriteArrayList<>();
+        List<Thread> submitters = IntStream.range(0, 4)
+                .mapToObj(thread -> Thread.ofPlatform().start(() -> {
+                    for (int i = 0; i < 2_000; i++) {
+                        try {
+                            accepted.add(registrations.submit(request("user." + thread + "." + i)).getTicket());
+                        } catch (RegistrationQueueFullException ex) {
+                            return;
+                        }
+                    }
+                }))
+                .toList();
+
+        Thread.sleep(5);
+        registrations.destroy();
+        for (Thread submitter : submitters) {
+            submitter.join();
+        }
+
+        assertThat(accepted).allSatisfy(ticket ->
+                assertThat(registrations.status(ticket).getStatus()).isEqualTo(Status.CREATED));
+    }
+
+    @Test
+    void disabledMode_shouldNotStartWriter() {
+        registrations = writeBehind(10, false);
+        registrations.submit(request("amine.bou"));
+
+        registrations.afterPropertiesSet();
+
+        assertThat(registrations.isEnabled()).isFalse();
+        verify(userService, never()).registerBatch(anyList());
+    }
+
+    /**
+     * Started by hand (afterPropertiesSet) when enabled, so that tests can queue registrations first.
+     */
+    private WriteBehindRegistrations writeBehind(int queueCapacity, boolean enabled) {
+        return writeBehind(queueCapacity, enabled, Duration.ofMinutes(1));
+    }
+
+    private WriteBehindRegistrations writeBehind(int queueCapacity, boolean enabled, Duration ticketTtl) {
+        return new WriteBehindRegistrations(userService, new SimpleMeterRegistry(), enabled, queueCapacity, 100,
+                Duration.ofMillis(10), ticketTtl, 10_000);
+    }
+
+    private RegistrationStatusResponse awaitOutcome(String ticket) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (registrations.status(ticket).getStatus() == Status.PENDING) {
+            assertThat(System.currentTimeMillis()).as("persisted in time").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+        return registrations.status(ticket);
+    }
+
+    private static UserRegistrationRequest request(String username) {
+        return UserRegistrationRequest.builder()
+                .username(username)
+                .birthdate(LocalDate.of(2000, 1, 1))
+                .countryOfResidence("France")
+                .phoneNumber("0612345678")
+                .gender(Gender.MALE)
+                .build();
+    }
+}